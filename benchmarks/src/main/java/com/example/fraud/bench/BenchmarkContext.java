@@ -0,0 +1,107 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.FraudMcpServerApplication;
+import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.repository.FraudRecordRows;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Boots the server's Spring context against a freshly seeded SQLite file of a given size.
+ * Command-line arguments are used so they take precedence over ./application.yml.
+ */
+public final class BenchmarkContext {
+    
+    private static final int SEED_BATCH = 10_000;
+    
+    private BenchmarkContext() {
+    }
+    
+    /**
+     * Start a non-web context on target/bench-db/fraud-{tableSize}.db holding exactly tableSize records
+     */
+    public static ConfigurableApplicationContext start(int tableSize) {
+        Path database = Paths.get("target", "bench-db", "fraud-" + tableSize + ".db");
+        try {
+            Files.createDirectories(database.getParent());
+            Files.deleteIfExists(database);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FraudMcpServerApplication.class)
+            .web(WebApplicationType.NONE)
+            .bannerMode(Banner.Mode.OFF)
+            .run(
+                "--spring.datasource.url=jdbc:sqlite:" + database,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example=WARN",
+                "--logging.level.org.springframework.ai=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--fraud.partitioning.enabled=false",
+                "--fraud.tracing.file-export.enabled=false",
+                "--fraud.metrics.prometheus-port=0"
+            );
+        seed(context.getBean(DataSource.class), tableSize);
+        return context;
+    }
+    
+    /**
+     * Insert tableSize records detected over the last 60 days, with plain JDBC batches
+     */
+    static void seed(DataSource dataSource, int tableSize) {
+        LocalDateTime base = LocalDateTime.now().minusDays(60);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                 "INSERT INTO fraud_records (" + FraudRecordRows.COLUMNS + ") " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            connection.setAutoCommit(false);
+            for (int offset = 0; offset < tableSize; offset += SEED_BATCH) {
+                int count = Math.min(SEED_BATCH, tableSize - offset);
+                List<FraudRecord> records = BenchmarkFixtures.fraudRecords(count, offset, base);
+                for (int i = 0; i < count; i++) {
+                    FraudRecord record = records.get(i);
+                    // Alternate rows between two 30-day windows, so "last 30 days" queries select
+                    // about half the table at every size
+                    long shiftDays = (offset + i) % 2 == 0 ? 0 : 30;
+                    ps.setBytes(1, FraudRecordRows.uuidBytes(record.getId()));
+                    ps.setString(2, record.getUserId());
+                    ps.setString(3, record.getTransactionId() + "_" + offset);
+                    ps.setDouble(4, record.getAmount());
+                    ps.setString(5, record.getCurrency());
+                    ps.setString(6, record.getMerchantName());
+                    ps.setString(7, record.getFraudType());
+                    ps.setString(8, record.getDescription());
+                    ps.setString(9, record.getRiskLevel());
+                    ps.setTimestamp(10, Timestamp.valueOf(record.getCreatedAt().plusDays(shiftDays)));
+                    ps.setTimestamp(11, Timestamp.valueOf(record.getDetectedAt().plusDays(shiftDays)));
+                    ps.setString(12, record.getIpAddress());
+                    ps.setString(13, record.getLocation());
+                    ps.setBoolean(14, record.getIsVerified());
+                    ps.setString(15, record.getAdditionalInfo());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to seed benchmark database", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.entity.FraudRecord;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic in-memory fixtures shared by the benchmark suites
+ */
+public final class BenchmarkFixtures {
+    
+    private static final String[] FRAUD_TYPES = {
+        "credit_card_fraud", "identity_theft", "account_takeover", "phishing", "chargeback_fraud"
+    };
+    private static final String[] RISK_LEVELS = {"HIGH", "MEDIUM", "LOW"};
+    private static final String[] MERCHANTS = {
+        "Amazon", "Walmart", "Target", "Best Buy", "eBay", "Apple Store", "Steam", "Uber"
+    };
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP"};
+    
+    private BenchmarkFixtures() {
+    }
+    
+    /**
+     * Build a list of fully populated fraud records
+     */
+    public static List<FraudRecord> fraudRecords(int count, long seed) {
+        return fraudRecords(count, seed, LocalDateTime.of(2024, 6, 1, 0, 0));
+    }
+    
+    /**
+     * Build a list of fully populated fraud records detected within 30 days after {@code base}
+     */
+    public static List<FraudRecord> fraudRecords(int count, long seed, LocalDateTime base) {
+        Random random = new Random(seed);
+        List<FraudRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            FraudRecord record = new FraudRecord(
+                "user_" + random.nextInt(Math.max(1, count / 10)),
+                "txn_" + i,
+                Math.round(random.nextDouble() * 500_000) / 100.0,
+                CURRENCIES[random.nextInt(CURRENCIES.length)],
+                MERCHANTS[random.nextInt(MERCHANTS.length)],
+                FRAUD_TYPES[random.nextInt(FRAUD_TYPES.length)],
+                "Suspicious transaction flagged by rule engine #" + random.nextInt(100),
+                RISK_LEVELS[random.nextInt(RISK_LEVELS.length)],
+                base.plusSeconds(random.nextInt(30 * 24 * 3600)).withNano(random.nextInt(1_000_000) * 1000)
+            );
+            record.setId(new UUID(seed, i));
+            record.setCreatedAt(record.getDetectedAt().plusMinutes(random.nextInt(120)));
+            record.setIpAddress("203.0.113." + random.nextInt(256));
+            record.setLocation("New York, NY");
+            records.add(record);
+        }
+        return records;
+    }
+}
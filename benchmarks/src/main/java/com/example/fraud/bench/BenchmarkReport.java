@@ -0,0 +1,41 @@
+package com.example.fraud.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Runs the benchmark suites and writes a JSON report for a release:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.fraud.bench.BenchmarkReport 1.1.0 [include-regex]
+ * </pre>
+ *
+ * The report lands in reports/jmh-{release}.json; compare two with {@link BenchmarkReportDiff}.
+ */
+public final class BenchmarkReport {
+    
+    private BenchmarkReport() {
+    }
+    
+    public static void main(String[] args) throws RunnerException, IOException {
+        String release = args.length > 0 ? args[0] : "snapshot";
+        String include = args.length > 1 ? args[1] : "com.example.fraud.bench.*Benchmark";
+        Path report = Paths.get("reports", "jmh-" + release + ".json");
+        Files.createDirectories(report.getParent());
+        
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(report.toString());
+        new Runner(options.build()).run();
+        System.out.println("Benchmark report written to " + report.toAbsolutePath());
+    }
+}
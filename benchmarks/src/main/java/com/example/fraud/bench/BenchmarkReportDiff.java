@@ -0,0 +1,84 @@
+package com.example.fraud.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON reports benchmark by benchmark:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.fraud.bench.BenchmarkReportDiff \
+ *     reports/jmh-1.0.0.json reports/jmh-1.1.0.json [threshold-percent]
+ * </pre>
+ *
+ * Exits with status 1 when any benchmark regressed by more than the threshold (default 10%),
+ * so it can gate a release build.
+ */
+public final class BenchmarkReportDiff {
+    
+    private BenchmarkReportDiff() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkReportDiff <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(args[0]);
+        Map<String, Score> candidate = read(args[1]);
+        
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(candidate).entrySet()) {
+            Score after = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", after.value(), "new", after.unit());
+                continue;
+            }
+            double change = (after.value() - before.value()) / before.value() * 100.0;
+            // For throughput a lower score is worse; for time-per-op a higher score is worse
+            double worse = after.unit().endsWith("/op") ? change : -change;
+            boolean flagged = worse > threshold;
+            regressed |= flagged;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), before.value(), after.value(),
+                change, after.unit(), flagged ? "  REGRESSION" : "");
+        }
+        for (String removed : baseline.keySet()) {
+            if (!candidate.containsKey(removed)) {
+                System.out.printf("%-90s %14.3f %14s %9s%n", removed, baseline.get(removed).value(), "-", "removed");
+            }
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+    
+    private static Map<String, Score> read(String file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(Paths.get(file).toFile());
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : root) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+            }
+            JsonNode metric = result.get("primaryMetric");
+            scores.put(key.toString(), new Score(metric.get("score").asDouble(), metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+    
+    private record Score(double value, String unit) {
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.repository.FraudRecordRows;
+import org.flywaydb.core.Flyway;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Writes a reproducible synthetic fraud_records table straight into a SQLite file:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.fraud.bench.DatasetGenerator \
+ *     --db=datasets/fraud-5m.db --rows=5000000 --seed=42 --end=2024-07-01
+ * </pre>
+ *
+ * The same options and {@code --end} date always produce the same rows. Users and merchants are
+ * Zipf-distributed, amounts log-normal, detection times follow a daily cycle, and a configurable
+ * share of rows repeats an earlier transaction id, as re-reported incidents do; the unique
+ * transaction_id index drops those, so slightly fewer than {@code --rows} rows are written. The
+ * schema comes from the server's Flyway migrations, so the file can be used directly as the server
+ * database or passed to {@link LoadGenerator} with {@code --dataset}.
+ */
+public final class DatasetGenerator {
+    
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY"};
+    private static final int[] CURRENCY_WEIGHTS = {70, 15, 10, 5};
+    private static final String[] MERCHANT_PREFIXES = {
+        "Amazon", "Walmart", "Target", "Best Buy", "eBay", "Apple Store", "Steam", "Uber", "Shell", "Etsy"
+    };
+    private static final String[] LOCATIONS = {
+        "New York, NY", "Los Angeles, CA", "Chicago, IL", "Houston, TX", "London, UK", "Lagos, NG", "Unknown"
+    };
+    private static final int BATCH = 10_000;
+    private static final int ROWS_PER_TRANSACTION = 200_000;
+    
+    private DatasetGenerator() {
+    }
+    
+    /**
+     * Distribution parameters of a generated dataset
+     *
+     * @param rows                number of rows to insert
+     * @param seed                random seed; also part of every id, so datasets with different seeds can be merged
+     * @param users               number of distinct users
+     * @param userSkew            Zipf exponent of users
+     * @param merchants           number of distinct merchants
+     * @param merchantSkew        Zipf exponent of merchants
+     * @param fraudTypes          fraud type mix as relative weights
+     * @param amountMu            mean of log(amount)
+     * @param amountSigma         standard deviation of log(amount)
+     * @param end                 detection times fall in the {@code days} days before this date
+     * @param days                length of the detection period
+     * @param peakHour            hour of day with the most detections
+     * @param diurnalAmplitude    0 for a flat day, up to 1 for a strong daily cycle
+     * @param duplicateRate       share of rows reusing an earlier transaction id, and so skipped
+     * @param verifiedRate        share of rows already verified
+     */
+    public record DatasetSpec(long rows, long seed, int users, double userSkew, int merchants, double merchantSkew,
+                              Map<String, Integer> fraudTypes, double amountMu, double amountSigma,
+                              LocalDate end, int days, int peakHour, double diurnalAmplitude,
+                              double duplicateRate, double verifiedRate) {
+        
+        static DatasetSpec fromOptions(Map<String, String> options) {
+            return new DatasetSpec(
+                Long.parseLong(options.getOrDefault("rows", "1000000")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("users", "200000")),
+                Double.parseDouble(options.getOrDefault("user-skew", "1.1")),
+                Integer.parseInt(options.getOrDefault("merchants", "5000")),
+                Double.parseDouble(options.getOrDefault("merchant-skew", "1.2")),
+                parseWeights(options.getOrDefault("fraud-types",
+                    "credit_card_fraud:45,account_takeover:20,identity_theft:12,phishing:10,chargeback_fraud:9,money_mule:4")),
+                Double.parseDouble(options.getOrDefault("amount-mu", "4.0")),
+                Double.parseDouble(options.getOrDefault("amount-sigma", "1.2")),
+                LocalDate.parse(options.getOrDefault("end", LocalDate.now().plusDays(1).toString())),
+                Integer.parseInt(options.getOrDefault("days", "180")),
+                Integer.parseInt(options.getOrDefault("peak-hour", "21")),
+                Double.parseDouble(options.getOrDefault("diurnal-amplitude", "0.6")),
+                Double.parseDouble(options.getOrDefault("duplicate-rate", "0.01")),
+                Double.parseDouble(options.getOrDefault("verified-rate", "0.3"))
+            );
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Path database = Paths.get(options.getOrDefault("db", "datasets/fraud.db"));
+        DatasetSpec spec = DatasetSpec.fromOptions(options);
+        if (database.getParent() != null) {
+            Files.createDirectories(database.getParent());
+        }
+        if (Boolean.parseBoolean(options.getOrDefault("replace", "true"))) {
+            Files.deleteIfExists(database);
+        }
+        
+        String url = "jdbc:sqlite:" + database;
+        Flyway.configure().dataSource(url, null, null).load().migrate();
+        
+        long start = System.nanoTime();
+        long written;
+        try (Connection connection = DriverManager.getConnection(url)) {
+            written = generate(connection, spec);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Wrote %d of %d rows to %s in %.1f s (%.0f rows/s)%n",
+            written, spec.rows(), database, seconds, written / seconds);
+    }
+    
+    /**
+     * Insert the dataset into an already migrated fraud_records table
+     *
+     * @return rows written; repeated transaction ids are skipped
+     */
+    public static long generate(Connection connection, DatasetSpec spec) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // Generation is restartable from scratch, so durability is traded for speed
+            statement.execute("PRAGMA journal_mode = OFF");
+            statement.execute("PRAGMA synchronous = OFF");
+            statement.execute("PRAGMA cache_size = -262144");
+            statement.execute("PRAGMA temp_store = MEMORY");
+        }
+        
+        Random random = new Random(spec.seed());
+        ZipfSampler users = new ZipfSampler(spec.users(), spec.userSkew());
+        ZipfSampler merchants = new ZipfSampler(spec.merchants(), spec.merchantSkew());
+        String[] userIds = new String[spec.users()];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = "user_" + i;
+        }
+        String[] merchantNames = new String[spec.merchants()];
+        for (int i = 0; i < merchantNames.length; i++) {
+            merchantNames[i] = MERCHANT_PREFIXES[i % MERCHANT_PREFIXES.length] + " #" + i;
+        }
+        String[] fraudTypes = spec.fraudTypes().keySet().toArray(String[]::new);
+        int[] fraudTypeWeights = spec.fraudTypes().values().stream().mapToInt(Integer::intValue).toArray();
+        double[] hourCumulative = hourOfDayCumulative(spec.peakHour(), spec.diurnalAmplitude());
+        LocalDateTime firstDay = spec.end().minusDays(spec.days()).atStartOfDay();
+        String[] descriptions = new String[200];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = "Flagged by rule " + i + " after " + (1 + i % 5) + " declined attempts";
+        }
+        String transactionPrefix = "txn_" + spec.seed() + "_";
+        
+        long written = 0;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT OR IGNORE INTO fraud_records (" + FraudRecordRows.COLUMNS + ") " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (long row = 0; row < spec.rows(); row++) {
+                int userRank = users.sample(random);
+                double amount = Math.round(Math.exp(spec.amountMu() + spec.amountSigma() * random.nextGaussian()) * 100) / 100.0;
+                long transaction = row > 0 && random.nextDouble() < spec.duplicateRate()
+                    ? (long) (random.nextDouble() * row)
+                    : row;
+                LocalDateTime detectedAt = firstDay
+                    .plusDays(random.nextInt(spec.days()))
+                    .plusHours(sampleHour(hourCumulative, random))
+                    .plusSeconds(random.nextInt(3600));
+                
+                ps.setBytes(1, FraudRecordRows.uuidBytes(new UUID(spec.seed(), row)));
+                ps.setString(2, userIds[userRank]);
+                ps.setString(3, transactionPrefix + transaction);
+                ps.setDouble(4, amount);
+                ps.setString(5, weighted(CURRENCIES, CURRENCY_WEIGHTS, random));
+                ps.setString(6, merchantNames[merchants.sample(random)]);
+                ps.setString(7, weighted(fraudTypes, fraudTypeWeights, random));
+                ps.setString(8, descriptions[random.nextInt(descriptions.length)]);
+                ps.setString(9, riskLevel(amount, random));
+                ps.setTimestamp(10, Timestamp.valueOf(detectedAt.plusSeconds(30 + random.nextInt(7200))));
+                ps.setTimestamp(11, Timestamp.valueOf(detectedAt));
+                // Hot users come back from the same few addresses
+                ps.setString(12, "198.51." + (userRank % 64) + "." + (userRank < 100 ? userRank : random.nextInt(256)));
+                ps.setString(13, LOCATIONS[userRank % LOCATIONS.length]);
+                ps.setBoolean(14, random.nextDouble() < spec.verifiedRate());
+                ps.setString(15, null);
+                ps.addBatch();
+                
+                if ((row + 1) % BATCH == 0) {
+                    written += inserted(ps.executeBatch());
+                }
+                if ((row + 1) % ROWS_PER_TRANSACTION == 0) {
+                    connection.commit();
+                }
+            }
+            written += inserted(ps.executeBatch());
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return written;
+    }
+    
+    private static long inserted(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+    
+    /**
+     * Cumulative weight per hour: 1 + amplitude * cos(distance from the peak hour)
+     */
+    private static double[] hourOfDayCumulative(int peakHour, double amplitude) {
+        double[] cumulative = new double[24];
+        double total = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            total += 1 + amplitude * Math.cos(2 * Math.PI * (hour - peakHour) / 24.0);
+            cumulative[hour] = total;
+        }
+        for (int hour = 0; hour < 24; hour++) {
+            cumulative[hour] /= total;
+        }
+        return cumulative;
+    }
+    
+    private static int sampleHour(double[] cumulative, Random random) {
+        double roll = random.nextDouble();
+        int hour = 0;
+        while (hour < 23 && roll >= cumulative[hour]) {
+            hour++;
+        }
+        return hour;
+    }
+    
+    private static String riskLevel(double amount, Random random) {
+        double highShare = amount > 1000 ? 0.7 : amount > 200 ? 0.25 : 0.05;
+        double roll = random.nextDouble();
+        return roll < highShare ? "HIGH" : roll < highShare + 0.4 ? "MEDIUM" : "LOW";
+    }
+    
+    private static String weighted(String[] values, int[] weights, Random random) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+    
+    private static Map<String, Integer> parseWeights(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return weights;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.dto.FraudDataRequest;
+import com.example.fraud.service.FraudService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FraudService write and statistics paths through the full Spring/JPA stack on a seeded SQLite file
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FraudServiceBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    public int tableSize;
+    
+    private ConfigurableApplicationContext context;
+    private FraudService fraudService;
+    private long sequence;
+    
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(tableSize);
+        fraudService = context.getBean(FraudService.class);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public UUID createFraudRecord() {
+        FraudDataRequest request = new FraudDataRequest(
+            "bench_user_" + (sequence % 100),
+            "bench_txn_" + sequence++,
+            125.50,
+            "USD",
+            "Amazon",
+            "credit_card_fraud",
+            "Benchmark record",
+            "medium",
+            LocalDateTime.now()
+        );
+        return fraudService.createFraudRecord(request);
+    }
+    
+    @Benchmark
+    public FraudService.FraudStatistics getFraudStatistics() {
+        return fraudService.getFraudStatistics();
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.fraud.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop MCP load generator. Starts the server over stdio under the {@code stub-ai} profile,
+ * so AI tools run offline, and replays a weighted tool mix at a fixed arrival rate:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.fraud.bench.LoadGenerator \
+ *     --rate=200 --duration=120s --warmup=15s \
+ *     --mix=create_fraud_record:30,get_fraud_record:25,get_user_fraud_records:20,get_fraud_statistics:10
+ * </pre>
+ *
+ * Calls are issued at their scheduled time whether or not earlier calls have returned, and
+ * latency is measured from the scheduled time, so a stalled server shows up as latency instead
+ * of silently lowering the offered rate. Calls beyond {@code --max-outstanding} are counted as
+ * saturation errors.
+ */
+public final class LoadGenerator {
+    
+    private static final String DEFAULT_MIX = "create_fraud_record:30,get_fraud_record:25,get_user_fraud_records:20,"
+        + "get_fraud_statistics:8,get_recent_fraud_records:7,get_fraud_dashboard:3,analyze_fraud_patterns:3,"
+        + "generate_user_risk_assessment:2,create_fraud_record_with_ai:2";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int REFERENCE_ID_RING = 8192;
+    
+    private final McpStdioClient client;
+    private final Random random;
+    private final SyntheticFraudRequests requests;
+    private final List<String> tools = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final Map<String, ToolStats> stats = new LinkedHashMap<>();
+    private final ToolStats total = new ToolStats();
+    private final AtomicReferenceArray<String> referenceIds = new AtomicReferenceArray<>(REFERENCE_ID_RING);
+    private final AtomicLong referenceIdCount = new AtomicLong();
+    
+    LoadGenerator(McpStdioClient client, Map<String, Integer> mix, long seed, int users, int merchants) {
+        this.client = client;
+        this.random = new Random(seed);
+        this.requests = new SyntheticFraudRequests(seed, users, merchants);
+        this.cumulativeWeights = new int[mix.size()];
+        int sum = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            sum += entry.getValue();
+            cumulativeWeights[tools.size()] = sum;
+            tools.add(entry.getKey());
+            stats.put(entry.getKey(), new ToolStats());
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        double rate = Double.parseDouble(options.getOrDefault("rate", "50"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+        int maxOutstanding = Integer.parseInt(options.getOrDefault("max-outstanding", "512"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int users = Integer.parseInt(options.getOrDefault("users", "50000"));
+        int merchants = Integer.parseInt(options.getOrDefault("merchants", "2000"));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        
+        Path workDir = Paths.get("target", "load");
+        Files.createDirectories(workDir);
+        Path serverLog = workDir.resolve("server.log");
+        // Start every run from the same data: transaction IDs repeat for the same seed, so records
+        // left by an earlier run would turn this run's creates into duplicates
+        for (String suffix : List.of("-wal", "-shm")) {
+            Files.deleteIfExists(workDir.resolve("fraud-load.db" + suffix));
+        }
+        if (options.containsKey("dataset")) {
+            // Start from a DatasetGenerator file so runs and benchmarks share the same data
+            Files.copy(Paths.get(options.get("dataset")), workDir.resolve("fraud-load.db"),
+                StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(workDir.resolve("fraud-load.db"));
+        }
+        List<String> command = serverCommand(options, workDir);
+        System.out.println("Starting server: " + String.join(" ", command));
+        
+        try (McpStdioClient client = McpStdioClient.launch(command, serverLog.toFile())) {
+            client.initialize(120);
+            LoadGenerator generator = new LoadGenerator(client, mix, seed, users, merchants);
+            System.out.printf("Offering %.1f calls/s for %s after %s warm-up (server log: %s)%n",
+                rate, duration, warmup, serverLog);
+            generator.run(rate, warmup, duration, maxOutstanding);
+            generator.printReport(rate, duration);
+            if (options.containsKey("report")) {
+                generator.writeReport(Paths.get(options.get("report")), rate, duration);
+            }
+        }
+    }
+    
+    void run(double rate, Duration warmup, Duration duration, int maxOutstanding) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            Call call = nextCall();
+            ToolStats toolStats = stats.get(call.accountedAs());
+            
+            if (client.outstanding() >= maxOutstanding) {
+                if (measured) {
+                    toolStats.saturated.increment();
+                    total.saturated.increment();
+                }
+                continue;
+            }
+            client.callTool(call.tool(), call.arguments()).whenComplete((response, failure) -> {
+                long micros = (System.nanoTime() - intended) / 1000;
+                boolean error = failure != null || client.isError(response);
+                if (!error && call.tool().startsWith("create_fraud_record")) {
+                    rememberReferenceId(client.toolResult(response).path("reference_id").asText(null));
+                }
+                if (measured) {
+                    toolStats.record(micros, error);
+                    total.record(micros, error);
+                }
+            });
+        }
+        
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (client.outstanding() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+    
+    private Call nextCall() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = 0;
+        while (roll >= cumulativeWeights[index]) {
+            index++;
+        }
+        String tool = tools.get(index);
+        Map<String, Object> arguments = switch (tool) {
+            case "create_fraud_record", "create_fraud_record_with_ai" ->
+                SyntheticFraudRequests.toArguments(requests.next());
+            case "get_fraud_record" -> {
+                String referenceId = recentReferenceId();
+                yield referenceId != null ? Map.of("reference_id", referenceId) : null;
+            }
+            case "get_user_fraud_records", "generate_user_risk_assessment" -> Map.of("user_id", requests.nextUserId());
+            case "analyze_fraud_patterns" -> Map.of("days", 30);
+            case "get_fraud_prevention_tips" ->
+                Map.of("fraud_type", requests.nextFraudType(), "risk_level", requests.nextRiskLevel());
+            default -> Map.of();
+        };
+        if (arguments == null) {
+            // Nothing created yet to look up; create instead, accounted under the lookup
+            arguments = SyntheticFraudRequests.toArguments(requests.next());
+            return new Call("create_fraud_record", arguments, tool);
+        }
+        return new Call(tool, arguments, tool);
+    }
+    
+    private void rememberReferenceId(String referenceId) {
+        if (referenceId != null) {
+            referenceIds.set((int) (referenceIdCount.getAndIncrement() % REFERENCE_ID_RING), referenceId);
+        }
+    }
+    
+    private String recentReferenceId() {
+        long count = referenceIdCount.get();
+        if (count == 0) {
+            return null;
+        }
+        return referenceIds.get(random.nextInt((int) Math.min(count, REFERENCE_ID_RING)));
+    }
+    
+    void printReport(double rate, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%n%-32s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+            "tool", "calls", "errors", "err%", "calls/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        stats.forEach((tool, toolStats) -> printRow(tool, toolStats, seconds));
+        printRow("TOTAL", total, seconds);
+        System.out.printf("%nOffered %.1f calls/s, completed %.1f calls/s, %d calls dropped at max outstanding%n",
+            rate, total.calls.sum() / seconds, total.saturated.sum());
+    }
+    
+    private static void printRow(String tool, ToolStats toolStats, double seconds) {
+        Histogram latency = toolStats.latency;
+        long calls = toolStats.calls.sum();
+        long attempted = calls + toolStats.saturated.sum();
+        long errors = toolStats.errors.sum() + toolStats.saturated.sum();
+        System.out.printf("%-32s %9d %7d %6.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+            tool, calls, errors, attempted == 0 ? 0.0 : 100.0 * errors / attempted, calls / seconds,
+            millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+            millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+            millis(latency.getMaxValue()));
+    }
+    
+    void writeReport(Path file, double rate, Duration duration) throws Exception {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("offered_rate", rate);
+        report.put("duration_seconds", seconds);
+        Map<String, Object> perTool = new LinkedHashMap<>();
+        stats.forEach((tool, toolStats) -> perTool.put(tool, toolStats.summary(seconds)));
+        report.put("tools", perTool);
+        report.put("total", total.summary(seconds));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("Load report written to " + file.toAbsolutePath());
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+    
+    private static List<String> serverCommand(Map<String, String> options, Path workDir) {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-jar");
+        command.add(options.getOrDefault("server-jar", "target/fraud-mcp-server-1.0.0-exec.jar"));
+        command.add("--spring.profiles.active=" + options.getOrDefault("profiles", "stub-ai"));
+        command.add("--spring.datasource.url=jdbc:sqlite:" + workDir.resolve("fraud-load.db"));
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--spring.main.banner-mode=off");
+        command.add("--logging.level.root=WARN");
+        command.add("--logging.level.com.example=WARN");
+        command.add("--fraud.metrics.prometheus-port=0");
+        if (options.containsKey("stub-latency")) {
+            command.add("--fraud.ai.stub.latency=" + options.get("stub-latency"));
+        }
+        if (options.containsKey("server-args")) {
+            command.addAll(List.of(options.get("server-args").trim().split("\\s+")));
+        }
+        return command;
+    }
+    
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : 1);
+        }
+        return weights;
+    }
+    
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+    
+    /**
+     * One tool call; {@code accountedAs} is the mix entry it counts towards
+     */
+    private record Call(String tool, Map<String, Object> arguments, String accountedAs) {
+    }
+    
+    private static final class ToolStats {
+        
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder saturated = new LongAdder();
+        
+        void record(long micros, boolean error) {
+            latency.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            calls.increment();
+            if (error) {
+                errors.increment();
+            }
+        }
+        
+        Map<String, Object> summary(double seconds) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("calls", calls.sum());
+            summary.put("errors", errors.sum());
+            summary.put("saturated", saturated.sum());
+            summary.put("calls_per_second", calls.sum() / seconds);
+            summary.put("p50_ms", millis(latency.getValueAtPercentile(50)));
+            summary.put("p90_ms", millis(latency.getValueAtPercentile(90)));
+            summary.put("p99_ms", millis(latency.getValueAtPercentile(99)));
+            summary.put("p999_ms", millis(latency.getValueAtPercentile(99.9)));
+            summary.put("max_ms", millis(latency.getMaxValue()));
+            return summary;
+        }
+    }
+}
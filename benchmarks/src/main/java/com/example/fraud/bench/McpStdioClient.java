@@ -0,0 +1,181 @@
+package com.example.fraud.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal MCP client over stdio: launches the server process and exchanges newline-delimited
+ * JSON-RPC 2.0 messages. Requests are pipelined; responses are matched by id on a reader thread.
+ */
+public final class McpStdioClient implements AutoCloseable {
+    
+    private static final String PROTOCOL_VERSION = "2024-11-05";
+    
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Process process;
+    private final BufferedWriter stdin;
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+    
+    private McpStdioClient(Process process) {
+        this.process = process;
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        this.reader = new Thread(this::readResponses, "mcp-stdio-reader");
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+    
+    /**
+     * Start the server command with stderr sent to {@code serverLog}
+     */
+    public static McpStdioClient launch(List<String> command, File serverLog) throws IOException {
+        Process process = new ProcessBuilder(command)
+            .redirectError(ProcessBuilder.Redirect.appendTo(serverLog))
+            .start();
+        return new McpStdioClient(process);
+    }
+    
+    /**
+     * MCP handshake; must complete before tools are called
+     */
+    public JsonNode initialize(long timeoutSeconds) throws Exception {
+        ObjectNode params = mapper.createObjectNode();
+        params.put("protocolVersion", PROTOCOL_VERSION);
+        params.putObject("capabilities");
+        params.putObject("clientInfo").put("name", "fraud-load-generator").put("version", "1.0.0");
+        JsonNode response = request("initialize", params).get(timeoutSeconds, TimeUnit.SECONDS);
+        notify("notifications/initialized");
+        return response;
+    }
+    
+    public CompletableFuture<JsonNode> callTool(String name, Map<String, Object> arguments) {
+        ObjectNode params = mapper.createObjectNode();
+        params.put("name", name);
+        params.set("arguments", mapper.valueToTree(arguments));
+        return request("tools/call", params);
+    }
+    
+    /**
+     * Tool payload of a tools/call response: the JSON text content if present, else the raw result
+     */
+    public JsonNode toolResult(JsonNode response) {
+        JsonNode result = response.path("result");
+        JsonNode content = result.path("content");
+        if (content.isArray() && !content.isEmpty() && content.get(0).has("text")) {
+            try {
+                return mapper.readTree(content.get(0).get("text").asText());
+            } catch (IOException e) {
+                return content.get(0).get("text");
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Whether a tools/call response reports failure at the protocol or tool level
+     */
+    public boolean isError(JsonNode response) {
+        if (response.has("error") || response.path("result").path("isError").asBoolean(false)) {
+            return true;
+        }
+        JsonNode payload = toolResult(response);
+        return payload.has("success") && !payload.get("success").asBoolean();
+    }
+    
+    private CompletableFuture<JsonNode> request(String method, JsonNode params) {
+        long id = ids.incrementAndGet();
+        CompletableFuture<JsonNode> future = new CompletableFuture<>();
+        pending.put(id, future);
+        ObjectNode message = mapper.createObjectNode();
+        message.put("jsonrpc", "2.0");
+        message.put("id", id);
+        message.put("method", method);
+        message.set("params", params);
+        try {
+            send(message);
+        } catch (IOException e) {
+            pending.remove(id);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    private void notify(String method) throws IOException {
+        ObjectNode message = mapper.createObjectNode();
+        message.put("jsonrpc", "2.0");
+        message.put("method", method);
+        send(message);
+    }
+    
+    private synchronized void send(JsonNode message) throws IOException {
+        stdin.write(mapper.writeValueAsString(message));
+        stdin.write('\n');
+        stdin.flush();
+    }
+    
+    private void readResponses() {
+        try (BufferedReader stdout = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = stdout.readLine()) != null) {
+                // Anything that is not a JSON-RPC message (e.g. stray console logging) is skipped
+                if (!line.startsWith("{")) {
+                    continue;
+                }
+                JsonNode message;
+                try {
+                    message = mapper.readTree(line);
+                } catch (IOException e) {
+                    continue;
+                }
+                if (message.has("id") && (message.has("result") || message.has("error"))) {
+                    CompletableFuture<JsonNode> future = pending.remove(message.get("id").asLong());
+                    if (future != null) {
+                        future.complete(message);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Process exited; fail whatever is still waiting
+        }
+        IOException closed = new IOException("MCP server closed its output");
+        pending.values().forEach(future -> future.completeExceptionally(closed));
+        pending.clear();
+    }
+    
+    public long pid() {
+        return process.pid();
+    }
+    
+    public int outstanding() {
+        return pending.size();
+    }
+    
+    @Override
+    public void close() throws InterruptedException {
+        try {
+            stdin.close();
+        } catch (IOException e) {
+            // Already gone
+        }
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
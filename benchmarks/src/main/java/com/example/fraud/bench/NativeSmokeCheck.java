@@ -0,0 +1,132 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.dto.FraudDataRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Smoke test for the native executable: runs the basic tools against a fresh local database over
+ * MCP stdio and compares startup time and memory with the JVM build:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.example.fraud.bench.NativeSmokeCheck \
+ *     --native=target/fraud-mcp-server --jar=target/fraud-mcp-server-1.0.0-exec.jar
+ * </pre>
+ *
+ * Exits non-zero if any tool call fails. RSS is read from /proc and reported only on Linux.
+ */
+public final class NativeSmokeCheck {
+    
+    private NativeSmokeCheck() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        Path workDir = Paths.get("target", "native-smoke");
+        Files.createDirectories(workDir);
+        
+        List<Result> results = new ArrayList<>();
+        if (options.containsKey("native")) {
+            results.add(check("native", List.of(options.get("native")), workDir));
+        }
+        if (options.containsKey("jar")) {
+            String java = ProcessHandle.current().info().command().orElse("java");
+            results.add(check("jvm", List.of(java, "-jar", options.get("jar")), workDir));
+        }
+        if (results.isEmpty()) {
+            System.err.println("Usage: NativeSmokeCheck --native=<executable> [--jar=<server jar>]");
+            System.exit(2);
+        }
+        
+        System.out.printf("%n%-8s %18s %14s %14s %8s%n", "build", "first result (ms)", "RSS (MB)", "peak RSS (MB)", "tools");
+        boolean passed = true;
+        for (Result result : results) {
+            System.out.printf("%-8s %18d %14s %14s %8s%n", result.build(), result.startupMillis(),
+                megabytes(result.rssKb()), megabytes(result.peakRssKb()), result.failures().isEmpty() ? "ok" : "FAILED");
+            result.failures().forEach(failure -> System.out.println("  " + failure));
+            passed &= result.failures().isEmpty();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+    
+    private static Result check(String build, List<String> launch, Path workDir) throws Exception {
+        Path database = workDir.resolve("fraud-" + build + ".db");
+        Files.deleteIfExists(database);
+        List<String> command = new ArrayList<>(launch);
+        command.add("--spring.profiles.active=fast-start");
+        command.add("--spring.datasource.url=jdbc:sqlite:" + database);
+        command.add("--spring.main.banner-mode=off");
+        command.add("--fraud.metrics.prometheus-port=0");
+        command.add("--fraud.tracing.file-export.enabled=false");
+        
+        List<String> failures = new ArrayList<>();
+        long start = System.nanoTime();
+        try (McpStdioClient client = McpStdioClient.launch(command, workDir.resolve("server-" + build + ".log").toFile())) {
+            client.initialize(120);
+            expectSuccess(client, "get_fraud_statistics", Map.of(), failures);
+            long startupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            
+            FraudDataRequest request = new SyntheticFraudRequests(7, 100, 10).next();
+            JsonNode created = expectSuccess(client, "create_fraud_record",
+                SyntheticFraudRequests.toArguments(request), failures);
+            expectSuccess(client, "get_fraud_record",
+                Map.of("reference_id", created.path("reference_id").asText("")), failures);
+            expectSuccess(client, "get_user_fraud_records", Map.of("user_id", request.getUserId()), failures);
+            expectSuccess(client, "get_recent_fraud_records", Map.of(), failures);
+            expectSuccess(client, "get_fraud_statistics", Map.of(), failures);
+            
+            long[] rss = readRss(client.pid());
+            return new Result(build, startupMillis, rss[0], rss[1], failures);
+        }
+    }
+    
+    private static JsonNode expectSuccess(McpStdioClient client, String tool, Map<String, Object> arguments,
+                                          List<String> failures) throws Exception {
+        JsonNode response = client.callTool(tool, arguments).get(60, TimeUnit.SECONDS);
+        if (client.isError(response)) {
+            failures.add(tool + ": " + response);
+        }
+        return client.toolResult(response);
+    }
+    
+    /**
+     * Current and peak resident set size in KB from /proc/{pid}/status, or -1 where unavailable
+     */
+    private static long[] readRss(long pid) {
+        long[] rss = {-1, -1};
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    rss[0] = Long.parseLong(line.replaceAll("\\D", ""));
+                } else if (line.startsWith("VmHWM:")) {
+                    rss[1] = Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or the process already exited
+        }
+        return rss;
+    }
+    
+    private static String megabytes(long kb) {
+        return kb < 0 ? "n/a" : String.format("%.1f", kb / 1024.0);
+    }
+    
+    private record Result(String build, long startupMillis, long rssKb, long peakRssKb, List<String> failures) {
+    }
+}
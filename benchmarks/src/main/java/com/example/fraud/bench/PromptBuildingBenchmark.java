@@ -0,0 +1,84 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.ai.AiModelRouter;
+import com.example.fraud.ai.AiUsageTracker;
+import com.example.fraud.ai.StubChatModel;
+import com.example.fraud.ai.TieredChatModels;
+import com.example.fraud.config.AiBatchProperties;
+import com.example.fraud.config.AiPromptCacheProperties;
+import com.example.fraud.config.AiRoutingProperties;
+import com.example.fraud.config.AiUsageProperties;
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.service.FraudAiService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt construction in FraudAiService, with a chat model that returns immediately
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptBuildingBenchmark {
+    
+    @Param({"10", "1000", "10000"})
+    public int records;
+    
+    private FraudAiService fraudAiService;
+    private List<FraudRecord> entities;
+    private List<FraudRecordSummary> summaries;
+    
+    @Setup
+    public void setup() {
+        AiUsageProperties usageProperties = new AiUsageProperties(3.00, 15.00,
+            new AiUsageProperties.Budget(false, Duration.ofHours(1), 2_000_000, AiUsageProperties.ExhaustedAction.FALLBACK));
+        AiUsageTracker usageTracker = new AiUsageTracker(new SimpleMeterRegistry(), Tracer.NOOP,
+            usageProperties, Clock.systemUTC());
+        AiPromptCacheProperties promptCacheProperties = new AiPromptCacheProperties(false, 0.1, 1.25);
+        AiModelRouter modelRouter = new AiModelRouter(new AiRoutingProperties(false, null, null), usageProperties,
+            promptCacheProperties);
+        // No latency, and a cache minimum no prompt reaches, so only prompt building is measured
+        StubChatModel chatModel = new StubChatModel(Duration.ZERO, Long.MAX_VALUE, Duration.ZERO);
+        fraudAiService = new FraudAiService(new TieredChatModels(chatModel, modelId -> chatModel),
+            usageTracker, modelRouter, new AiBatchProperties(8, 6000, 10), promptCacheProperties, new ObjectMapper());
+        entities = BenchmarkFixtures.fraudRecords(records, 7L);
+        summaries = entities.stream().map(FraudRecordSummary::from).toList();
+    }
+    
+    @Benchmark
+    public String analyzeFraudPatterns() {
+        return fraudAiService.analyzeFraudPatterns(summaries);
+    }
+    
+    @Benchmark
+    public String generateRiskAssessment() {
+        return fraudAiService.generateRiskAssessment("user_1", summaries);
+    }
+    
+    @Benchmark
+    public String generateFraudRecordResponse() {
+        FraudRecord record = entities.get(0);
+        return fraudAiService.generateFraudRecordResponse(record.getId(), record);
+    }
+}
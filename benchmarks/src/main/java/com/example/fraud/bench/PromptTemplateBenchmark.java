@@ -0,0 +1,100 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.ai.PromptBuffers;
+import com.example.fraud.ai.PromptTemplate;
+import com.example.fraud.dto.FraudRecordSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the analyze_fraud_patterns data block with a String.format per record, as
+ * FraudAiService originally did, against a precompiled {@link PromptTemplate} rendered into a
+ * pooled buffer. Run with {@code -prof gc} to compare allocation per operation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptTemplateBenchmark {
+    
+    private static final PromptTemplate<FraudRecordSummary> PATTERN_RECORD = PromptTemplate.<FraudRecordSummary>builder("""
+            Record ID: {id}
+            User: {user_id} | Transaction: {transaction_id}
+            Amount: {amount} {currency} | Merchant: {merchant}
+            Type: {fraud_type} | Risk: {risk_level}
+            Date: {created_at}
+            ---
+            """)
+        .uuid("id", FraudRecordSummary::id)
+        .text("user_id", FraudRecordSummary::userId)
+        .text("transaction_id", FraudRecordSummary::transactionId)
+        .decimal("amount", FraudRecordSummary::amount)
+        .text("currency", FraudRecordSummary::currency)
+        .text("merchant", FraudRecordSummary::merchantName)
+        .text("fraud_type", FraudRecordSummary::fraudType)
+        .text("risk_level", FraudRecordSummary::riskLevel)
+        .dateTime("created_at", FraudRecordSummary::createdAt)
+        .build();
+    
+    @Param({"1000", "10000"})
+    public int records;
+    
+    private List<FraudRecordSummary> summaries;
+    
+    @Setup
+    public void setup() {
+        summaries = BenchmarkFixtures.fraudRecords(records, 7L).stream().map(FraudRecordSummary::from).toList();
+    }
+    
+    @Benchmark
+    public String stringFormat() {
+        StringBuilder fraudDataBuilder = new StringBuilder();
+        fraudDataBuilder.append("Fraud Records Analysis:\n\n");
+        for (FraudRecordSummary record : summaries) {
+            fraudDataBuilder.append(String.format("""
+                Record ID: %s
+                User: %s | Transaction: %s
+                Amount: %.2f %s | Merchant: %s
+                Type: %s | Risk: %s
+                Date: %s
+                ---
+                """,
+                record.id().toString(),
+                record.userId(),
+                record.transactionId(),
+                record.amount(),
+                record.currency(),
+                record.merchantName(),
+                record.fraudType(),
+                record.riskLevel(),
+                record.createdAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+            ));
+        }
+        return fraudDataBuilder.toString();
+    }
+    
+    @Benchmark
+    public String compiledTemplate() {
+        StringBuilder fraudData = PromptBuffers.acquire(32 + summaries.size() * (PATTERN_RECORD.literalLength() + 160));
+        fraudData.append("Fraud Records Analysis:\n\n");
+        for (FraudRecordSummary record : summaries) {
+            PATTERN_RECORD.render(record, fraudData);
+        }
+        return PromptBuffers.finish(fraudData);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.repository.FraudRecordRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository queries behind the MCP tools at several table sizes.
+ * Each call runs in a read-only transaction, as the service layer does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryQueryBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    public int tableSize;
+    
+    private ConfigurableApplicationContext context;
+    private FraudRecordRepository repository;
+    private TransactionTemplate readOnly;
+    
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start(tableSize);
+        repository = context.getBean(FraudRecordRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<FraudRecordSummary> findSummariesByUserId() {
+        return readOnly.execute(status -> repository.findSummariesByUserId("user_1"));
+    }
+    
+    @Benchmark
+    public List<FraudRecord> findEntitiesByUserId() {
+        return readOnly.execute(status -> repository.findByUserId("user_1"));
+    }
+    
+    @Benchmark
+    public List<FraudRecordSummary> findRecentSummaries() {
+        LocalDateTime now = LocalDateTime.now();
+        return readOnly.execute(status -> repository.findSummariesCreatedBetween(now.minusDays(30), now));
+    }
+    
+    @Benchmark
+    public Optional<FraudRecord> findByTransactionId() {
+        return readOnly.execute(status -> repository.findByTransactionId("txn_5_0"));
+    }
+    
+    @Benchmark
+    public long countByRiskLevel() {
+        return readOnly.execute(status -> repository.countByRiskLevel("HIGH"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.fraud.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the server process to the first tool result over MCP stdio, which is
+ * what a client spawning one server per session waits for. Run from the repository root after
+ * {@code mvn -Pfast-start package}; the aot-cds variant uses the archive that profile records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+    
+    @Param({"default", "fast-start", "fast-start-aot-cds"})
+    public String variant;
+    
+    @Param({"target/fraud-mcp-server-1.0.0-exec.jar"})
+    public String serverJar;
+    
+    private McpStdioClient client;
+    
+    @Benchmark
+    public JsonNode timeToFirstToolResult() throws Exception {
+        Path workDir = Paths.get("target", "startup");
+        Files.createDirectories(workDir);
+        client = McpStdioClient.launch(command(workDir), workDir.resolve("server-" + variant + ".log").toFile());
+        client.initialize(120);
+        return client.callTool("get_fraud_statistics", Map.of()).get(120, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Process shutdown is not part of the measurement
+     */
+    @TearDown(Level.Invocation)
+    public void stopServer() throws InterruptedException {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+    }
+    
+    private List<String> command(Path workDir) {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        String jar = serverJar;
+        if (variant.equals("fast-start-aot-cds")) {
+            Path extracted = Paths.get(serverJar).resolveSibling("fast-start");
+            command.add("-XX:SharedArchiveFile=" + extracted.resolve("application.jsa"));
+            command.add("-Dspring.aot.enabled=true");
+            jar = extracted.resolve(Paths.get(serverJar).getFileName()).toString();
+        }
+        command.add("-jar");
+        command.add(jar);
+        if (!variant.equals("default")) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+        command.add("--spring.datasource.url=jdbc:sqlite:" + workDir.resolve("fraud-" + variant + ".db"));
+        command.add("--spring.main.banner-mode=off");
+        command.add("--fraud.metrics.prometheus-port=0");
+        command.add("--fraud.tracing.file-export.enabled=false");
+        return command;
+    }
+}
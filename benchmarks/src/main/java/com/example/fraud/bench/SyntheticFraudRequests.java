@@ -0,0 +1,126 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.dto.FraudDataRequest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded stream of {@link FraudDataRequest}s with production-like skew: Zipf-distributed
+ * users and merchants, log-normal amounts, and risk levels that follow the amount.
+ * The same seed gives the same requests, transaction IDs included, apart from detection times
+ * relative to now. Not thread-safe; use one instance per generating thread.
+ */
+public final class SyntheticFraudRequests {
+    
+    private static final String[] FRAUD_TYPES = {
+        "credit_card_fraud", "account_takeover", "identity_theft", "phishing", "chargeback_fraud", "money_mule"
+    };
+    private static final int[] FRAUD_TYPE_WEIGHTS = {45, 20, 12, 10, 9, 4};
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP", "JPY"};
+    private static final int[] CURRENCY_WEIGHTS = {70, 15, 10, 5};
+    private static final String[] MERCHANT_PREFIXES = {
+        "Amazon", "Walmart", "Target", "Best Buy", "eBay", "Apple Store", "Steam", "Uber", "Shell", "Etsy"
+    };
+    private static final String[] LOCATIONS = {
+        "New York, NY", "Los Angeles, CA", "Chicago, IL", "Houston, TX", "London, UK", "Lagos, NG", "Unknown"
+    };
+    
+    private final Random random;
+    private final ZipfSampler users;
+    private final ZipfSampler merchants;
+    private final String runId;
+    private long sequence;
+    
+    public SyntheticFraudRequests(long seed, int userCount, int merchantCount) {
+        this.random = new Random(seed);
+        this.users = new ZipfSampler(userCount, 1.1);
+        this.merchants = new ZipfSampler(merchantCount, 1.2);
+        // From the seed alone, so the same seed replays the same request stream; the "load" prefix
+        // keeps these IDs apart from DatasetGenerator's txn_{seed}_{n}
+        this.runId = "load_" + Long.toString(seed, 36);
+    }
+    
+    public FraudDataRequest next() {
+        int userRank = users.sample(random);
+        int merchantRank = merchants.sample(random);
+        double amount = Math.round(Math.exp(4.0 + 1.2 * random.nextGaussian()) * 100) / 100.0;
+        
+        FraudDataRequest request = new FraudDataRequest();
+        request.setUserId(userId(userRank));
+        request.setTransactionId("txn_" + runId + "_" + sequence++);
+        request.setAmount(amount);
+        request.setCurrency(weighted(CURRENCIES, CURRENCY_WEIGHTS));
+        request.setMerchantName(MERCHANT_PREFIXES[merchantRank % MERCHANT_PREFIXES.length] + " #" + merchantRank);
+        request.setFraudType(weighted(FRAUD_TYPES, FRAUD_TYPE_WEIGHTS));
+        request.setDescription("Flagged by rule " + random.nextInt(200) + " after " + (1 + random.nextInt(5)) + " declined attempts");
+        request.setRiskLevel(riskLevel(amount));
+        request.setDetectedAt(LocalDateTime.now().minusSeconds(random.nextInt(3600)));
+        // Hot users come back from the same few addresses
+        request.setIpAddress("198.51." + (userRank % 64) + "." + (userRank < 100 ? userRank : random.nextInt(256)));
+        request.setLocation(LOCATIONS[userRank % LOCATIONS.length]);
+        return request;
+    }
+    
+    /**
+     * Skewed user id for lookup-style tools, drawn from the same distribution as created records
+     */
+    public String nextUserId() {
+        return userId(users.sample(random));
+    }
+    
+    public String nextFraudType() {
+        return weighted(FRAUD_TYPES, FRAUD_TYPE_WEIGHTS);
+    }
+    
+    public String nextRiskLevel() {
+        return riskLevel(Math.exp(4.0 + 1.2 * random.nextGaussian()));
+    }
+    
+    /**
+     * MCP tool arguments for create_fraud_record
+     */
+    public static Map<String, Object> toArguments(FraudDataRequest request) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("user_id", request.getUserId());
+        args.put("transaction_id", request.getTransactionId());
+        args.put("amount", request.getAmount());
+        args.put("currency", request.getCurrency());
+        args.put("merchant_name", request.getMerchantName());
+        args.put("fraud_type", request.getFraudType());
+        args.put("description", request.getDescription());
+        args.put("risk_level", request.getRiskLevel());
+        args.put("detected_at", request.getDetectedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        args.put("ip_address", request.getIpAddress());
+        args.put("location", request.getLocation());
+        return args;
+    }
+    
+    private static String userId(int rank) {
+        return "user_" + rank;
+    }
+    
+    private String riskLevel(double amount) {
+        double highShare = amount > 1000 ? 0.7 : amount > 200 ? 0.25 : 0.05;
+        double roll = random.nextDouble();
+        return roll < highShare ? "HIGH" : roll < highShare + 0.4 ? "MEDIUM" : "LOW";
+    }
+    
+    private String weighted(String[] values, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.fraud.bench;
+
+import com.example.fraud.dto.FraudRecordListResponse;
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.json.FraudJsonModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original Map.of(...) tool result path against the typed
+ * response records written by the pre-built serializers in {@link FraudJsonModule}.
+ * Both variants include building the result from entities and writing the JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolResultSerializationBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    public int rows;
+    
+    private List<FraudRecord> records;
+    private ObjectMapper objectMapper;
+    private final OutputStream sink = OutputStream.nullOutputStream();
+    
+    @Setup
+    public void setup() {
+        records = BenchmarkFixtures.fraudRecords(rows, 42L);
+        // Mirrors the Spring Boot auto-configured mapper: JavaTimeModule plus any Module beans
+        objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new FraudJsonModule())
+            .build();
+    }
+    
+    @Benchmark
+    public void mapPath() throws IOException {
+        objectMapper.writeValue(sink, mapResult(records));
+    }
+    
+    @Benchmark
+    public void typedPath() throws IOException {
+        objectMapper.writeValue(sink, typedResult(records));
+    }
+    
+    /**
+     * The get_recent_fraud_records result as originally built
+     */
+    static Map<String, Object> mapResult(List<FraudRecord> recentRecords) {
+        return Map.of(
+            "success", true,
+            "total_records", recentRecords.size(),
+            "period", "Last 30 days",
+            "fraud_records", recentRecords.stream().map(record -> Map.of(
+                "id", record.getId().toString(),
+                "user_id", record.getUserId(),
+                "transaction_id", record.getTransactionId(),
+                "amount", record.getAmount(),
+                "currency", record.getCurrency(),
+                "merchant_name", record.getMerchantName(),
+                "fraud_type", record.getFraudType(),
+                "risk_level", record.getRiskLevel(),
+                "created_at", record.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                "is_verified", record.getIsVerified()
+            )).toList()
+        );
+    }
+    
+    /**
+     * The get_recent_fraud_records result as built by the typed path
+     */
+    static FraudRecordListResponse typedResult(List<FraudRecord> recentRecords) {
+        return FraudRecordListResponse.forPeriod("Last 30 days",
+            recentRecords.stream().map(FraudRecordSummary::from).toList());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.fraud.bench;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1/(rank+1)^exponent, so a few
+ * ranks (hot users, hot merchants) receive most of the traffic
+ */
+public final class ZipfSampler {
+    
+    private final double[] cumulative;
+    
+    public ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+    
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+    
+    public int size() {
+        return cumulative.length;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.fraud;
 
+import com.example.fraud.bulk.BulkTransferCommand;
+import com.example.fraud.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import java.time.Clock;
@@ -11,9 +16,16 @@ import java.time.Clock;
 @SpringBootApplication
 @EnableJpaRepositories
 @EnableTransactionManagement
+@EnableScheduling
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class FraudMcpServerApplication {
     
     public static void main(String[] args) {
+        // Offline bulk import/export runs on plain JDBC, without starting the server
+        if (BulkTransferCommand.handles(args)) {
+            System.exit(BulkTransferCommand.run(args));
+        }
         SpringApplication.run(FraudMcpServerApplication.class, args);
     }
     
@@ -0,0 +1,31 @@
+package com.example.fraud.ai;
+
+/**
+ * Thrown instead of calling the model once the rolling token budget is used up
+ */
+public class AiBudgetExceededException extends RuntimeException {
+    
+    private final boolean rejected;
+    
+    public AiBudgetExceededException(String message, boolean rejected) {
+        // No stack trace: this is an expected, possibly frequent, control-flow signal
+        super(message, null, false, false);
+        this.rejected = rejected;
+    }
+    
+    /**
+     * Whether the tool call should fail rather than fall back to a non-AI response
+     */
+    public boolean isRejected() {
+        return rejected;
+    }
+    
+    /**
+     * Rethrow when the budget is configured to reject; called from AI fallback paths
+     */
+    public static void rethrowIfRejected(Exception e) {
+        if (e instanceof AiBudgetExceededException budget && budget.isRejected()) {
+            throw budget;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.fraud.ai;
+
+import com.example.fraud.config.AiPromptCacheProperties;
+import com.example.fraud.config.AiRoutingProperties;
+import com.example.fraud.config.AiUsageProperties;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.prompt.ChatOptionsBuilder;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.stereotype.Component;
+
+/**
+ * Picks the model tier, max tokens and temperature of each AI call from {@link AiRoutingProperties}.
+ * An operation runs on its configured tier and moves to its escalation tier when the prompt is
+ * larger than its threshold or the risk level is one it escalates. The call must then be sent to
+ * {@link TieredChatModels#forSelection}, which holds one chat model per tier.
+ */
+@Component
+public class AiModelRouter {
+    
+    /**
+     * Tier name reported for calls that use the chat model's own defaults
+     */
+    public static final String DEFAULT_MODEL = "default";
+    
+    private final AiRoutingProperties properties;
+    private final AiUsageProperties usageProperties;
+    private final AiPromptCacheProperties promptCacheProperties;
+    
+    public AiModelRouter(AiRoutingProperties properties, AiUsageProperties usageProperties,
+                         AiPromptCacheProperties promptCacheProperties) {
+        this.properties = properties;
+        this.usageProperties = usageProperties;
+        this.promptCacheProperties = promptCacheProperties;
+        // Fail at startup rather than on the first call of a misconfigured operation
+        properties.operations().forEach((operation, route) -> {
+            for (String tier : new String[] {route.model(), route.escalateTo()}) {
+                if (tier != null && !properties.models().containsKey(tier)) {
+                    throw new IllegalStateException("AI route for " + operation + " names unknown model tier " + tier);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Route a prompt for an operation
+     *
+     * @param riskLevel risk level of the record or history the prompt is about, or null
+     */
+    public ModelSelection route(String operation, Prompt prompt, String riskLevel) {
+        AiRoutingProperties.Route route = properties.enabled()
+            ? properties.operations().get(operation.replace('_', '-'))
+            : null;
+        if (route == null || route.model() == null) {
+            return selection(operation, DEFAULT_MODEL, null, false, prompt,
+                usageProperties.inputCostPerMillionTokens(), usageProperties.outputCostPerMillionTokens());
+        }
+        
+        long promptTokens = estimateTokens(prompt);
+        boolean escalated = route.escalateTo() != null
+            && ((route.escalateAbovePromptTokens() > 0 && promptTokens > route.escalateAbovePromptTokens())
+                || (riskLevel != null && route.escalateRiskLevels().contains(riskLevel)));
+        String tier = escalated ? route.escalateTo() : route.model();
+        AiRoutingProperties.Model model = properties.models().get(tier);
+        
+        // The tier's model is picked by TieredChatModels; Bedrock ignores a model ID in the options
+        ChatOptionsBuilder options = ChatOptionsBuilder.builder();
+        if (route.maxTokens() != null) {
+            options.withMaxTokens(route.maxTokens());
+        }
+        if (route.temperature() != null) {
+            options.withTemperature(route.temperature());
+        }
+        return selection(operation, tier, model.id(), escalated,
+            new Prompt(prompt.getInstructions(), options.build()),
+            model.inputCostPerMillionTokens() != null ? model.inputCostPerMillionTokens() : usageProperties.inputCostPerMillionTokens(),
+            model.outputCostPerMillionTokens() != null ? model.outputCostPerMillionTokens() : usageProperties.outputCostPerMillionTokens());
+    }
+    
+    private ModelSelection selection(String operation, String tier, String modelId, boolean escalated, Prompt prompt,
+                                     double inputCost, double outputCost) {
+        return new ModelSelection(operation, tier, modelId, escalated, prompt, inputCost, outputCost,
+            inputCost * promptCacheProperties.readCostFactor(), inputCost * promptCacheProperties.writeCostFactor());
+    }
+    
+    /**
+     * Rough prompt size at four characters per token, the same estimate the stub model reports
+     */
+    public static long estimateTokens(Prompt prompt) {
+        long chars = 0;
+        for (Message message : prompt.getInstructions()) {
+            chars += message.getContent().length();
+        }
+        return (chars + 3) / 4;
+    }
+    
+    /**
+     * Where one call goes.
+     *
+     * @param model                         tier name, or {@link #DEFAULT_MODEL}
+     * @param modelId                       provider model ID, or null for the application's chat model
+     * @param escalated                     whether the escalation tier was chosen
+     * @param prompt                        the prompt with the route's max tokens and temperature attached
+     * @param inputCostPerMillionTokens     USD price of the tier's prompt tokens
+     * @param outputCostPerMillionTokens    USD price of the tier's completion tokens
+     * @param cacheReadCostPerMillionTokens USD price of prompt tokens read from the provider's cache
+     * @param cacheWriteCostPerMillionTokens USD price of prompt tokens written to the provider's cache
+     */
+    public record ModelSelection(String operation, String model, String modelId, boolean escalated, Prompt prompt,
+                                 double inputCostPerMillionTokens, double outputCostPerMillionTokens,
+                                 double cacheReadCostPerMillionTokens, double cacheWriteCostPerMillionTokens) {
+        
+        public double estimateCost(long promptTokens, long cacheReadTokens, long cacheWriteTokens, long completionTokens) {
+            return (promptTokens * inputCostPerMillionTokens
+                + cacheReadTokens * cacheReadCostPerMillionTokens
+                + cacheWriteTokens * cacheWriteCostPerMillionTokens
+                + completionTokens * outputCostPerMillionTokens) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.fraud.ai;
+
+import com.example.fraud.config.AiUsageProperties;
+import com.example.fraud.observability.McpToolContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records prompt/completion tokens, latency and estimated cost of every model call,
+ * tagged by AI operation, by the model tier it was routed to and by the MCP tool that
+ * triggered it, and enforces the optional rolling token budget.
+ */
+@Component
+public class AiUsageTracker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AiUsageTracker.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final AiUsageProperties properties;
+    private final TokenBudget budget;
+    private final Counter budgetRejections;
+    private final Map<UsageKey, UsageMeters> meters = new ConcurrentHashMap<>();
+    
+    public AiUsageTracker(MeterRegistry meterRegistry, Tracer tracer, AiUsageProperties properties, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.properties = properties;
+        this.budget = new TokenBudget(clock, properties.budget().window(), properties.budget().maxTokens());
+        this.budgetRejections = Counter.builder("ai.budget.exhausted")
+            .description("AI calls refused because the token budget was used up")
+            .register(meterRegistry);
+        Gauge.builder("ai.budget.tokens.used", budget, TokenBudget::used)
+            .description("Tokens used in the current budget window")
+            .register(meterRegistry);
+        Gauge.builder("ai.budget.tokens.remaining", budget, TokenBudget::remaining)
+            .description("Tokens left in the current budget window")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Call the model with a routed prompt, accounting for its usage
+     */
+    public ChatResponse call(AiModelRouter.ModelSelection selection, ChatModel chatModel) {
+        String operation = selection.operation();
+        Prompt prompt = selection.prompt();
+        UsageMeters usage = meters.computeIfAbsent(
+            new UsageKey(operation, McpToolContext.currentTool(), selection.model()), this::register);
+        AiUsageProperties.Budget budgetConfig = properties.budget();
+        if (budgetConfig.enabled() && budget.isExhausted()) {
+            budgetRejections.increment();
+            throw new AiBudgetExceededException(
+                "AI token budget of " + budget.maxTokens() + " tokens per " + budgetConfig.window() + " is exhausted",
+                budgetConfig.onExhausted() == AiUsageProperties.ExhaustedAction.REJECT);
+        }
+        
+        Span span = tracer.nextSpan()
+            .name("ai.chat " + operation)
+            .tag("ai.operation", operation)
+            .tag("ai.model", selection.model())
+            .tag("ai.prompt.chars", promptChars(prompt))
+            .start();
+        if (selection.escalated()) {
+            usage.escalations().increment();
+        }
+        long start = System.nanoTime();
+        ChatResponse response;
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            response = chatModel.call(prompt);
+        } catch (RuntimeException e) {
+            usage.errors().increment();
+            span.error(e);
+            span.end();
+            throw e;
+        } finally {
+            usage.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        
+        ChatResponseMetadata metadata = response.getMetadata();
+        Usage tokens = metadata != null ? metadata.getUsage() : null;
+        long promptTokens = tokens != null && tokens.getPromptTokens() != null ? tokens.getPromptTokens() : 0;
+        long completionTokens = tokens != null && tokens.getGenerationTokens() != null ? tokens.getGenerationTokens() : 0;
+        // Cached prefix tokens are reported apart from the prompt tokens, by models that cache
+        long cacheReadTokens = metadataTokens(metadata, CacheableSystemMessage.CACHE_READ_TOKENS);
+        long cacheWriteTokens = metadataTokens(metadata, CacheableSystemMessage.CACHE_WRITE_TOKENS);
+        usage.promptTokens().increment(promptTokens);
+        usage.cacheReadTokens().increment(cacheReadTokens);
+        usage.cacheWriteTokens().increment(cacheWriteTokens);
+        usage.completionTokens().increment(completionTokens);
+        usage.cost().increment(selection.estimateCost(promptTokens, cacheReadTokens, cacheWriteTokens, completionTokens));
+        budget.record(promptTokens + cacheReadTokens + cacheWriteTokens + completionTokens);
+        span.tag("ai.tokens.prompt", promptTokens)
+            .tag("ai.tokens.cache_read", cacheReadTokens)
+            .tag("ai.tokens.cache_write", cacheWriteTokens)
+            .tag("ai.tokens.completion", completionTokens)
+            .end();
+        
+        logger.debug("AI {} on {} for tool {} used {} prompt ({} cache read, {} cache write) + {} completion tokens",
+            operation, selection.model(), usage.key().tool(), promptTokens, cacheReadTokens, cacheWriteTokens, completionTokens);
+        return response;
+    }
+    
+    private static long metadataTokens(ChatResponseMetadata metadata, String key) {
+        Object value = metadata != null ? metadata.get(key) : null;
+        return value instanceof Number number ? number.longValue() : 0;
+    }
+    
+    private static long promptChars(Prompt prompt) {
+        long chars = 0;
+        for (Message message : prompt.getInstructions()) {
+            chars += message.getContent().length();
+        }
+        return chars;
+    }
+    
+    /**
+     * Meters per operation, model tier and calling tool
+     */
+    public Collection<UsageMeters> usage() {
+        return meters.values();
+    }
+    
+    public TokenBudget budget() {
+        return budget;
+    }
+    
+    private UsageMeters register(UsageKey key) {
+        return new UsageMeters(
+            key,
+            Timer.builder("ai.call.latency")
+                .description("Model call latency")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool())
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry),
+            Counter.builder("ai.call.errors")
+                .description("Model calls that failed")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool())
+                .register(meterRegistry),
+            Counter.builder("ai.tokens")
+                .description("Tokens consumed by model calls")
+                .baseUnit("tokens")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool(), "type", "prompt")
+                .register(meterRegistry),
+            Counter.builder("ai.tokens")
+                .description("Tokens consumed by model calls")
+                .baseUnit("tokens")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool(), "type", "cache_read")
+                .register(meterRegistry),
+            Counter.builder("ai.tokens")
+                .description("Tokens consumed by model calls")
+                .baseUnit("tokens")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool(), "type", "cache_write")
+                .register(meterRegistry),
+            Counter.builder("ai.tokens")
+                .description("Tokens consumed by model calls")
+                .baseUnit("tokens")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool(), "type", "completion")
+                .register(meterRegistry),
+            Counter.builder("ai.routing.escalations")
+                .description("Model calls moved to the escalation tier")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool())
+                .register(meterRegistry),
+            Counter.builder("ai.cost")
+                .description("Estimated model cost")
+                .baseUnit("usd")
+                .tags("operation", key.operation(), "model", key.model(), "tool", key.tool())
+                .register(meterRegistry)
+        );
+    }
+    
+    public record UsageKey(String operation, String tool, String model) {
+    }
+    
+    /**
+     * Meters for one AI operation on one model tier called from one tool
+     */
+    public record UsageMeters(UsageKey key, Timer latency, Counter errors, Counter promptTokens,
+                              Counter cacheReadTokens, Counter cacheWriteTokens, Counter completionTokens,
+                              Counter escalations, Counter cost) {
+    }
+}
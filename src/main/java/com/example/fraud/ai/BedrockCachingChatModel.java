@@ -0,0 +1,136 @@
+package com.example.fraud.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Calls an Anthropic model on Bedrock with InvokeModel and a Messages request body of its own, so a
+ * {@link CacheableSystemMessage} can carry a {@code cache_control} block, which the Spring AI
+ * 1.0.0-M3 Bedrock client has no field for. Cache read and write token counts from the response are
+ * reported under the {@link CacheableSystemMessage} metadata keys; like Bedrock's input token count,
+ * the prompt token count leaves them out.
+ */
+public class BedrockCachingChatModel implements ChatModel {
+    
+    static final String ANTHROPIC_VERSION = "bedrock-2023-05-31";
+    
+    private final BedrockRuntimeClient client;
+    private final ObjectMapper objectMapper;
+    private final String modelId;
+    private final int defaultMaxTokens;
+    
+    public BedrockCachingChatModel(BedrockRuntimeClient client, ObjectMapper objectMapper, String modelId,
+                                   int defaultMaxTokens) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.modelId = modelId;
+        this.defaultMaxTokens = defaultMaxTokens;
+    }
+    
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        try {
+            InvokeModelResponse response = client.invokeModel(InvokeModelRequest.builder()
+                .modelId(modelId)
+                .contentType("application/json")
+                .accept("application/json")
+                .body(SdkBytes.fromByteArray(objectMapper.writeValueAsBytes(requestBody(objectMapper, prompt, defaultMaxTokens))))
+                .build());
+            return chatResponse(objectMapper.readTree(response.body().asByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to exchange a chat request with Bedrock model " + modelId, e);
+        }
+    }
+    
+    /**
+     * The Messages request body for a prompt: system messages become system blocks, the cacheable one
+     * ending the cached prefix, and the others become conversation turns
+     */
+    static ObjectNode requestBody(ObjectMapper objectMapper, Prompt prompt, int defaultMaxTokens) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("anthropic_version", ANTHROPIC_VERSION);
+        ChatOptions options = prompt.getOptions();
+        body.put("max_tokens", options != null && options.getMaxTokens() != null ? options.getMaxTokens() : defaultMaxTokens);
+        if (options != null) {
+            if (options.getTemperature() != null) {
+                body.put("temperature", options.getTemperature());
+            }
+            if (options.getTopP() != null) {
+                body.put("top_p", options.getTopP());
+            }
+            if (options.getTopK() != null) {
+                body.put("top_k", options.getTopK());
+            }
+            List<String> stopSequences = options.getStopSequences();
+            if (stopSequences != null && !stopSequences.isEmpty()) {
+                stopSequences.forEach(body.putArray("stop_sequences")::add);
+            }
+        }
+        ArrayNode system = objectMapper.createArrayNode();
+        ArrayNode messages = body.putArray("messages");
+        for (Message message : prompt.getInstructions()) {
+            if (message.getMessageType() == MessageType.SYSTEM) {
+                ObjectNode block = textBlock(system, message.getContent());
+                if (message instanceof CacheableSystemMessage) {
+                    block.putObject("cache_control").put("type", "ephemeral");
+                }
+            } else {
+                ObjectNode turn = messages.addObject();
+                turn.put("role", message.getMessageType() == MessageType.ASSISTANT ? "assistant" : "user");
+                textBlock(turn.putArray("content"), message.getContent());
+            }
+        }
+        if (!system.isEmpty()) {
+            body.set("system", system);
+        }
+        return body;
+    }
+    
+    /**
+     * The chat response for a Messages response body, with the cache token counts in its metadata
+     */
+    static ChatResponse chatResponse(JsonNode json) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode block : json.path("content")) {
+            if ("text".equals(block.path("type").asText())) {
+                text.append(block.path("text").asText());
+            }
+        }
+        JsonNode usage = json.path("usage");
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+            .withId(json.path("id").asText(""))
+            .withModel(json.path("model").asText(""))
+            .withUsage(new DefaultUsage(usage.path("input_tokens").asLong(), usage.path("output_tokens").asLong()))
+            .withKeyValue(CacheableSystemMessage.CACHE_READ_TOKENS, usage.path("cache_read_input_tokens").asLong())
+            .withKeyValue(CacheableSystemMessage.CACHE_WRITE_TOKENS, usage.path("cache_creation_input_tokens").asLong())
+            .build();
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text.toString()))), metadata);
+    }
+    
+    private static ObjectNode textBlock(ArrayNode blocks, String text) {
+        ObjectNode block = blocks.addObject();
+        block.put("type", "text");
+        block.put("text", text);
+        return block;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.fraud.ai;
+
+import org.springframework.ai.chat.messages.SystemMessage;
+
+/**
+ * A system message whose content never changes between calls of an operation, so a provider
+ * that supports prompt caching can cache the prompt up to and including it. Models without
+ * caching see a plain system message. Cache-aware models report cached token counts in the
+ * response metadata under {@link #CACHE_READ_TOKENS} and {@link #CACHE_WRITE_TOKENS}, as
+ * {@link BedrockCachingChatModel} and {@link StubChatModel} do. It is only sent when caching is enabled.
+ */
+public class CacheableSystemMessage extends SystemMessage {
+    
+    /**
+     * Prompt tokens served from the cache, which are not included in the prompt token count
+     */
+    public static final String CACHE_READ_TOKENS = "cacheReadInputTokens";
+    
+    /**
+     * Prompt tokens written to the cache on a miss, which are not included in the prompt token count
+     */
+    public static final String CACHE_WRITE_TOKENS = "cacheWriteInputTokens";
+    
+    public CacheableSystemMessage(String content) {
+        super(content);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.fraud.ai;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A small pool of StringBuilders for prompt rendering. Dashboard insights run on virtual threads,
+ * where a ThreadLocal would hand every call a fresh buffer; a shared pool keeps the grown backing
+ * arrays of large prompts alive between calls instead.
+ */
+public final class PromptBuffers {
+    
+    private static final int POOL_SIZE = 16;
+    
+    /**
+     * Larger buffers are dropped after use rather than pinning their memory. This covers a batch
+     * prompt at the default 6,000-token limit, and caps the pool at about 1 MB.
+     */
+    private static final int MAX_RETAINED_CHARS = 32 << 10;
+    
+    private static final ArrayBlockingQueue<StringBuilder> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+    
+    private PromptBuffers() {
+    }
+    
+    /**
+     * An empty buffer with room for at least capacity chars
+     */
+    public static StringBuilder acquire(int capacity) {
+        StringBuilder buffer = POOL.poll();
+        if (buffer == null) {
+            return new StringBuilder(Math.max(capacity, 256));
+        }
+        buffer.ensureCapacity(capacity);
+        return buffer;
+    }
+    
+    /**
+     * The buffer's content; the buffer goes back to the pool and must not be used afterwards
+     */
+    public static String finish(StringBuilder buffer) {
+        String content = buffer.toString();
+        if (buffer.capacity() <= MAX_RETAINED_CHARS) {
+            buffer.setLength(0);
+            POOL.offer(buffer);
+        }
+        return content;
+    }
+}
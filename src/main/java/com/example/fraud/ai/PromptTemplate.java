@@ -0,0 +1,283 @@
+package com.example.fraud.ai;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A prompt template parsed once into literal segments and typed field writers, so rendering is
+ * a walk over two arrays that appends straight into the caller's buffer: no format string is
+ * parsed and no boxed argument array or intermediate string is created per call.
+ * <p>
+ * Placeholders are written {@code {name}}; {@code {{} and {@code }}} stand for literal braces.
+ * Every placeholder needs a writer and every writer a placeholder, checked when the template is built.
+ * Decimals are written with two places and a '.' separator, dates and times in ISO-8601.
+ *
+ * @param <T> the value a render call reads its fields from
+ */
+public final class PromptTemplate<T> {
+    
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    private final String[] literals;
+    private final FieldWriter<T>[] fields;
+    private final int literalLength;
+    
+    private PromptTemplate(String[] literals, FieldWriter<T>[] fields) {
+        this.literals = literals;
+        this.fields = fields;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+    
+    public static <T> Builder<T> builder(String template) {
+        return new Builder<>(template);
+    }
+    
+    /**
+     * Append the template filled from value to out
+     */
+    public StringBuilder render(T value, StringBuilder out) {
+        out.append(literals[0]);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].write(out, value);
+            out.append(literals[i + 1]);
+        }
+        return out;
+    }
+    
+    /**
+     * The template filled from value, rendered in a pooled buffer
+     */
+    public String render(T value) {
+        return PromptBuffers.finish(render(value, PromptBuffers.acquire(literalLength + 32 * fields.length)));
+    }
+    
+    /**
+     * Characters of fixed text per render, for sizing buffers
+     */
+    public int literalLength() {
+        return literalLength;
+    }
+    
+    /**
+     * Appends one field of a value
+     */
+    @FunctionalInterface
+    public interface FieldWriter<T> {
+        void write(StringBuilder out, T value);
+    }
+    
+    public static final class Builder<T> {
+        
+        private final String template;
+        private final Map<String, FieldWriter<T>> writers = new LinkedHashMap<>();
+        
+        private Builder(String template) {
+            this.template = template;
+        }
+        
+        public Builder<T> field(String name, FieldWriter<T> writer) {
+            if (writers.put(name, writer) != null) {
+                throw new IllegalArgumentException("Duplicate template field " + name);
+            }
+            return this;
+        }
+        
+        public Builder<T> text(String name, Function<T, ?> getter) {
+            return field(name, (out, value) -> out.append(getter.apply(value)));
+        }
+        
+        public Builder<T> integer(String name, ToLongFunction<T> getter) {
+            return field(name, (out, value) -> out.append(getter.applyAsLong(value)));
+        }
+        
+        public Builder<T> decimal(String name, Function<T, ? extends Number> getter) {
+            return field(name, (out, value) -> appendDecimal(out, getter.apply(value)));
+        }
+        
+        public Builder<T> dateTime(String name, Function<T, LocalDateTime> getter) {
+            return field(name, (out, value) -> appendIsoDateTime(out, getter.apply(value)));
+        }
+        
+        public Builder<T> date(String name, Function<T, LocalDate> getter) {
+            return field(name, (out, value) -> appendIsoDate(out, getter.apply(value)));
+        }
+        
+        public Builder<T> uuid(String name, Function<T, UUID> getter) {
+            return field(name, (out, value) -> appendUuid(out, getter.apply(value)));
+        }
+        
+        @SuppressWarnings("unchecked")
+        public PromptTemplate<T> build() {
+            List<String> literals = new ArrayList<>();
+            List<FieldWriter<T>> fields = new ArrayList<>();
+            Set<String> used = new HashSet<>();
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            while (i < template.length()) {
+                char c = template.charAt(i);
+                if ((c == '{' || c == '}') && i + 1 < template.length() && template.charAt(i + 1) == c) {
+                    literal.append(c);
+                    i += 2;
+                } else if (c == '{') {
+                    int end = template.indexOf('}', i);
+                    if (end < 0) {
+                        throw new IllegalArgumentException("Unclosed placeholder at " + i + " in template");
+                    }
+                    String name = template.substring(i + 1, end);
+                    FieldWriter<T> writer = writers.get(name);
+                    if (writer == null) {
+                        throw new IllegalArgumentException("No writer for template field " + name);
+                    }
+                    used.add(name);
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    fields.add(writer);
+                    i = end + 1;
+                } else if (c == '}') {
+                    throw new IllegalArgumentException("Unmatched '}' at " + i + " in template");
+                } else {
+                    literal.append(c);
+                    i++;
+                }
+            }
+            literals.add(literal.toString());
+            for (String name : writers.keySet()) {
+                if (!used.contains(name)) {
+                    throw new IllegalArgumentException("Template field " + name + " is never used");
+                }
+            }
+            return new PromptTemplate<>(literals.toArray(String[]::new), fields.toArray(FieldWriter[]::new));
+        }
+    }
+    
+    /**
+     * Append a number with two decimal places, exactly as %.2f in the root locale would
+     */
+    public static void appendDecimal(StringBuilder out, Number number) {
+        if (number == null) {
+            out.append("null");
+            return;
+        }
+        double value = number.doubleValue();
+        double scaled = Math.abs(value) * 100;
+        // %.2f rounds the shortest decimal form of the double half-up, so 1.005 becomes 1.01 although
+        // the double is slightly below it. Rounding the double itself only agrees when it is clearly
+        // away from a half cent; below 1e9 the scaling error is far smaller than that margin.
+        if (!(scaled < 1e11) || Math.abs(scaled - Math.floor(scaled) - 0.5) < 1e-4) {
+            out.append(String.format(Locale.ROOT, "%.2f", value));
+            return;
+        }
+        long cents = Math.round(scaled);
+        if (Math.copySign(1.0, value) < 0) {
+            out.append('-');
+        }
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+    
+    /**
+     * Append a date-time as ISO_LOCAL_DATE_TIME would format it
+     */
+    public static void appendIsoDateTime(StringBuilder out, LocalDateTime dateTime) {
+        if (dateTime == null) {
+            out.append("null");
+            return;
+        }
+        if (dateTime.getYear() < 0 || dateTime.getYear() > 9999) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(dateTime, out);
+            return;
+        }
+        appendIsoDate(out, dateTime.toLocalDate());
+        out.append('T');
+        appendPadded(out, dateTime.getHour(), 2);
+        out.append(':');
+        appendPadded(out, dateTime.getMinute(), 2);
+        out.append(':');
+        appendPadded(out, dateTime.getSecond(), 2);
+        int nano = dateTime.getNano();
+        if (nano > 0) {
+            // Shortest fraction without trailing zeros, as appendFraction(NANO_OF_SECOND, 0, 9, true)
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            out.append('.');
+            appendPadded(out, nano, digits);
+        }
+    }
+    
+    /**
+     * Append a date as ISO_LOCAL_DATE would format it
+     */
+    public static void appendIsoDate(StringBuilder out, LocalDate date) {
+        if (date == null) {
+            out.append("null");
+            return;
+        }
+        if (date.getYear() < 0 || date.getYear() > 9999) {
+            DateTimeFormatter.ISO_LOCAL_DATE.formatTo(date, out);
+            return;
+        }
+        appendPadded(out, date.getYear(), 4);
+        out.append('-');
+        appendPadded(out, date.getMonthValue(), 2);
+        out.append('-');
+        appendPadded(out, date.getDayOfMonth(), 2);
+    }
+    
+    /**
+     * Append a UUID in its canonical form without creating its string
+     */
+    public static void appendUuid(StringBuilder out, UUID id) {
+        if (id == null) {
+            out.append("null");
+            return;
+        }
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        appendHex(out, msb >>> 32, 8);
+        out.append('-');
+        appendHex(out, msb >>> 16, 4);
+        out.append('-');
+        appendHex(out, msb, 4);
+        out.append('-');
+        appendHex(out, lsb >>> 48, 4);
+        out.append('-');
+        appendHex(out, lsb, 12);
+    }
+    
+    private static void appendHex(StringBuilder out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+    
+    private static void appendPadded(StringBuilder out, int value, int width) {
+        for (int bound = 10, i = 1; i < width; i++, bound *= 10) {
+            if (value < bound) {
+                out.append('0');
+            }
+        }
+        out.append(value);
+    }
+}
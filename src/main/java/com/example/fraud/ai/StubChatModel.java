@@ -0,0 +1,87 @@
+package com.example.fraud.ai;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offline chat model for load tests: answers after a fixed delay with a canned text and
+ * reports token usage estimated at four characters per token, so accounting and budgets
+ * behave as they would against Bedrock.
+ * <p>
+ * Prompt caching is simulated the way Bedrock does it: a {@link CacheableSystemMessage} of at
+ * least the minimum size is written to a per-model cache on first use and read from it while the
+ * entry is alive, each hit extending it by the TTL. Cached tokens are reported under the
+ * {@link CacheableSystemMessage} metadata keys and left out of the prompt token count.
+ */
+public class StubChatModel implements ChatModel {
+    
+    private static final String RESPONSE = """
+        Stub analysis: the records show a concentration of card-not-present fraud at a small number
+        of merchants. Review high-risk unverified incidents first and enable step-up verification.
+        """;
+    
+    private final Duration latency;
+    private final long cacheMinTokens;
+    private final long cacheTtlNanos;
+    private final Map<CacheKey, Long> cacheExpiry = new ConcurrentHashMap<>();
+    
+    public StubChatModel(Duration latency, long cacheMinTokens, Duration cacheTtl) {
+        this.latency = latency;
+        this.cacheMinTokens = cacheMinTokens;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+    
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        long promptChars = 0;
+        String cacheablePrefix = null;
+        for (Message message : prompt.getInstructions()) {
+            if (cacheablePrefix == null && message instanceof CacheableSystemMessage) {
+                cacheablePrefix = message.getContent();
+            } else {
+                promptChars += message.getContent().length();
+            }
+        }
+        long cacheReadTokens = 0;
+        long cacheWriteTokens = 0;
+        if (cacheablePrefix != null && cacheablePrefix.length() / 4 >= cacheMinTokens) {
+            String model = prompt.getOptions() != null ? prompt.getOptions().getModel() : null;
+            long now = System.nanoTime();
+            Long expiry = cacheExpiry.put(new CacheKey(model, cacheablePrefix), now + cacheTtlNanos);
+            if (expiry != null && expiry - now > 0) {
+                cacheReadTokens = cacheablePrefix.length() / 4;
+            } else {
+                cacheWriteTokens = cacheablePrefix.length() / 4;
+            }
+        } else if (cacheablePrefix != null) {
+            promptChars += cacheablePrefix.length();
+        }
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        ChatResponseMetadata metadata = ChatResponseMetadata.builder()
+            .withUsage(new DefaultUsage(promptChars / 4, (long) RESPONSE.length() / 4))
+            .withKeyValue(CacheableSystemMessage.CACHE_READ_TOKENS, cacheReadTokens)
+            .withKeyValue(CacheableSystemMessage.CACHE_WRITE_TOKENS, cacheWriteTokens)
+            .build();
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(RESPONSE))), metadata);
+    }
+    
+    private record CacheKey(String model, String prefix) {
+    }
+}
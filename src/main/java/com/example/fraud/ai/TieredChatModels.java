@@ -0,0 +1,45 @@
+package com.example.fraud.ai;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The chat model each routed call runs on. The Bedrock chat models are bound to one model ID when
+ * they are built and ignore a model set in the prompt options, so every tier gets its own model,
+ * built by the {@link ModelFactory} on the tier's first call. Calls without a route use the
+ * application's chat model.
+ */
+@Component
+public class TieredChatModels {
+    
+    private final ChatModel defaultModel;
+    private final ModelFactory factory;
+    private final Map<String, ChatModel> models = new ConcurrentHashMap<>();
+    
+    public TieredChatModels(@Lazy ChatModel defaultModel, ModelFactory factory) {
+        this.defaultModel = defaultModel;
+        this.factory = factory;
+    }
+    
+    /**
+     * The model a routed call must be sent to; tiers with the same model ID share one model
+     */
+    public ChatModel forSelection(AiModelRouter.ModelSelection selection) {
+        if (selection.modelId() == null) {
+            return defaultModel;
+        }
+        return models.computeIfAbsent(selection.modelId(), factory::create);
+    }
+    
+    /**
+     * Builds a chat model bound to one provider model ID
+     */
+    @FunctionalInterface
+    public interface ModelFactory {
+        ChatModel create(String modelId);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.fraud.ai;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Tokens used in a rolling window, kept in a ring of fixed-width slots so that
+ * recording and reading never lock. Each slot's start and token count change together
+ * in one compare-and-set, so a slot rolling over cannot drop tokens recorded into it.
+ * Usage is only known after a call returns, so the last call admitted may overshoot
+ * the limit by its own size.
+ */
+public class TokenBudget {
+    
+    private static final int SLOTS = 60;
+    
+    private final Clock clock;
+    private final long maxTokens;
+    private final long slotMillis;
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOTS);
+    
+    public TokenBudget(Clock clock, Duration window, long maxTokens) {
+        this.clock = clock;
+        this.maxTokens = maxTokens;
+        this.slotMillis = Math.max(1, window.toMillis() / SLOTS);
+        for (int i = 0; i < SLOTS; i++) {
+            slots.set(i, new Slot(-SLOTS, 0));
+        }
+    }
+    
+    public void record(long tokens) {
+        long slotStart = clock.millis() / slotMillis;
+        int index = (int) (slotStart % SLOTS);
+        Slot current;
+        Slot updated;
+        do {
+            current = slots.get(index);
+            if (current.start() > slotStart) {
+                // A later slot already took this position; the tokens belong to a window that has passed
+                return;
+            }
+            updated = current.start() == slotStart
+                ? new Slot(slotStart, current.tokens() + tokens)
+                : new Slot(slotStart, tokens);
+        } while (!slots.compareAndSet(index, current, updated));
+    }
+    
+    public long used() {
+        long nowSlot = clock.millis() / slotMillis;
+        long total = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            Slot slot = slots.get(i);
+            if (nowSlot - slot.start() < SLOTS) {
+                total += slot.tokens();
+            }
+        }
+        return total;
+    }
+    
+    public long remaining() {
+        return Math.max(0, maxTokens - used());
+    }
+    
+    public boolean isExhausted() {
+        return used() >= maxTokens;
+    }
+    
+    public long maxTokens() {
+        return maxTokens;
+    }
+    
+    private record Slot(long start, long tokens) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.fraud.bulk;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline bulk import/export entry point, run from {@code FraudMcpServerApplication.main}
+ * without starting Spring:
+ *
+ * <pre>
+ * java -jar fraud-mcp-server.jar bulk-import records.frcb [--db=fraud_data.db] [--chunk-size=65536]
+ * java -jar fraud-mcp-server.jar bulk-export records.frcb [--db=fraud_data.db] [--partitions-dir=partitions]
+ * </pre>
+ */
+public final class BulkTransferCommand {
+    
+    public static final String IMPORT = "bulk-import";
+    public static final String EXPORT = "bulk-export";
+    
+    private BulkTransferCommand() {
+    }
+    
+    /**
+     * Whether the command line asks for a bulk transfer instead of the server
+     */
+    public static boolean handles(String[] args) {
+        return args.length > 0 && (IMPORT.equals(args[0]) || EXPORT.equals(args[0]));
+    }
+    
+    /**
+     * Run the command and return the process exit code
+     */
+    public static int run(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: " + args[0] + " <file.frcb> [--db=fraud_data.db] [--chunk-size=N] [--partitions-dir=partitions]");
+            return 2;
+        }
+        Map<String, String> options = parseOptions(args);
+        Path file = Paths.get(args[1]);
+        String jdbcUrl = "jdbc:sqlite:" + options.getOrDefault("db", "fraud_data.db");
+        int chunkSize = Integer.parseInt(options.getOrDefault("chunk-size", String.valueOf(FraudRecordBulkTransfer.DEFAULT_CHUNK_SIZE)));
+        FraudRecordBulkTransfer transfer = new FraudRecordBulkTransfer(chunkSize);
+        
+        try (Connection connection = DriverManager.getConnection(jdbcUrl)) {
+            FraudRecordBulkTransfer.TransferResult result;
+            if (IMPORT.equals(args[0])) {
+                result = transfer.importFrom(connection, file);
+            } else {
+                Path partitionsDir = Paths.get(options.getOrDefault("partitions-dir", "partitions"));
+                result = transfer.exportTo(connection, file, coldPartitionFiles(connection, partitionsDir));
+            }
+            System.out.printf("%s %s: %d rows read, %d written, %d skipped in %d ms (%d rows/s)%n",
+                args[0], file, result.rowsRead(), result.rowsWritten(), result.skippedRows(),
+                result.elapsedMillis(), result.rowsPerSecond());
+            return 0;
+        } catch (Exception e) {
+            System.err.println(args[0] + " failed: " + e.getMessage());
+            e.printStackTrace(System.err);
+            return 1;
+        }
+    }
+    
+    private static List<Path> coldPartitionFiles(Connection connection, Path partitionsDir) throws SQLException {
+        List<Path> files = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet tables = statement.executeQuery(
+                 "SELECT name FROM sqlite_master WHERE type = 'table' AND name = 'fraud_partitions'")) {
+            if (!tables.next()) {
+                return files;
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT file_name FROM fraud_partitions ORDER BY partition_key")) {
+            while (rs.next()) {
+                files.add(partitionsDir.resolve(rs.getString(1)));
+            }
+        }
+        return files;
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 2; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+}
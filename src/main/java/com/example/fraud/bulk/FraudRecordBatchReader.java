@@ -0,0 +1,216 @@
+package com.example.fraud.bulk;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads files produced by {@link FraudRecordBatchWriter}, one chunk at a time.
+ * Buffers are reused across chunks, so memory stays bounded by the largest chunk. Header fields and
+ * every length inside a chunk are checked against the bytes actually present, so a truncated or
+ * corrupt file fails with an IOException that says where.
+ */
+public class FraudRecordBatchReader implements AutoCloseable {
+    
+    /**
+     * Fewest bytes a row takes: the ID, one index per string column, the amount, two deltas and the flag
+     */
+    private static final int MIN_ROW_BYTES = 16 + FraudRecordChunk.STRING_COLUMNS + 8 + 2 + 1;
+    
+    /**
+     * Largest expansion deflate can produce, rounded up
+     */
+    private static final int MAX_DEFLATE_RATIO = 1032;
+    
+    private final DataInputStream in;
+    private final Inflater inflater = new Inflater();
+    private byte[] compressed = new byte[1 << 20];
+    private byte[] raw = new byte[1 << 20];
+    private int position;
+    private int limit;
+    private boolean finished;
+    
+    public FraudRecordBatchReader(InputStream input) throws IOException {
+        this.in = new DataInputStream(input);
+        byte[] magic = new byte[FraudRecordBatchWriter.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, FraudRecordBatchWriter.MAGIC)) {
+            throw new IOException("Not a fraud record batch file");
+        }
+        int version = in.readInt();
+        if (version != FraudRecordBatchWriter.VERSION) {
+            throw new IOException("Unsupported fraud record batch version: " + version);
+        }
+    }
+    
+    /**
+     * Decode the next chunk into the given chunk, growing it to the chunk's row count if needed;
+     * returns false at end of file
+     */
+    boolean next(FraudRecordChunk chunk) throws IOException {
+        if (finished) {
+            return false;
+        }
+        int rows;
+        int rawLength;
+        int compressedLength;
+        try {
+            rows = in.readInt();
+            if (rows == 0) {
+                finished = true;
+                return false;
+            }
+            rawLength = in.readInt();
+            compressedLength = in.readInt();
+        } catch (EOFException e) {
+            throw new IOException("Truncated file: no end marker after the last chunk", e);
+        }
+        if (rows < 0 || rawLength < 0 || compressedLength < 0) {
+            throw new IOException("Corrupt chunk header: " + rows + " rows, " + rawLength + " raw bytes, "
+                + compressedLength + " compressed bytes");
+        }
+        // Bound every allocation by what the header can honestly describe: deflate expands at most
+        // about 1032:1, and each row takes at least MIN_ROW_BYTES of column data
+        if (rawLength / MAX_DEFLATE_RATIO > compressedLength || (long) rows * MIN_ROW_BYTES > rawLength) {
+            throw new IOException("Corrupt chunk header: " + rows + " rows cannot take " + rawLength
+                + " raw bytes from " + compressedLength + " compressed bytes");
+        }
+        if (compressed.length < compressedLength) {
+            compressed = new byte[compressedLength];
+        }
+        if (raw.length < rawLength) {
+            raw = new byte[rawLength];
+        }
+        try {
+            in.readFully(compressed, 0, compressedLength);
+        } catch (EOFException e) {
+            throw new IOException("Truncated file: chunk of " + rows + " rows ends early", e);
+        }
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            int inflated = 0;
+            while (inflated < rawLength) {
+                int n = inflater.inflate(raw, inflated, rawLength - inflated);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != rawLength) {
+                throw new IOException("Truncated chunk: expected " + rawLength + " bytes, got " + inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt chunk", e);
+        }
+        
+        chunk.ensureCapacity(rows);
+        chunk.clear();
+        position = 0;
+        limit = rawLength;
+        for (int i = 0; i < rows; i++) {
+            chunk.idMostSigBits[i] = readLong();
+            chunk.idLeastSigBits[i] = readLong();
+        }
+        for (String[] column : chunk.strings) {
+            readDictionaryColumn(column, rows);
+        }
+        for (int i = 0; i < rows; i++) {
+            chunk.amount[i] = Double.longBitsToDouble(readLong());
+        }
+        readDeltas(chunk.createdAt, rows);
+        readDeltas(chunk.detectedAt, rows);
+        require(rows);
+        for (int i = 0; i < rows; i++) {
+            chunk.verified[i] = raw[position++] != 0;
+        }
+        if (position != limit) {
+            throw new IOException("Corrupt chunk: " + (limit - position) + " bytes left after " + rows + " rows");
+        }
+        chunk.size = rows;
+        return true;
+    }
+    
+    private void readDictionaryColumn(String[] column, int rows) throws IOException {
+        int dictionarySize = readLength();
+        String[] entries = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            int length = readLength();
+            require(length);
+            entries[i] = new String(raw, position, length, StandardCharsets.UTF_8);
+            position += length;
+        }
+        for (int i = 0; i < rows; i++) {
+            long index = readVarLong();
+            if (index < 0 || index > dictionarySize) {
+                throw new IOException("Corrupt chunk: dictionary index " + index + " of " + dictionarySize
+                    + " at byte " + position);
+            }
+            column[i] = index == 0 ? null : entries[(int) index - 1];
+        }
+    }
+    
+    private void readDeltas(long[] values, int rows) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long zigzag = readVarLong();
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+    }
+    
+    private long readLong() throws IOException {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (raw[position++] & 0xFF);
+        }
+        return value;
+    }
+    
+    /**
+     * A count or length, which cannot be more than the bytes left in the chunk
+     */
+    private int readLength() throws IOException {
+        long length = readVarLong();
+        if (length < 0 || length > limit - position) {
+            throw new IOException("Corrupt chunk: length " + length + " at byte " + position
+                + " exceeds the " + (limit - position) + " bytes left");
+        }
+        return (int) length;
+    }
+    
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift >= 64) {
+                throw new IOException("Corrupt chunk: varint too long at byte " + position);
+            }
+            require(1);
+            b = raw[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+    
+    private void require(int bytes) throws IOException {
+        if (bytes > limit - position) {
+            throw new IOException("Corrupt chunk: " + bytes + " bytes needed at byte " + position
+                + " but only " + (limit - position) + " left");
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.fraud.bulk;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes the chunked columnar fraud record format (.frcb).
+ *
+ * <pre>
+ * file   := "FRCB" version:int chunk* end
+ * chunk  := rows:int rawLength:int compressedLength:int deflate(columns)
+ * end    := 0:int
+ * columns:
+ *   id            rows x (msb:long, lsb:long)
+ *   10 strings    per column: dictSize:varint (len:varint utf8)* then rows x index:varint (0 = null)
+ *   amount        rows x double
+ *   created_at    rows x zigzag-varint delta of epoch micros
+ *   detected_at   rows x zigzag-varint delta of epoch micros
+ *   is_verified   rows x byte
+ * </pre>
+ *
+ * Dictionary encoding keeps low-cardinality columns (currency, merchant, type, risk, location)
+ * to a few bits per row, and deltas keep time-ordered timestamps small before deflate.
+ */
+public class FraudRecordBatchWriter implements AutoCloseable {
+    
+    static final byte[] MAGIC = {'F', 'R', 'C', 'B'};
+    static final int VERSION = 1;
+    
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream raw = new ByteArrayOutputStream(1 << 20);
+    private final DataOutputStream rawOut = new DataOutputStream(raw);
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private byte[] compressed = new byte[1 << 20];
+    private boolean closed;
+    
+    public FraudRecordBatchWriter(OutputStream output) throws IOException {
+        this.out = new DataOutputStream(output);
+        out.write(MAGIC);
+        out.writeInt(VERSION);
+    }
+    
+    /**
+     * Encode and write a chunk; the chunk may be reused afterwards
+     */
+    void write(FraudRecordChunk chunk) throws IOException {
+        if (chunk.size == 0) {
+            return;
+        }
+        raw.reset();
+        int rows = chunk.size;
+        for (int i = 0; i < rows; i++) {
+            rawOut.writeLong(chunk.idMostSigBits[i]);
+            rawOut.writeLong(chunk.idLeastSigBits[i]);
+        }
+        for (String[] column : chunk.strings) {
+            writeDictionaryColumn(column, rows);
+        }
+        for (int i = 0; i < rows; i++) {
+            rawOut.writeDouble(chunk.amount[i]);
+        }
+        writeDeltas(chunk.createdAt, rows);
+        writeDeltas(chunk.detectedAt, rows);
+        for (int i = 0; i < rows; i++) {
+            rawOut.writeByte(chunk.verified[i] ? 1 : 0);
+        }
+        rawOut.flush();
+        
+        byte[] input = raw.toByteArray();
+        deflater.reset();
+        deflater.setInput(input);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+        
+        out.writeInt(rows);
+        out.writeInt(input.length);
+        out.writeInt(compressedLength);
+        out.write(compressed, 0, compressedLength);
+    }
+    
+    private void writeDictionaryColumn(String[] column, int rows) throws IOException {
+        dictionary.clear();
+        ByteArrayOutputStream indexes = new ByteArrayOutputStream(rows * 2);
+        int nextIndex = 1;
+        for (int i = 0; i < rows; i++) {
+            String value = column[i];
+            if (value == null) {
+                writeVarLong(indexes, 0);
+                continue;
+            }
+            Integer index = dictionary.get(value);
+            if (index == null) {
+                index = nextIndex++;
+                dictionary.put(value, index);
+            }
+            writeVarLong(indexes, index);
+        }
+        String[] entries = new String[dictionary.size()];
+        dictionary.forEach((value, index) -> entries[index - 1] = value);
+        writeVarLong(rawOut, entries.length);
+        for (String entry : entries) {
+            byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(rawOut, bytes.length);
+            rawOut.write(bytes);
+        }
+        indexes.writeTo(rawOut);
+    }
+    
+    private void writeDeltas(long[] values, int rows) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long delta = values[i] - previous;
+            writeVarLong(rawOut, (delta << 1) ^ (delta >> 63));
+            previous = values[i];
+        }
+    }
+    
+    private static void writeVarLong(OutputStream stream, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            stream.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        stream.write((int) value);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        out.writeInt(0);
+        out.flush();
+        deflater.end();
+        out.close();
+    }
+}
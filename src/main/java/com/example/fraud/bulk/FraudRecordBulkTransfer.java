@@ -0,0 +1,209 @@
+package com.example.fraud.bulk;
+
+import com.example.fraud.repository.FraudRecordRows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongConsumer;
+
+/**
+ * Streams fraud records between SQLite and .frcb files with plain JDBC, one chunk at a time.
+ * Each imported chunk is a single batched INSERT in its own transaction; existing IDs are skipped.
+ */
+public class FraudRecordBulkTransfer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FraudRecordBulkTransfer.class);
+    
+    public static final int DEFAULT_CHUNK_SIZE = 65_536;
+    
+    private static final String INSERT = "INSERT OR IGNORE INTO fraud_records (" + FraudRecordRows.COLUMNS + ") " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final int chunkSize;
+    
+    public FraudRecordBulkTransfer(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Export the hot table and the given cold partition files to a .frcb file
+     */
+    public TransferResult exportTo(Connection connection, Path file, List<Path> coldPartitions) throws SQLException, IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        FraudRecordChunk chunk = new FraudRecordChunk(chunkSize);
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16);
+             FraudRecordBatchWriter writer = new FraudRecordBatchWriter(output)) {
+            rows += exportTable(connection, "main", chunk, writer);
+            for (Path partition : coldPartitions) {
+                try (PreparedStatement ps = connection.prepareStatement("ATTACH DATABASE ? AS export_source")) {
+                    ps.setString(1, partition.toAbsolutePath().toUri() + "?mode=ro&immutable=1");
+                    ps.execute();
+                }
+                try {
+                    rows += exportTable(connection, "export_source", chunk, writer);
+                } finally {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("DETACH DATABASE export_source");
+                    }
+                }
+            }
+            writer.write(chunk);
+        }
+        TransferResult result = new TransferResult(rows, rows, 0, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Exported {} fraud records to {} in {} ms", rows, file, result.elapsedMillis());
+        return result;
+    }
+    
+    private long exportTable(Connection connection, String schema, FraudRecordChunk chunk,
+                             FraudRecordBatchWriter writer) throws SQLException, IOException {
+        long rows = 0;
+        try (Statement statement = connection.createStatement()) {
+            statement.setFetchSize(chunkSize);
+            try (ResultSet rs = statement.executeQuery("SELECT " + FraudRecordRows.COLUMNS +
+                    " FROM " + schema + ".fraud_records ORDER BY created_at")) {
+                while (rs.next()) {
+                    int i = chunk.size;
+                    byte[] id = rs.getBytes("id");
+                    if (id != null && id.length == 16) {
+                        ByteBuffer buffer = ByteBuffer.wrap(id);
+                        chunk.idMostSigBits[i] = buffer.getLong();
+                        chunk.idLeastSigBits[i] = buffer.getLong();
+                    } else {
+                        UUID uuid = FraudRecordRows.uuid(rs, "id");
+                        chunk.idMostSigBits[i] = uuid.getMostSignificantBits();
+                        chunk.idLeastSigBits[i] = uuid.getLeastSignificantBits();
+                    }
+                    chunk.strings[FraudRecordChunk.USER_ID][i] = rs.getString("user_id");
+                    chunk.strings[FraudRecordChunk.TRANSACTION_ID][i] = rs.getString("transaction_id");
+                    chunk.strings[FraudRecordChunk.CURRENCY][i] = rs.getString("currency");
+                    chunk.strings[FraudRecordChunk.MERCHANT_NAME][i] = rs.getString("merchant_name");
+                    chunk.strings[FraudRecordChunk.FRAUD_TYPE][i] = rs.getString("fraud_type");
+                    chunk.strings[FraudRecordChunk.DESCRIPTION][i] = rs.getString("description");
+                    chunk.strings[FraudRecordChunk.RISK_LEVEL][i] = rs.getString("risk_level");
+                    chunk.strings[FraudRecordChunk.IP_ADDRESS][i] = rs.getString("ip_address");
+                    chunk.strings[FraudRecordChunk.LOCATION][i] = rs.getString("location");
+                    chunk.strings[FraudRecordChunk.ADDITIONAL_INFO][i] = rs.getString("additional_info");
+                    chunk.amount[i] = rs.getDouble("amount");
+                    chunk.createdAt[i] = FraudRecordChunk.toMicros(rs.getTimestamp("created_at").toLocalDateTime());
+                    chunk.detectedAt[i] = FraudRecordChunk.toMicros(rs.getTimestamp("detected_at").toLocalDateTime());
+                    chunk.verified[i] = rs.getBoolean("is_verified");
+                    chunk.size++;
+                    rows++;
+                    if (chunk.isFull()) {
+                        writer.write(chunk);
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * Import a .frcb file into the hot fraud_records table
+     */
+    public TransferResult importFrom(Connection connection, Path file) throws SQLException, IOException {
+        return importFrom(connection, file, rows -> { });
+    }
+    
+    /**
+     * Import a file, reporting the rows inserted by each chunk once it is committed. Chunks are
+     * committed one by one, so when the import fails the reported rows stay in the table.
+     */
+    public TransferResult importFrom(Connection connection, Path file, LongConsumer committedRows)
+            throws SQLException, IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            return importFrom(connection, input, file.toString(), committedRows);
+        }
+    }
+    
+    TransferResult importFrom(Connection connection, InputStream input, String source) throws SQLException, IOException {
+        return importFrom(connection, input, source, rows -> { });
+    }
+    
+    TransferResult importFrom(Connection connection, InputStream input, String source, LongConsumer committedRows)
+            throws SQLException, IOException {
+        long started = System.nanoTime();
+        long read = 0;
+        long inserted = 0;
+        FraudRecordChunk chunk = new FraudRecordChunk(chunkSize);
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (FraudRecordBatchReader reader = new FraudRecordBatchReader(input);
+             PreparedStatement ps = connection.prepareStatement(INSERT)) {
+            ByteBuffer id = ByteBuffer.allocate(16);
+            while (reader.next(chunk)) {
+                for (int i = 0; i < chunk.size; i++) {
+                    id.clear();
+                    id.putLong(chunk.idMostSigBits[i]).putLong(chunk.idLeastSigBits[i]);
+                    ps.setBytes(1, id.array().clone());
+                    ps.setString(2, chunk.strings[FraudRecordChunk.USER_ID][i]);
+                    ps.setString(3, chunk.strings[FraudRecordChunk.TRANSACTION_ID][i]);
+                    ps.setDouble(4, chunk.amount[i]);
+                    ps.setString(5, chunk.strings[FraudRecordChunk.CURRENCY][i]);
+                    ps.setString(6, chunk.strings[FraudRecordChunk.MERCHANT_NAME][i]);
+                    ps.setString(7, chunk.strings[FraudRecordChunk.FRAUD_TYPE][i]);
+                    ps.setString(8, chunk.strings[FraudRecordChunk.DESCRIPTION][i]);
+                    ps.setString(9, chunk.strings[FraudRecordChunk.RISK_LEVEL][i]);
+                    ps.setTimestamp(10, Timestamp.valueOf(FraudRecordChunk.fromMicros(chunk.createdAt[i])));
+                    ps.setTimestamp(11, Timestamp.valueOf(FraudRecordChunk.fromMicros(chunk.detectedAt[i])));
+                    ps.setString(12, chunk.strings[FraudRecordChunk.IP_ADDRESS][i]);
+                    ps.setString(13, chunk.strings[FraudRecordChunk.LOCATION][i]);
+                    ps.setBoolean(14, chunk.verified[i]);
+                    ps.setString(15, chunk.strings[FraudRecordChunk.ADDITIONAL_INFO][i]);
+                    ps.addBatch();
+                }
+                long chunkInserted = 0;
+                for (int count : ps.executeBatch()) {
+                    if (count > 0) {
+                        chunkInserted += count;
+                    }
+                }
+                connection.commit();
+                inserted += chunkInserted;
+                committedRows.accept(chunkInserted);
+                read += chunk.size;
+                logger.debug("Imported chunk of {} fraud records ({} so far)", chunk.size, read);
+            }
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        TransferResult result = new TransferResult(read, inserted, read - inserted, (System.nanoTime() - started) / 1_000_000);
+        logger.info("Imported {} of {} fraud records from {} in {} ms ({} skipped as existing)",
+                   inserted, read, source, result.elapsedMillis(), result.skippedRows());
+        return result;
+    }
+    
+    /**
+     * Outcome of a bulk import or export
+     */
+    public record TransferResult(long rowsRead, long rowsWritten, long skippedRows, long elapsedMillis) {
+        
+        public long rowsPerSecond() {
+            return elapsedMillis > 0 ? rowsWritten * 1000 / elapsedMillis : rowsWritten;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.fraud.bulk;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * A batch of fraud records held column by column, filled up to its capacity.
+ * Rows are never materialized as objects: the bulk paths copy straight between
+ * these arrays and JDBC. Readers grow the capacity to fit a larger chunk from a file.
+ */
+final class FraudRecordChunk {
+    
+    static final int USER_ID = 0;
+    static final int TRANSACTION_ID = 1;
+    static final int CURRENCY = 2;
+    static final int MERCHANT_NAME = 3;
+    static final int FRAUD_TYPE = 4;
+    static final int DESCRIPTION = 5;
+    static final int RISK_LEVEL = 6;
+    static final int IP_ADDRESS = 7;
+    static final int LOCATION = 8;
+    static final int ADDITIONAL_INFO = 9;
+    static final int STRING_COLUMNS = 10;
+    
+    int capacity;
+    int size;
+    
+    long[] idMostSigBits;
+    long[] idLeastSigBits;
+    String[][] strings;
+    double[] amount;
+    /** Epoch microseconds, LocalDateTime interpreted as UTC */
+    long[] createdAt;
+    long[] detectedAt;
+    boolean[] verified;
+    
+    FraudRecordChunk(int capacity) {
+        allocate(capacity);
+    }
+    
+    /**
+     * Make room for at least rows rows; contents are discarded when the arrays are replaced
+     */
+    void ensureCapacity(int rows) {
+        if (rows > capacity) {
+            allocate(rows);
+            size = 0;
+        }
+    }
+    
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.idMostSigBits = new long[capacity];
+        this.idLeastSigBits = new long[capacity];
+        this.strings = new String[STRING_COLUMNS][capacity];
+        this.amount = new double[capacity];
+        this.createdAt = new long[capacity];
+        this.detectedAt = new long[capacity];
+        this.verified = new boolean[capacity];
+    }
+    
+    boolean isFull() {
+        return size == capacity;
+    }
+    
+    void clear() {
+        for (String[] column : strings) {
+            Arrays.fill(column, 0, size, null);
+        }
+        size = 0;
+    }
+    
+    static long toMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+    
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Chunking of generate_batch_risk_assessment: users are packed into one model call until either
+ * limit is reached.
+ *
+ * @param maxUsersPerCall    users assessed by one call, bounded by the completion tokens each answer needs
+ * @param maxPromptTokens    estimated prompt tokens per call (four characters per token)
+ * @param maxRecordsPerUser  most recent records listed per user; older ones only count toward the totals
+ */
+@ConfigurationProperties(prefix = "fraud.ai.batch")
+public record AiBatchProperties(
+        @DefaultValue("8") int maxUsersPerCall,
+        @DefaultValue("6000") int maxPromptTokens,
+        @DefaultValue("10") int maxRecordsPerUser) {
+}
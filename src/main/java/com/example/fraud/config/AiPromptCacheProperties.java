@@ -0,0 +1,19 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Provider-side caching of the static system prompt prefix. Against Bedrock it switches the chat
+ * models to {@link com.example.fraud.ai.BedrockCachingChatModel}; the {@code stub-ai} model simulates it.
+ *
+ * @param enabled           mark the system prompt as cacheable
+ * @param readCostFactor    price of a cache-read token relative to a prompt token
+ * @param writeCostFactor   price of a cache-write token relative to a prompt token
+ */
+@ConfigurationProperties(prefix = "fraud.ai.prompt-cache")
+public record AiPromptCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.1") double readCostFactor,
+        @DefaultValue("1.25") double writeCostFactor) {
+}
@@ -0,0 +1,64 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Model, max tokens and temperature per AI operation, with escalation to a larger model.
+ * Operation keys are the operation names with '-' for '_' (e.g. prevention-tips), since map keys
+ * lose underscores in relaxed binding. Operations without a route use the chat model's defaults.
+ *
+ * @param enabled       whether routes are applied at all
+ * @param models        model tiers by name, e.g. small and large
+ * @param operations    route per operation
+ */
+@ConfigurationProperties(prefix = "fraud.ai.routing")
+public record AiRoutingProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<String, Model> models,
+        Map<String, Route> operations) {
+    
+    public AiRoutingProperties {
+        models = models != null ? Map.copyOf(models) : Map.of();
+        operations = operations != null ? Map.copyOf(operations) : Map.of();
+    }
+    
+    /**
+     * A model tier.
+     *
+     * @param id                            provider model ID
+     * @param inputCostPerMillionTokens     USD per million prompt tokens; falls back to fraud.ai when unset
+     * @param outputCostPerMillionTokens    USD per million completion tokens; falls back to fraud.ai when unset
+     */
+    public record Model(
+            String id,
+            Double inputCostPerMillionTokens,
+            Double outputCostPerMillionTokens) {
+    }
+    
+    /**
+     * Route of one operation.
+     *
+     * @param model                         tier used normally
+     * @param maxTokens                     completion token limit, or null for the model default
+     * @param temperature                   sampling temperature, or null for the model default
+     * @param escalateTo                    tier used when either escalation condition holds, or null
+     * @param escalateAbovePromptTokens     escalate when the estimated prompt is larger; 0 disables
+     * @param escalateRiskLevels            escalate when the record or history is at one of these risk levels
+     */
+    public record Route(
+            String model,
+            Integer maxTokens,
+            Double temperature,
+            String escalateTo,
+            @DefaultValue("0") int escalateAbovePromptTokens,
+            Set<String> escalateRiskLevels) {
+        
+        public Route {
+            escalateRiskLevels = escalateRiskLevels != null ? Set.copyOf(escalateRiskLevels) : Set.of();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Token accounting and budgeting for Bedrock calls.
+ *
+ * @param inputCostPerMillionTokens    USD price of one million prompt tokens, used for cost estimates
+ * @param outputCostPerMillionTokens   USD price of one million completion tokens
+ * @param budget                       optional rolling token budget
+ */
+@ConfigurationProperties(prefix = "fraud.ai")
+public record AiUsageProperties(
+        @DefaultValue("3.00") double inputCostPerMillionTokens,
+        @DefaultValue("15.00") double outputCostPerMillionTokens,
+        @DefaultValue Budget budget) {
+    
+    /**
+     * Rolling token budget.
+     *
+     * @param enabled       whether AI calls are checked against the budget
+     * @param window        length of the rolling window
+     * @param maxTokens     prompt plus completion tokens allowed per window
+     * @param onExhausted   FALLBACK serves the canned non-AI response, REJECT fails the tool call
+     */
+    public record Budget(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("1h") Duration window,
+            @DefaultValue("2000000") long maxTokens,
+            @DefaultValue("FALLBACK") ExhaustedAction onExhausted) {
+    }
+    
+    public enum ExhaustedAction {
+        FALLBACK,
+        REJECT
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.fraud.config;
+
+import com.example.fraud.ai.BedrockCachingChatModel;
+import com.example.fraud.ai.TieredChatModels;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.bedrock.anthropic3.BedrockAnthropic3ChatModel;
+import org.springframework.ai.bedrock.anthropic3.api.Anthropic3ChatBedrockApi;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeClient;
+
+import java.time.Duration;
+
+/**
+ * Builds the Bedrock chat model of each routing tier. Credentials come from the Bedrock
+ * auto-configuration when it defines them, otherwise from the default AWS chain; clients are only
+ * created on a tier's first call, like the application's own chat model. With prompt caching on,
+ * tiers and the application's model use {@link BedrockCachingChatModel}, which sends the cache point
+ * the Spring AI client cannot.
+ */
+@Configuration
+@Profile("!stub-ai")
+public class BedrockModelConfiguration {
+    
+    @Bean
+    public TieredChatModels.ModelFactory bedrockModelFactory(ObjectProvider<AwsCredentialsProvider> credentialsProvider,
+                                                             ObjectMapper objectMapper,
+                                                             AiPromptCacheProperties promptCacheProperties,
+                                                             @Value("${spring.ai.bedrock.aws.region:us-east-1}") String region,
+                                                             @Value("${spring.ai.bedrock.aws.timeout:5m}") Duration timeout,
+                                                             @Value("${spring.ai.bedrock.anthropic3.chat.options.max-tokens:300}") int maxTokens) {
+        if (promptCacheProperties.enabled()) {
+            return modelId -> new BedrockCachingChatModel(BedrockRuntimeClient.builder()
+                .credentialsProvider(credentialsProvider.getIfAvailable(DefaultCredentialsProvider::create))
+                .region(Region.of(region))
+                .overrideConfiguration(config -> config.apiCallTimeout(timeout))
+                .build(), objectMapper, modelId, maxTokens);
+        }
+        return modelId -> new BedrockAnthropic3ChatModel(new Anthropic3ChatBedrockApi(modelId,
+            credentialsProvider.getIfAvailable(DefaultCredentialsProvider::create), Region.of(region),
+            objectMapper, timeout));
+    }
+    
+    /**
+     * Takes over unrouted calls from the auto-configured model, which would drop the cache point
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "fraud.ai.prompt-cache.enabled", havingValue = "true")
+    public ChatModel bedrockCachingChatModel(TieredChatModels.ModelFactory bedrockModelFactory,
+                                             @Value("${spring.ai.bedrock.anthropic3.chat.model:anthropic.claude-3-sonnet-20240229-v1:0}") String modelId) {
+        return bedrockModelFactory.create(modelId);
+    }
+}
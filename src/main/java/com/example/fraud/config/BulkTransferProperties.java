@@ -0,0 +1,16 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Bulk import/export through the admin MCP tools.
+ *
+ * @param directory  the only directory the admin tools may read from or write to
+ * @param chunkSize  rows per columnar chunk and per import transaction
+ */
+@ConfigurationProperties(prefix = "fraud.bulk")
+public record BulkTransferProperties(
+        @DefaultValue("bulk") String directory,
+        @DefaultValue("65536") int chunkSize) {
+}
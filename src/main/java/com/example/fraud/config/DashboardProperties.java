@@ -0,0 +1,18 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Deadlines for the branches of get_fraud_dashboard, measured from the start of the call.
+ *
+ * @param queryTimeout      statistics, recent records and the high-risk count
+ * @param insightsTimeout   AI insights, which first wait for the recent records
+ */
+@ConfigurationProperties(prefix = "fraud.dashboard")
+public record DashboardProperties(
+        @DefaultValue("5s") Duration queryTimeout,
+        @DefaultValue("20s") Duration insightsTimeout) {
+}
@@ -0,0 +1,24 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bloom filter over known transaction IDs, consulted before the duplicate check in createFraudRecord.
+ *
+ * @param enabled              skip the duplicate SELECT when the filter says a transaction ID is new
+ * @param expectedTransactions capacity of the first filter stage; later stages double it
+ * @param falsePositiveRate    bound on the compound false-positive rate
+ * @param snapshotPath         where the filter is saved; loaded at startup and caught up from the database
+ * @param snapshotInterval     how often the filter is saved while running (also saved on shutdown)
+ */
+@ConfigurationProperties(prefix = "fraud.dedup")
+public record DedupProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") long expectedTransactions,
+        @DefaultValue("0.001") double falsePositiveRate,
+        @DefaultValue("dedup/transaction-ids.bloom") String snapshotPath,
+        @DefaultValue("10m") Duration snapshotInterval) {
+}
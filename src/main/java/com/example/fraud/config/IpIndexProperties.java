@@ -0,0 +1,18 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * In-memory IP prefix index over fraud record addresses.
+ *
+ * @param enabled       build the index at startup and keep it updated on ingest
+ * @param retentionDays days of per-day counts kept per address; the longest window a query can ask for
+ * @param maxAddresses  addresses listed (and used to fetch records) per range query
+ */
+@ConfigurationProperties(prefix = "fraud.ip-index")
+public record IpIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("90") int retentionDays,
+        @DefaultValue("500") int maxAddresses) {
+}
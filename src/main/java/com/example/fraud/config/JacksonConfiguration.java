@@ -0,0 +1,18 @@
+package com.example.fraud.config;
+
+import com.example.fraud.json.FraudJsonModule;
+import com.fasterxml.jackson.databind.Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfiguration {
+    
+    /**
+     * Registered on the auto-configured ObjectMapper used by the MCP transport
+     */
+    @Bean
+    public Module fraudJsonModule() {
+        return new FraudJsonModule();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.fraud.config;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the chat model and the Bedrock beans behind it lazy, so the AWS client is built on the
+ * first AI tool call rather than during startup. {@code TieredChatModels} injects the model with
+ * {@code @Lazy} so that it does not force creation either.
+ */
+@Component
+public class LazyAiBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+    
+    private static final String BEDROCK_PACKAGE = "org.springframework.ai.bedrock";
+    
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            Class<?> type = beanFactory.getType(name, false);
+            if (type != null && (ChatModel.class.isAssignableFrom(type) || type.getName().startsWith(BEDROCK_PACKAGE))) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                definition.setLazyInit(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.fraud.config;
+
+import com.example.fraud.graph.LinkGraph;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+/**
+ * In-memory link graph between users, IP addresses, merchants and locations.
+ *
+ * @param enabled         build the graph at startup and keep it updated on ingest
+ * @param ringLinkTypes   attribute types that put users in the same ring (component)
+ * @param hubDegree       attributes shared by more users than this are reported but not traversed
+ * @param maxHops         upper bound for neighborhood queries
+ * @param maxNodes        neighborhood queries stop after this many nodes
+ */
+@ConfigurationProperties(prefix = "fraud.graph")
+public record LinkGraphProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("IP") Set<LinkGraph.NodeType> ringLinkTypes,
+        @DefaultValue("500") int hubDegree,
+        @DefaultValue("4") int maxHops,
+        @DefaultValue("5000") int maxNodes) {
+}
@@ -1,42 +1,79 @@
 package com.example.fraud.config;
 
+import com.example.fraud.mcp.AdminMcpTools;
 import com.example.fraud.mcp.EnhancedFraudMcpTools;
 import com.example.fraud.mcp.FraudMcpTools;
+import com.example.fraud.mcp.IpRangeMcpTools;
+import com.example.fraud.mcp.LinkAnalysisMcpTools;
+import com.example.fraud.observability.McpToolInstrumentation;
 import org.springframework.ai.mcp.server.McpServer;
 import org.springframework.ai.mcp.server.McpServerConfig;
+import org.springframework.ai.mcp.server.McpToolFunction;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 public class McpConfiguration {
     
     private final FraudMcpTools fraudMcpTools;
     private final EnhancedFraudMcpTools enhancedFraudMcpTools;
+    private final LinkAnalysisMcpTools linkAnalysisMcpTools;
+    private final IpRangeMcpTools ipRangeMcpTools;
+    private final AdminMcpTools adminMcpTools;
+    private final McpToolInstrumentation toolInstrumentation;
     
-    public McpConfiguration(FraudMcpTools fraudMcpTools, EnhancedFraudMcpTools enhancedFraudMcpTools) {
+    public McpConfiguration(FraudMcpTools fraudMcpTools, EnhancedFraudMcpTools enhancedFraudMcpTools,
+                            LinkAnalysisMcpTools linkAnalysisMcpTools, IpRangeMcpTools ipRangeMcpTools,
+                            AdminMcpTools adminMcpTools, McpToolInstrumentation toolInstrumentation) {
         this.fraudMcpTools = fraudMcpTools;
         this.enhancedFraudMcpTools = enhancedFraudMcpTools;
+        this.linkAnalysisMcpTools = linkAnalysisMcpTools;
+        this.ipRangeMcpTools = ipRangeMcpTools;
+        this.adminMcpTools = adminMcpTools;
+        this.toolInstrumentation = toolInstrumentation;
     }
     
     @Bean
     public McpServer mcpServer() {
+        List<McpToolFunction> tools = List.of(
+            // Basic fraud tools
+            fraudMcpTools.createFraudRecord(),
+            fraudMcpTools.getFraudRecord(),
+            fraudMcpTools.getUserFraudRecords(),
+            fraudMcpTools.getFraudStatistics(),
+            fraudMcpTools.getRecentFraudRecords(),
+            fraudMcpTools.searchFraudRecords(),
+            fraudMcpTools.verifyFraudRecords(),
+            
+            // Enhanced AI-powered tools
+            enhancedFraudMcpTools.createFraudRecordWithAi(),
+            enhancedFraudMcpTools.analyzeFraudPatterns(),
+            enhancedFraudMcpTools.generateUserRiskAssessment(),
+            enhancedFraudMcpTools.generateBatchRiskAssessment(),
+            enhancedFraudMcpTools.getFraudPreventionTips(),
+            enhancedFraudMcpTools.getFraudDashboard(),
+            
+            // Link analysis tools, answered from the in-memory graph
+            linkAnalysisMcpTools.findLinkedAccounts(),
+            linkAnalysisMcpTools.findFraudRings(),
+            linkAnalysisMcpTools.getLinkNeighborhood(),
+            
+            // IP range tools, answered from the in-memory prefix index
+            ipRangeMcpTools.queryFraudByIpRange(),
+            ipRangeMcpTools.getTopFraudSubnets(),
+            
+            // Admin tools
+            adminMcpTools.bulkImportFraudRecords(),
+            adminMcpTools.bulkExportFraudRecords(),
+            adminMcpTools.getServerMetrics()
+        );
+        
+        // Every tool is wrapped with latency, error, payload-size and in-flight metrics
         return McpServer.builder()
             .config(mcpServerConfig())
-            .tools(
-                // Basic fraud tools
-                fraudMcpTools.createFraudRecord(),
-                fraudMcpTools.getFraudRecord(),
-                fraudMcpTools.getUserFraudRecords(),
-                fraudMcpTools.getFraudStatistics(),
-                fraudMcpTools.getRecentFraudRecords(),
-                
-                // Enhanced AI-powered tools
-                enhancedFraudMcpTools.createFraudRecordWithAi(),
-                enhancedFraudMcpTools.analyzeFraudPatterns(),
-                enhancedFraudMcpTools.generateUserRiskAssessment(),
-                enhancedFraudMcpTools.getFraudPreventionTips(),
-                enhancedFraudMcpTools.getFraudDashboard()
-            )
+            .tools(toolInstrumentation.instrumentAll(tools).toArray(McpToolFunction[]::new))
             .build();
     }
     
@@ -0,0 +1,19 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-tool MCP metrics.
+ *
+ * @param payloadSampleRate  fraction of calls whose request and response JSON sizes are measured
+ * @param prometheusPort     port of the standalone Prometheus scrape endpoint; 0 disables it
+ * @param prometheusAddress  address the scrape endpoint binds to; the endpoint has no authentication,
+ *                           so it stays on loopback unless a scraper elsewhere needs it
+ */
+@ConfigurationProperties(prefix = "fraud.metrics")
+public record MetricsProperties(
+        @DefaultValue("0.1") double payloadSampleRate,
+        @DefaultValue("0") int prometheusPort,
+        @DefaultValue("127.0.0.1") String prometheusAddress) {
+}
@@ -0,0 +1,76 @@
+package com.example.fraud.config;
+
+import com.example.fraud.dto.FraudDataRequest;
+import com.example.fraud.dto.FraudRecordDetail;
+import com.example.fraud.dto.FraudRecordListResponse;
+import com.example.fraud.dto.FraudRecordResponse;
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.dto.FraudSearchHit;
+import com.example.fraud.dto.FraudSearchResponse;
+import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.mcp.AdminMcpTools;
+import com.example.fraud.mcp.EnhancedFraudMcpTools;
+import com.example.fraud.mcp.FraudMcpTools;
+import com.example.fraud.mcp.IpRangeMcpTools;
+import com.example.fraud.mcp.LinkAnalysisMcpTools;
+import com.example.fraud.observability.SamplingTurboFilter;
+import org.springframework.ai.mcp.server.McpToolFunction;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image (see the {@code native} Maven profile).
+ * Spring AOT covers beans and repositories; these cover what is reached by name or reflection
+ * outside of it.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    
+    private static final MemberCategory[] ALL_MEMBERS = {
+        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+        MemberCategory.INVOKE_DECLARED_METHODS,
+        MemberCategory.DECLARED_FIELDS
+    };
+    
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Hibernate builds FraudRecord reflectively; JPQL constructor expressions call FraudRecordSummary's constructor
+        hints.reflection().registerType(FraudRecord.class, ALL_MEMBERS);
+        hints.reflection().registerType(FraudRecordSummary.class, ALL_MEMBERS);
+        
+        // Jackson reads and writes tool payloads reflectively
+        for (Class<?> type : List.of(FraudDataRequest.class, FraudRecordDetail.class,
+                FraudRecordListResponse.class, FraudRecordResponse.class, FraudSearchHit.class, FraudSearchResponse.class)) {
+            hints.reflection().registerType(type, ALL_MEMBERS);
+        }
+        
+        // Tool providers are discovered through their @McpTool methods, which return McpToolFunction lambdas
+        for (Class<?> type : List.of(FraudMcpTools.class, EnhancedFraudMcpTools.class,
+                LinkAnalysisMcpTools.class, IpRangeMcpTools.class, AdminMcpTools.class)) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(McpToolFunction.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        
+        // Loaded by class name: JDBC driver, Hibernate dialect, logback configuration
+        for (String type : List.of(
+                "org.sqlite.JDBC",
+                "org.hibernate.community.dialect.SQLiteDialect",
+                "net.logstash.logback.encoder.LogstashEncoder",
+                "net.logstash.logback.mask.MaskingJsonGeneratorDecorator",
+                "ch.qos.logback.classic.AsyncAppender")) {
+            hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.reflection().registerType(SamplingTurboFilter.class,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        
+        // SQLite's bundled native library, Flyway migrations and logging configuration
+        hints.resources().registerPattern("org/sqlite/native/*/*/*");
+        hints.resources().registerPattern("sqlite-jdbc.properties");
+        hints.resources().registerPattern("db/migration/*.sql");
+        hints.resources().registerPattern("logback-spring.xml");
+    }
+}
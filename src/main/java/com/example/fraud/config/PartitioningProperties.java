@@ -0,0 +1,18 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Hot/cold tiering of fraud_records.
+ *
+ * @param enabled     whether cold partitions are read and compaction runs
+ * @param directory   directory holding one SQLite file per archived month
+ * @param hotMonths   number of calendar months (including the current one) kept in the hot table
+ */
+@ConfigurationProperties(prefix = "fraud.partitioning")
+public record PartitioningProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("partitions") String directory,
+        @DefaultValue("3") int hotMonths) {
+}
@@ -0,0 +1,91 @@
+package com.example.fraud.config;
+
+import com.example.fraud.replica.ReplicaLagMonitor;
+import com.example.fraud.replica.ReplicaRoutingDataSource;
+import com.example.fraud.replica.ReplicaSnapshotter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Replaces Boot's single pool with a primary pool for writes and a read-only replica pool for
+ * {@code @Transactional(readOnly = true)} work. Migrations always run against the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "fraud.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+    
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        // WAL lets replica readers run alongside the writer instead of blocking on it
+        dataSource.addDataSourceProperty("journal_mode", "WAL");
+        return dataSource;
+    }
+    
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties dataSourceProperties, ReplicaProperties properties) {
+        String url = properties.snapshots()
+            ? "jdbc:sqlite:" + properties.snapshotPath()
+            : dataSourceProperties.determineUrl();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(dataSourceProperties.determineDriverClassName())
+            .url(url)
+            .build();
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setReadOnly(true);
+        dataSource.setDataSourceProperties(sqlite.toProperties());
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(properties.poolSize());
+        return dataSource;
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReplicaProperties properties, TaskScheduler taskScheduler,
+                                               MeterRegistry meterRegistry, Clock clock) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, properties, taskScheduler, meterRegistry, clock);
+    }
+    
+    @Bean
+    public ReplicaSnapshotter replicaSnapshotter(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                                 ReplicaLagMonitor lagMonitor, ReplicaProperties properties,
+                                                 TaskScheduler taskScheduler) {
+        return new ReplicaSnapshotter(primaryDataSource, replicaDataSource, lagMonitor, properties, taskScheduler);
+    }
+    
+    /**
+     * The data source JPA, JdbcTemplate and the tools see. The lazy proxy defers fetching the real
+     * connection until the first statement, when the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+            new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor, meterRegistry));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Read replica for read-only transactions.
+ *
+ * @param enabled             route {@code @Transactional(readOnly = true)} work to the replica pool
+ * @param snapshotPath        empty to read the primary file through a read-only pool in WAL mode,
+ *                            otherwise the file the primary is periodically snapshotted into
+ * @param snapshotInterval    time between snapshots when a snapshot path is set
+ * @param poolSize            maximum connections in the replica pool
+ * @param heartbeatInterval   time between lag checks
+ * @param maxLag              reads fall back to the primary while the replica is further behind than this
+ */
+@ConfigurationProperties(prefix = "fraud.replica")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String snapshotPath,
+        @DefaultValue("30s") Duration snapshotInterval,
+        @DefaultValue("4") int poolSize,
+        @DefaultValue("5s") Duration heartbeatInterval,
+        @DefaultValue("2m") Duration maxLag) {
+    
+    /**
+     * Whether the replica is a snapshot file rather than the primary file itself
+     */
+    public boolean snapshots() {
+        return !snapshotPath.isBlank();
+    }
+}
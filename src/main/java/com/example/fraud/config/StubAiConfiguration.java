@@ -0,0 +1,36 @@
+package com.example.fraud.config;
+
+import com.example.fraud.ai.StubChatModel;
+import com.example.fraud.ai.TieredChatModels;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+/**
+ * Replaces Bedrock with {@link StubChatModel} under the {@code stub-ai} profile, for offline load tests.
+ * Each routing tier gets a stub of its own, as it would get its own Bedrock model.
+ */
+@Configuration
+@Profile("stub-ai")
+public class StubAiConfiguration {
+    
+    @Bean
+    @Primary
+    public ChatModel stubChatModel(@Value("${fraud.ai.stub.latency:0ms}") Duration latency,
+                                   @Value("${fraud.ai.stub.cache-min-tokens:1024}") long cacheMinTokens,
+                                   @Value("${fraud.ai.stub.cache-ttl:5m}") Duration cacheTtl) {
+        return new StubChatModel(latency, cacheMinTokens, cacheTtl);
+    }
+    
+    @Bean
+    public TieredChatModels.ModelFactory stubModelFactory(@Value("${fraud.ai.stub.latency:0ms}") Duration latency,
+                                                          @Value("${fraud.ai.stub.cache-min-tokens:1024}") long cacheMinTokens,
+                                                          @Value("${fraud.ai.stub.cache-ttl:5m}") Duration cacheTtl) {
+        return modelId -> new StubChatModel(latency, cacheMinTokens, cacheTtl);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.fraud.config;
+
+import com.example.fraud.observability.JsonLinesSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+public class TracingConfiguration {
+    
+    /**
+     * Picked up by Boot's OpenTelemetry auto-configuration alongside the OTLP exporter, if any
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "fraud.tracing.file-export", name = "enabled", havingValue = "true")
+    public SpanExporter jsonLinesSpanExporter(TracingProperties properties) throws IOException {
+        TracingProperties.FileExport fileExport = properties.fileExport();
+        return new JsonLinesSpanExporter(Paths.get(fileExport.path()),
+            fileExport.maxFileSize().toBytes(), fileExport.maxHistory());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.fraud.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Local span export. OTLP export is configured through {@code management.otlp.tracing}.
+ *
+ * @param fileExport   JSON-lines file exporter
+ */
+@ConfigurationProperties(prefix = "fraud.tracing")
+public record TracingProperties(@DefaultValue FileExport fileExport) {
+    
+    /**
+     * @param enabled       whether finished spans are appended to the file
+     * @param path          file receiving one JSON object per span
+     * @param maxFileSize   size at which the file is rotated to path.1, path.2, ...
+     * @param maxHistory    rotated files kept; older ones are deleted
+     */
+    public record FileExport(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("traces/spans.jsonl") String path,
+            @DefaultValue("50MB") DataSize maxFileSize,
+            @DefaultValue("5") int maxHistory) {
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.fraud.dedup;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scalable Bloom filter (Almeida et al.): a chain of plain Bloom filters, each twice the capacity of
+ * the previous one with half its false-positive rate, so the compound rate stays below the
+ * configured one however many keys are added. A "no" is definite; a "yes" may be a false positive.
+ */
+public class ScalableBloomFilter {
+    
+    private static final int FORMAT_VERSION = 1;
+    private static final int GROWTH = 2;
+    private static final double TIGHTENING = 0.5;
+    
+    private final long initialCapacity;
+    private final double falsePositiveRate;
+    private final List<Stage> stages = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * @param initialCapacity   keys the first stage holds before a larger one is added
+     * @param falsePositiveRate upper bound for the compound false-positive rate
+     */
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        // Stage rates P(1-r), P(1-r)r, P(1-r)r^2, ... sum to at most P
+        stages.add(new Stage(initialCapacity, falsePositiveRate * (1 - TIGHTENING)));
+    }
+    
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        lock.readLock().lock();
+        try {
+            for (Stage stage : stages) {
+                if (stage.mightContain(h1, h2)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Add a key; returns false if it might already have been present, in which case nothing changes
+     */
+    public boolean add(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        lock.writeLock().lock();
+        try {
+            for (Stage stage : stages) {
+                if (stage.mightContain(h1, h2)) {
+                    return false;
+                }
+            }
+            Stage current = stages.get(stages.size() - 1);
+            if (current.count >= current.capacity) {
+                current = new Stage(current.capacity * GROWTH, current.falsePositiveRate * TIGHTENING);
+                stages.add(current);
+            }
+            current.add(h1, h2);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Keys added (keys that looked present when added are not counted)
+     */
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return stages.stream().mapToLong(stage -> stage.count).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * False-positive rate predicted from how full each stage is: 1 - prod(1 - (1 - e^(-kn/m))^k)
+     */
+    public double expectedFalsePositiveRate() {
+        lock.readLock().lock();
+        try {
+            double allNegative = 1;
+            for (Stage stage : stages) {
+                allNegative *= 1 - Math.pow(1 - Math.exp(-(double) stage.hashes * stage.count / stage.bitCount), stage.hashes);
+            }
+            return 1 - allNegative;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int stageCount() {
+        lock.readLock().lock();
+        try {
+            return stages.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return stages.stream().mapToLong(stage -> stage.bits.length * 8L).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(initialCapacity);
+            out.writeDouble(falsePositiveRate);
+            out.writeInt(stages.size());
+            for (Stage stage : stages) {
+                out.writeLong(stage.capacity);
+                out.writeDouble(stage.falsePositiveRate);
+                out.writeLong(stage.count);
+                for (long word : stage.bits) {
+                    out.writeLong(word);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Read a filter written by {@link #writeTo}
+     */
+    public static ScalableBloomFilter readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported Bloom filter format version " + version);
+        }
+        ScalableBloomFilter filter = new ScalableBloomFilter(in.readLong(), in.readDouble());
+        filter.stages.clear();
+        int stageCount = in.readInt();
+        for (int i = 0; i < stageCount; i++) {
+            Stage stage = new Stage(in.readLong(), in.readDouble());
+            stage.count = in.readLong();
+            for (int word = 0; word < stage.bits.length; word++) {
+                stage.bits[word] = in.readLong();
+            }
+            filter.stages.add(stage);
+        }
+        if (filter.stages.isEmpty()) {
+            throw new IOException("Bloom filter has no stages");
+        }
+        return filter;
+    }
+    
+    /**
+     * Whether this filter was created with the given sizing, so a persisted copy can be reused
+     */
+    public boolean hasSizing(long initialCapacity, double falsePositiveRate) {
+        return this.initialCapacity == initialCapacity && this.falsePositiveRate == falsePositiveRate;
+    }
+    
+    private static long hash(String key) {
+        // FNV-1a over the UTF-16 chars, then a murmur3 finalizer for avalanche
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+    
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    
+    private static final class Stage {
+        
+        final long capacity;
+        final double falsePositiveRate;
+        final long bitCount;
+        final int hashes;
+        final long[] bits;
+        long count;
+        
+        Stage(long capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            // m = -n ln p / (ln 2)^2 bits and k = (m / n) ln 2 hash functions
+            long words = Math.max(1, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) / 64));
+            this.bits = new long[Math.toIntExact(words)];
+            this.bitCount = words * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        }
+        
+        boolean mightContain(long h1, long h2) {
+            // Kirsch-Mitzenmacher: k indexes from two hashes
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(combined, bitCount);
+                if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+        
+        void add(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashes; i++) {
+                long index = Long.remainderUnsigned(combined, bitCount);
+                bits[(int) (index >>> 6)] |= 1L << index;
+                combined += h2;
+            }
+            count++;
+        }
+    }
+}
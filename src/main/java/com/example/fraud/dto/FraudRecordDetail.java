@@ -0,0 +1,51 @@
+package com.example.fraud.dto;
+
+import com.example.fraud.entity.FraudRecord;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Full view of a single fraud record returned by get_fraud_record.
+ * Serialized by {@link com.example.fraud.json.FraudRecordDetailSerializer}.
+ */
+public record FraudRecordDetail(
+        UUID id,
+        String userId,
+        String transactionId,
+        Double amount,
+        String currency,
+        String merchantName,
+        String fraudType,
+        String description,
+        String riskLevel,
+        LocalDateTime createdAt,
+        LocalDateTime detectedAt,
+        String ipAddress,
+        String location,
+        Boolean isVerified,
+        String additionalInfo) {
+    
+    /**
+     * Build a detail view from a loaded entity
+     */
+    public static FraudRecordDetail from(FraudRecord record) {
+        return new FraudRecordDetail(
+            record.getId(),
+            record.getUserId(),
+            record.getTransactionId(),
+            record.getAmount(),
+            record.getCurrency(),
+            record.getMerchantName(),
+            record.getFraudType(),
+            record.getDescription(),
+            record.getRiskLevel(),
+            record.getCreatedAt(),
+            record.getDetectedAt(),
+            record.getIpAddress(),
+            record.getLocation(),
+            record.getIsVerified(),
+            record.getAdditionalInfo()
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.fraud.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Result of the list-style MCP tools (get_user_fraud_records, get_recent_fraud_records)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FraudRecordListResponse(
+        @JsonProperty("success") boolean success,
+        @JsonProperty("user_id") String userId,
+        @JsonProperty("total_records") int totalRecords,
+        @JsonProperty("period") String period,
+        @JsonProperty("fraud_records") List<FraudRecordSummary> fraudRecords) implements ToolResponse {
+    
+    /**
+     * Records belonging to a single user
+     */
+    public static FraudRecordListResponse forUser(String userId, List<FraudRecordSummary> fraudRecords) {
+        return new FraudRecordListResponse(true, userId, fraudRecords.size(), null, fraudRecords);
+    }
+    
+    /**
+     * Records from a reporting period such as "Last 30 days"
+     */
+    public static FraudRecordListResponse forPeriod(String period, List<FraudRecordSummary> fraudRecords) {
+        return new FraudRecordListResponse(true, null, fraudRecords.size(), period, fraudRecords);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.fraud.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Result of get_fraud_record
+ */
+public record FraudRecordResponse(
+        @JsonProperty("success") boolean success,
+        @JsonProperty("fraud_record") FraudRecordDetail fraudRecord) implements ToolResponse {
+    
+    public static FraudRecordResponse of(FraudRecordDetail fraudRecord) {
+        return new FraudRecordResponse(true, fraudRecord);
+    }
+}
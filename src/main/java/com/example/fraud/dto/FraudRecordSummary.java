@@ -0,0 +1,41 @@
+package com.example.fraud.dto;
+
+import com.example.fraud.entity.FraudRecord;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Compact view of a fraud record returned by the list-style MCP tools.
+ * Serialized by {@link com.example.fraud.json.FraudRecordSummarySerializer}.
+ */
+public record FraudRecordSummary(
+        UUID id,
+        String userId,
+        String transactionId,
+        Double amount,
+        String currency,
+        String merchantName,
+        String fraudType,
+        String riskLevel,
+        LocalDateTime createdAt,
+        Boolean isVerified) {
+    
+    /**
+     * Build a summary from a loaded entity
+     */
+    public static FraudRecordSummary from(FraudRecord record) {
+        return new FraudRecordSummary(
+            record.getId(),
+            record.getUserId(),
+            record.getTransactionId(),
+            record.getAmount(),
+            record.getCurrency(),
+            record.getMerchantName(),
+            record.getFraudType(),
+            record.getRiskLevel(),
+            record.getCreatedAt(),
+            record.getIsVerified()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.fraud.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One full-text search match
+ *
+ * @param fraudRecord   the matching record
+ * @param score         BM25 relevance, higher is better
+ * @param snippet       matching text with the hits in [brackets]
+ */
+public record FraudSearchHit(
+        @JsonProperty("fraud_record") FraudRecordSummary fraudRecord,
+        @JsonProperty("score") double score,
+        @JsonProperty("snippet") String snippet) {
+}
@@ -0,0 +1,21 @@
+package com.example.fraud.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Result of search_fraud_records: one page of hits, best first
+ */
+public record FraudSearchResponse(
+        @JsonProperty("success") boolean success,
+        @JsonProperty("query") String query,
+        @JsonProperty("offset") int offset,
+        @JsonProperty("limit") int limit,
+        @JsonProperty("has_more") boolean hasMore,
+        @JsonProperty("hits") List<FraudSearchHit> hits) implements ToolResponse {
+    
+    public static FraudSearchResponse of(String query, int offset, int limit, boolean hasMore, List<FraudSearchHit> hits) {
+        return new FraudSearchResponse(true, query, offset, limit, hasMore, hits);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.fraud.dto;
+
+/**
+ * Common contract for typed MCP tool results
+ */
+public interface ToolResponse {
+    
+    /**
+     * Whether the tool call completed successfully
+     */
+    boolean success();
+}
@@ -56,7 +56,7 @@ public class FraudRecord {
     
     // Constructors
     public FraudRecord() {
-        this.id = UUID.randomUUID();
+        // The id is left to the generator: a preset one makes save() merge, which SELECTs the row first
         this.createdAt = LocalDateTime.now();
         this.isVerified = false;
     }
@@ -0,0 +1,10 @@
+package com.example.fraud.event;
+
+import com.example.fraud.entity.FraudRecord;
+
+/**
+ * Published by FraudService when a new record is saved; listeners use
+ * {@code @TransactionalEventListener} so they only see committed records
+ */
+public record FraudRecordCreatedEvent(FraudRecord record) {
+}
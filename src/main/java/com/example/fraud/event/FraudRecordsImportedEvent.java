@@ -0,0 +1,8 @@
+package com.example.fraud.event;
+
+/**
+ * Published after a bulk import, which writes rows without going through FraudService,
+ * so that in-memory indexes can rescan the table
+ */
+public record FraudRecordsImportedEvent(long records) {
+}
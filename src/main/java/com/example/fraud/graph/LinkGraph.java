@@ -0,0 +1,333 @@
+package com.example.fraud.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory link graph between users and the attributes their fraud records carry (IP address,
+ * merchant, location). Every distinct value is interned to an int node id; adjacency lists are
+ * int arrays, edges are deduplicated in a primitive long set, and a union-find over the ring link
+ * types keeps connected components current as records are added. Records are only ever added.
+ */
+public class LinkGraph {
+    
+    public enum NodeType { USER, IP, MERCHANT, LOCATION }
+    
+    private static final NodeType[] NODE_TYPES = NodeType.values();
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    private final Set<NodeType> ringLinkTypes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final LongHashSet edges = new LongHashSet();
+    private final int[] nodesByType = new int[NODE_TYPES.length];
+    
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private String[] values = new String[INITIAL_CAPACITY];
+    private int[][] adjacency = new int[INITIAL_CAPACITY][];
+    private int[] degree = new int[INITIAL_CAPACITY];
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private int[] componentNodes = new int[INITIAL_CAPACITY];
+    private int[] componentUsers = new int[INITIAL_CAPACITY];
+    private int nodeCount;
+    
+    /**
+     * @param ringLinkTypes attribute types that join users into the same component
+     */
+    public LinkGraph(Set<NodeType> ringLinkTypes) {
+        this.ringLinkTypes = ringLinkTypes;
+    }
+    
+    /**
+     * Add the links carried by one fraud record; null or blank attributes are skipped
+     */
+    public void addRecord(String userId, String ipAddress, String merchantName, String location) {
+        if (userId == null || userId.isBlank()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int user = intern(NodeType.USER, userId);
+            link(user, NodeType.IP, ipAddress);
+            link(user, NodeType.MERCHANT, merchantName);
+            link(user, NodeType.LOCATION, location);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Users sharing at least one attribute of the given types with the user, most shared attributes
+     * first. Attributes with more than hubDegree users (a large merchant, a city) are not followed
+     * and are returned as hubs instead.
+     */
+    public LinkedAccounts linkedAccounts(String userId, Set<NodeType> via, int hubDegree, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer user = ids.get(key(NodeType.USER, userId));
+            if (user == null) {
+                return new LinkedAccounts(List.of(), List.of(), 0);
+            }
+            Map<Integer, List<Node>> shared = new LinkedHashMap<>();
+            List<Node> hubs = new ArrayList<>();
+            for (int i = 0; i < degree[user]; i++) {
+                int attribute = adjacency[user][i];
+                if (!via.contains(type(attribute))) {
+                    continue;
+                }
+                if (degree[attribute] > hubDegree) {
+                    hubs.add(node(attribute));
+                    continue;
+                }
+                for (int j = 0; j < degree[attribute]; j++) {
+                    int other = adjacency[attribute][j];
+                    if (other != user) {
+                        shared.computeIfAbsent(other, k -> new ArrayList<>()).add(node(attribute));
+                    }
+                }
+            }
+            List<LinkedAccount> accounts = shared.entrySet().stream()
+                .map(entry -> new LinkedAccount(values[entry.getKey()], entry.getValue()))
+                .sorted(Comparator.comparingInt((LinkedAccount account) -> account.sharedAttributes().size()).reversed())
+                .limit(limit)
+                .toList();
+            return new LinkedAccounts(accounts, hubs, componentUsers[find(user)]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Connected components with at least minUsers users, largest first
+     */
+    public List<Ring> rings(int minUsers, int limit, int memberLimit) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, List<Integer>> members = new HashMap<>();
+            for (int node = 0; node < nodeCount; node++) {
+                int root = find(node);
+                if (componentUsers[root] >= minUsers) {
+                    members.computeIfAbsent(root, k -> new ArrayList<>()).add(node);
+                }
+            }
+            return members.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<Integer, List<Integer>> entry) -> componentUsers[entry.getKey()]).reversed())
+                .limit(limit)
+                .map(entry -> ring(entry.getValue(), componentUsers[entry.getKey()], memberLimit))
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Nodes within the given number of hops of a node, breadth first. Hubs are included but not
+     * expanded, and the walk stops after maxNodes nodes.
+     */
+    public Neighborhood neighborhood(NodeType type, String value, int hops, int hubDegree, int maxNodes) {
+        lock.readLock().lock();
+        try {
+            Integer origin = ids.get(key(type, value));
+            if (origin == null) {
+                return new Neighborhood(List.of(), false);
+            }
+            Map<Integer, Integer> distance = new LinkedHashMap<>();
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            distance.put(origin, 0);
+            queue.add(origin);
+            boolean truncated = false;
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                int hop = distance.get(node);
+                if (hop == hops || (node != origin && degree[node] > hubDegree)) {
+                    continue;
+                }
+                for (int i = 0; i < degree[node]; i++) {
+                    int next = adjacency[node][i];
+                    if (distance.containsKey(next)) {
+                        continue;
+                    }
+                    if (distance.size() >= maxNodes) {
+                        truncated = true;
+                        queue.clear();
+                        break;
+                    }
+                    distance.put(next, hop + 1);
+                    queue.add(next);
+                }
+            }
+            List<NeighborhoodNode> nodes = distance.entrySet().stream()
+                .map(entry -> new NeighborhoodNode(type(entry.getKey()), values[entry.getKey()], entry.getValue(),
+                    degree[entry.getKey()], entry.getKey() != origin.intValue() && degree[entry.getKey()] > hubDegree))
+                .toList();
+            return new Neighborhood(nodes, truncated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Node counts by type and the number of distinct links
+     */
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            Map<NodeType, Integer> counts = new EnumMap<>(NodeType.class);
+            for (NodeType type : NODE_TYPES) {
+                counts.put(type, nodesByType[type.ordinal()]);
+            }
+            return new Stats(counts, edges.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void link(int user, NodeType type, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        int attribute = intern(type, value);
+        if (!edges.add(((long) user << 32) | attribute)) {
+            return;
+        }
+        append(user, attribute);
+        append(attribute, user);
+        if (ringLinkTypes.contains(type)) {
+            union(user, attribute);
+        }
+    }
+    
+    private int intern(NodeType type, String value) {
+        String key = key(type, value);
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        int node = nodeCount++;
+        ensureCapacity(nodeCount);
+        types[node] = (byte) type.ordinal();
+        values[node] = value;
+        adjacency[node] = new int[2];
+        parent[node] = node;
+        componentNodes[node] = 1;
+        componentUsers[node] = type == NodeType.USER ? 1 : 0;
+        nodesByType[type.ordinal()]++;
+        ids.put(key, node);
+        return node;
+    }
+    
+    private void append(int node, int neighbor) {
+        if (degree[node] == adjacency[node].length) {
+            adjacency[node] = Arrays.copyOf(adjacency[node], adjacency[node].length * 2);
+        }
+        adjacency[node][degree[node]++] = neighbor;
+    }
+    
+    /**
+     * Root lookup without path compression, so it is safe under the read lock; union by size keeps trees shallow
+     */
+    private int find(int node) {
+        while (parent[node] != node) {
+            node = parent[node];
+        }
+        return node;
+    }
+    
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (componentNodes[rootA] < componentNodes[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        componentNodes[rootA] += componentNodes[rootB];
+        componentUsers[rootA] += componentUsers[rootB];
+    }
+    
+    private Ring ring(List<Integer> members, int users, int memberLimit) {
+        List<String> userIds = new ArrayList<>();
+        List<Node> links = new ArrayList<>();
+        for (int node : members) {
+            if (type(node) == NodeType.USER) {
+                if (userIds.size() < memberLimit) {
+                    userIds.add(values[node]);
+                }
+            } else if (links.size() < memberLimit) {
+                links.add(node(node));
+            }
+        }
+        return new Ring(users, userIds, links);
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int size = Math.max(capacity, types.length * 2);
+        types = Arrays.copyOf(types, size);
+        values = Arrays.copyOf(values, size);
+        adjacency = Arrays.copyOf(adjacency, size);
+        degree = Arrays.copyOf(degree, size);
+        parent = Arrays.copyOf(parent, size);
+        componentNodes = Arrays.copyOf(componentNodes, size);
+        componentUsers = Arrays.copyOf(componentUsers, size);
+    }
+    
+    private NodeType type(int node) {
+        return NODE_TYPES[types[node]];
+    }
+    
+    private Node node(int node) {
+        return new Node(type(node), values[node]);
+    }
+    
+    private static String key(NodeType type, String value) {
+        return type.ordinal() + ":" + value;
+    }
+    
+    public record Node(NodeType type, String value) {
+    }
+    
+    public record LinkedAccount(String userId, List<Node> sharedAttributes) {
+    }
+    
+    /**
+     * @param accounts       linked users, most shared attributes first
+     * @param hubs           shared attributes too common to follow
+     * @param componentUsers users in the same component over the ring link types, including this one
+     */
+    public record LinkedAccounts(List<LinkedAccount> accounts, List<Node> hubs, int componentUsers) {
+    }
+    
+    /**
+     * @param users   total users in the component
+     * @param userIds users, up to the member limit
+     * @param links   attributes joining them, up to the member limit
+     */
+    public record Ring(int users, List<String> userIds, List<Node> links) {
+    }
+    
+    public record NeighborhoodNode(NodeType type, String value, int hops, int degree, boolean hub) {
+    }
+    
+    public record Neighborhood(List<NeighborhoodNode> nodes, boolean truncated) {
+    }
+    
+    public record Stats(Map<NodeType, Integer> nodes, int links) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.fraud.graph;
+
+/**
+ * Open-addressing set of non-zero longs, used to deduplicate graph edges without boxing
+ */
+final class LongHashSet {
+    
+    private long[] slots = new long[1024];
+    private int size;
+    
+    /**
+     * Add a non-zero key, returning false if it was already present
+     */
+    boolean add(long key) {
+        if ((size + 1) * 4L > slots.length * 3L) {
+            grow();
+        }
+        int mask = slots.length - 1;
+        int slot = mix(key) & mask;
+        while (slots[slot] != 0) {
+            if (slots[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = key;
+        size++;
+        return true;
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    private void grow() {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        int mask = slots.length - 1;
+        for (long key : old) {
+            if (key != 0) {
+                int slot = mix(key) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = key;
+            }
+        }
+    }
+    
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.fraud.ip;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+
+/**
+ * An IPv4 or IPv6 address as a 128-bit value in two longs. IPv4 addresses are stored IPv4-mapped
+ * (::ffff:a.b.c.d), so both families share one key space and one trie.
+ */
+public record IpAddress(long high, long low) {
+    
+    public static final int BITS = 128;
+    
+    /**
+     * Prefix length of the IPv4-mapped range ::ffff:0:0/96
+     */
+    public static final int IPV4_OFFSET = 96;
+    
+    private static final long IPV4_MAPPED_MARKER = 0xFFFFL;
+    
+    /**
+     * Parse a dotted IPv4 or an IPv6 literal; host names are rejected, never resolved
+     */
+    public static IpAddress parse(String text) {
+        IpAddress address = tryParse(text);
+        if (address == null) {
+            throw new IllegalArgumentException("Invalid IP address: " + text);
+        }
+        return address;
+    }
+    
+    /**
+     * Like {@link #parse} but returns null for anything that is not an IP address
+     */
+    public static IpAddress tryParse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.trim();
+        if (value.isEmpty()) {
+            return null;
+        }
+        if (value.indexOf(':') < 0) {
+            return parseIpv4(value);
+        }
+        if (value.startsWith("[") && value.endsWith("]")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            // Literals containing ':' are parsed as IPv6 and fail without a DNS lookup
+            byte[] bytes = InetAddress.getByName(value).getAddress();
+            return bytes.length == 4 ? ipv4(ByteBuffer.wrap(bytes).getInt()) : of(bytes);
+        } catch (UnknownHostException | SecurityException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * An IPv4 address given as a 32-bit int
+     */
+    public static IpAddress ipv4(int address) {
+        return new IpAddress(0L, (IPV4_MAPPED_MARKER << 32) | (address & 0xFFFFFFFFL));
+    }
+    
+    static IpAddress of(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new IpAddress(buffer.getLong(), buffer.getLong());
+    }
+    
+    public boolean isIpv4() {
+        return high == 0L && (low >>> 32) == IPV4_MAPPED_MARKER;
+    }
+    
+    /**
+     * Bit at position index, counting from the most significant bit
+     */
+    public int bit(int index) {
+        return index < 64
+            ? (int) (high >>> (63 - index)) & 1
+            : (int) (low >>> (127 - index)) & 1;
+    }
+    
+    /**
+     * This address with every bit after the first length bits cleared
+     */
+    public IpAddress mask(int length) {
+        if (length >= BITS) {
+            return this;
+        }
+        if (length <= 0) {
+            return new IpAddress(0L, 0L);
+        }
+        if (length <= 64) {
+            return new IpAddress(high & (-1L << (64 - length)), 0L);
+        }
+        return new IpAddress(high, low & (-1L << (128 - length)));
+    }
+    
+    /**
+     * Number of leading bits shared with other, at most limit
+     */
+    public int commonPrefixLength(IpAddress other, int limit) {
+        long highDiff = high ^ other.high;
+        int common = highDiff != 0
+            ? Long.numberOfLeadingZeros(highDiff)
+            : 64 + Long.numberOfLeadingZeros(low ^ other.low);
+        return Math.min(common, limit);
+    }
+    
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+    }
+    
+    @Override
+    public String toString() {
+        if (isIpv4()) {
+            int address = (int) low;
+            return ((address >>> 24) & 0xFF) + "." + ((address >>> 16) & 0xFF) + "."
+                + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+        }
+        StringBuilder text = new StringBuilder(39);
+        for (int group = 0; group < 8; group++) {
+            long word = group < 4 ? high : low;
+            int shift = 48 - 16 * (group % 4);
+            if (group > 0) {
+                text.append(':');
+            }
+            text.append(Integer.toHexString((int) (word >>> shift) & 0xFFFF));
+        }
+        return text.toString();
+    }
+    
+    private static IpAddress parseIpv4(String value) {
+        int address = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            char c = i < value.length() ? value.charAt(i) : '.';
+            if (c == '.') {
+                if (octet < 0 || ++octets > 4) {
+                    return null;
+                }
+                address = (address << 8) | octet;
+                octet = -1;
+            } else if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return null;
+                }
+            } else {
+                return null;
+            }
+        }
+        return octets == 4 ? ipv4(address) : null;
+    }
+}
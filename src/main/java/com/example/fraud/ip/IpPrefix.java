@@ -0,0 +1,70 @@
+package com.example.fraud.ip;
+
+/**
+ * A CIDR block. The length counts bits of the 128-bit key, so an IPv4 /24 has length 120.
+ */
+public record IpPrefix(IpAddress network, int length) {
+    
+    /**
+     * Every IPv4 address
+     */
+    public static final IpPrefix IPV4 = new IpPrefix(IpAddress.ipv4(0), IpAddress.IPV4_OFFSET);
+    
+    public IpPrefix {
+        if (length < 0 || length > IpAddress.BITS) {
+            throw new IllegalArgumentException("Prefix length out of range: " + length);
+        }
+        network = network.mask(length);
+    }
+    
+    /**
+     * Parse "203.0.113.0/24", "2001:db8::/32" or a bare address (a /32 or /128)
+     */
+    public static IpPrefix parse(String cidr) {
+        if (cidr == null || cidr.isBlank()) {
+            throw new IllegalArgumentException("CIDR range is required");
+        }
+        int slash = cidr.indexOf('/');
+        IpAddress address = IpAddress.parse(slash < 0 ? cidr : cidr.substring(0, slash));
+        int maxLength = address.isIpv4() ? IpAddress.BITS - IpAddress.IPV4_OFFSET : IpAddress.BITS;
+        int length = maxLength;
+        if (slash >= 0) {
+            try {
+                length = Integer.parseInt(cidr.substring(slash + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid prefix length in " + cidr);
+            }
+            if (length < 0 || length > maxLength) {
+                throw new IllegalArgumentException("Prefix length must be between 0 and " + maxLength + " in " + cidr);
+            }
+        }
+        return of(address, length);
+    }
+    
+    /**
+     * The block of the given family-relative length (0-32 for IPv4, 0-128 for IPv6) around address
+     */
+    public static IpPrefix of(IpAddress address, int familyLength) {
+        return new IpPrefix(address, address.isIpv4() ? familyLength + IpAddress.IPV4_OFFSET : familyLength);
+    }
+    
+    public boolean isIpv4() {
+        return length >= IpAddress.IPV4_OFFSET && network.isIpv4();
+    }
+    
+    /**
+     * Prefix length as written for the family, e.g. 24 for an IPv4 /24
+     */
+    public int familyLength() {
+        return isIpv4() ? length - IpAddress.IPV4_OFFSET : length;
+    }
+    
+    public boolean contains(IpAddress address) {
+        return address.commonPrefixLength(network, length) == length;
+    }
+    
+    @Override
+    public String toString() {
+        return network + "/" + familyLength();
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.fraud.ip;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Path-compressed binary (Patricia) trie over 128-bit IP keys. Every node keeps the number of
+ * records below it, so all-time counts for any prefix are one descent; leaves (single addresses)
+ * also keep per-day counts for the retention window, which range and top-subnet queries sum over
+ * the subtree they cover. There are at most two nodes per distinct address.
+ */
+public class IpPrefixTrie {
+    
+    private static final Comparator<AddressCount> BY_WINDOW =
+        Comparator.comparingLong(AddressCount::window).thenComparingLong(AddressCount::total);
+    
+    private final int retentionDays;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private Node root;
+    private int addresses;
+    private int nodes;
+    private long records;
+    
+    /**
+     * @param retentionDays how many days of per-day counts each address keeps
+     */
+    public IpPrefixTrie(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+    
+    /**
+     * Count one record from address, detected on the given epoch day
+     *
+     * @param spelling the address as stored on the record, kept so records can be looked up again
+     */
+    public void add(IpAddress address, String spelling, long day, long today) {
+        lock.writeLock().lock();
+        try {
+            records++;
+            if (root == null) {
+                root = newLeaf(address);
+            }
+            Node parent = null;
+            Node node = root;
+            while (true) {
+                int common = address.commonPrefixLength(node.prefix, node.length);
+                if (common < node.length) {
+                    // Diverges inside this node's prefix: split it
+                    Node split = new Node(address.mask(common), common);
+                    Node leaf = newLeaf(address);
+                    split.child[address.bit(common)] = leaf;
+                    split.child[1 - address.bit(common)] = node;
+                    split.total = node.total + 1;
+                    nodes++;
+                    if (parent == null) {
+                        root = split;
+                    } else {
+                        parent.child[node.prefix.bit(parent.length)] = split;
+                    }
+                    node = leaf;
+                    node.total++;
+                    node.record(spelling, day, today - retentionDays + 1);
+                    return;
+                }
+                node.total++;
+                if (node.length == IpAddress.BITS) {
+                    node.record(spelling, day, today - retentionDays + 1);
+                    return;
+                }
+                parent = node;
+                node = node.child[address.bit(node.length)];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Counts for one CIDR block, with its busiest addresses
+     *
+     * @param fromDay      first epoch day of the window for windowed counts
+     * @param maxAddresses addresses listed, busiest in the window first
+     */
+    public Range range(IpPrefix prefix, long fromDay, int maxAddresses) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            while (node != null && node.length < prefix.length()) {
+                if (prefix.network().commonPrefixLength(node.prefix, node.length) < node.length) {
+                    node = null;
+                } else {
+                    node = node.child[prefix.network().bit(node.length)];
+                }
+            }
+            if (node == null || prefix.network().commonPrefixLength(node.prefix, prefix.length()) < prefix.length()) {
+                return new Range(prefix, 0, 0, 0, List.of());
+            }
+            PriorityQueue<AddressCount> busiest = new PriorityQueue<>(BY_WINDOW);
+            long window = 0;
+            int distinct = 0;
+            for (Node leaf : leaves(node)) {
+                AddressCount count = leaf.count(fromDay);
+                window += count.window();
+                distinct++;
+                busiest.add(count);
+                if (busiest.size() > maxAddresses) {
+                    busiest.poll();
+                }
+            }
+            List<AddressCount> listed = new ArrayList<>(busiest);
+            listed.sort(BY_WINDOW.reversed());
+            return new Range(prefix, node.total, window, distinct, listed);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Blocks of the given length inside within, most records in the window first.
+     * Blocks with no records in the window are left out.
+     *
+     * @param length   prefix length in key bits (an IPv4 /16 is 112)
+     * @param excluded a block to leave out, e.g. the IPv4 range when ranking IPv6 subnets; may be null
+     */
+    public List<Subnet> topSubnets(IpPrefix within, IpPrefix excluded, int length, long fromDay, int limit) {
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Subnet> top = new PriorityQueue<>(Comparator.comparingLong(Subnet::window));
+            ArrayDeque<Node> stack = new ArrayDeque<>();
+            if (root != null) {
+                stack.push(root);
+            }
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int checked = Math.min(node.length, within.length());
+                if (node.prefix.commonPrefixLength(within.network(), checked) < checked) {
+                    continue;
+                }
+                if (excluded != null && node.length >= excluded.length() && excluded.contains(node.prefix)) {
+                    continue;
+                }
+                if (node.length < length || node.length < within.length()) {
+                    for (Node child : node.child) {
+                        if (child != null) {
+                            stack.push(child);
+                        }
+                    }
+                    continue;
+                }
+                // Every address sharing this node's first length bits is below it
+                long window = 0;
+                int distinct = 0;
+                for (Node leaf : leaves(node)) {
+                    if (excluded != null && excluded.contains(leaf.prefix)) {
+                        continue;
+                    }
+                    window += leaf.window(fromDay);
+                    distinct++;
+                }
+                if (window == 0) {
+                    continue;
+                }
+                top.add(new Subnet(new IpPrefix(node.prefix, length), window, node.total, distinct));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Subnet> result = new ArrayList<>(top);
+            result.sort(Comparator.comparingLong(Subnet::window).reversed());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            return new Stats(records, addresses, nodes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Node newLeaf(IpAddress address) {
+        addresses++;
+        nodes++;
+        return new Node(address, IpAddress.BITS);
+    }
+    
+    private static List<Node> leaves(Node node) {
+        List<Node> leaves = new ArrayList<>();
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node next = stack.pop();
+            if (next.length == IpAddress.BITS) {
+                leaves.add(next);
+                continue;
+            }
+            for (Node child : next.child) {
+                if (child != null) {
+                    stack.push(child);
+                }
+            }
+        }
+        return leaves;
+    }
+    
+    private static final class Node {
+        
+        private static final String[] NO_SPELLINGS = new String[0];
+        private static final int[] NO_DAYS = new int[0];
+        
+        final IpAddress prefix;
+        final int length;
+        final Node[] child = new Node[2];
+        long total;
+        
+        // Leaves only: distinct spellings of the address, and sorted (epoch day, count) pairs
+        String[] spellings = NO_SPELLINGS;
+        int[] days = NO_DAYS;
+        int[] dayCounts = NO_DAYS;
+        int dayEntries;
+        
+        Node(IpAddress prefix, int length) {
+            this.prefix = prefix;
+            this.length = length;
+        }
+        
+        void record(String spelling, long day, long oldestDay) {
+            if (spelling != null && !Arrays.asList(spellings).contains(spelling)) {
+                spellings = Arrays.copyOf(spellings, spellings.length + 1);
+                spellings[spellings.length - 1] = spelling;
+            }
+            prune(oldestDay);
+            if (day < oldestDay) {
+                return;
+            }
+            int index = Arrays.binarySearch(days, 0, dayEntries, (int) day);
+            if (index >= 0) {
+                dayCounts[index]++;
+                return;
+            }
+            int insert = -index - 1;
+            if (dayEntries == days.length) {
+                days = Arrays.copyOf(days, Math.max(2, dayEntries * 2));
+                dayCounts = Arrays.copyOf(dayCounts, days.length);
+            }
+            System.arraycopy(days, insert, days, insert + 1, dayEntries - insert);
+            System.arraycopy(dayCounts, insert, dayCounts, insert + 1, dayEntries - insert);
+            days[insert] = (int) day;
+            dayCounts[insert] = 1;
+            dayEntries++;
+        }
+        
+        long window(long fromDay) {
+            long count = 0;
+            for (int i = dayEntries - 1; i >= 0 && days[i] >= fromDay; i--) {
+                count += dayCounts[i];
+            }
+            return count;
+        }
+        
+        AddressCount count(long fromDay) {
+            return new AddressCount(prefix.toString(), List.of(spellings), total, window(fromDay),
+                dayEntries > 0 ? days[dayEntries - 1] : null);
+        }
+        
+        private void prune(long oldestDay) {
+            int expired = 0;
+            while (expired < dayEntries && days[expired] < oldestDay) {
+                expired++;
+            }
+            if (expired > 0) {
+                System.arraycopy(days, expired, days, 0, dayEntries - expired);
+                System.arraycopy(dayCounts, expired, dayCounts, 0, dayEntries - expired);
+                dayEntries -= expired;
+            }
+        }
+    }
+    
+    /**
+     * @param address   canonical form of the address
+     * @param spellings the address as written on its records
+     * @param lastDay   epoch day of the latest record within retention, or null
+     */
+    public record AddressCount(String address, List<String> spellings, long total, long window, Integer lastDay) {
+    }
+    
+    /**
+     * @param total     records in the block, all time
+     * @param window    records in the block since the window's first day
+     * @param addresses distinct addresses in the block
+     * @param busiest   busiest addresses, up to the requested number
+     */
+    public record Range(IpPrefix prefix, long total, long window, int addresses, List<AddressCount> busiest) {
+    }
+    
+    public record Subnet(IpPrefix prefix, long window, long total, int addresses) {
+    }
+    
+    public record Stats(long records, int addresses, int nodes) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.fraud.json;
+
+import com.example.fraud.dto.FraudRecordDetail;
+import com.example.fraud.dto.FraudRecordSummary;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Jackson module registering the pre-built fraud record serializers
+ */
+public class FraudJsonModule extends SimpleModule {
+    
+    public FraudJsonModule() {
+        super("FraudJsonModule");
+        addSerializer(FraudRecordSummary.class, new FraudRecordSummarySerializer());
+        addSerializer(FraudRecordDetail.class, new FraudRecordDetailSerializer());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.fraud.json;
+
+import com.example.fraud.dto.FraudRecordDetail;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import static com.example.fraud.json.FraudRecordSummarySerializer.*;
+
+/**
+ * Hand-written serializer for {@link FraudRecordDetail}
+ */
+public class FraudRecordDetailSerializer extends StdSerializer<FraudRecordDetail> {
+    
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString DETECTED_AT = new SerializedString("detected_at");
+    private static final SerializedString IP_ADDRESS = new SerializedString("ip_address");
+    private static final SerializedString LOCATION = new SerializedString("location");
+    private static final SerializedString ADDITIONAL_INFO = new SerializedString("additional_info");
+    
+    public FraudRecordDetailSerializer() {
+        super(FraudRecordDetail.class);
+    }
+    
+    @Override
+    public void serialize(FraudRecordDetail record, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(record);
+        gen.writeFieldName(ID);
+        gen.writeString(record.id() != null ? record.id().toString() : null);
+        writeString(gen, USER_ID, record.userId());
+        writeString(gen, TRANSACTION_ID, record.transactionId());
+        writeNumber(gen, AMOUNT, record.amount());
+        writeString(gen, CURRENCY, record.currency());
+        writeString(gen, MERCHANT_NAME, record.merchantName());
+        writeString(gen, FRAUD_TYPE, record.fraudType());
+        writeString(gen, DESCRIPTION, record.description());
+        writeString(gen, RISK_LEVEL, record.riskLevel());
+        gen.writeFieldName(CREATED_AT);
+        IsoTimestamps.write(gen, record.createdAt());
+        gen.writeFieldName(DETECTED_AT);
+        IsoTimestamps.write(gen, record.detectedAt());
+        writeString(gen, IP_ADDRESS, record.ipAddress());
+        writeString(gen, LOCATION, record.location());
+        writeBoolean(gen, IS_VERIFIED, record.isVerified());
+        writeString(gen, ADDITIONAL_INFO, record.additionalInfo());
+        gen.writeEndObject();
+    }
+}
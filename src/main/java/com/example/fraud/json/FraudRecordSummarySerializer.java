@@ -0,0 +1,72 @@
+package com.example.fraud.json;
+
+import com.example.fraud.dto.FraudRecordSummary;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Hand-written serializer for {@link FraudRecordSummary}.
+ * Field names are pre-encoded once, and rows are streamed field by field.
+ */
+public class FraudRecordSummarySerializer extends StdSerializer<FraudRecordSummary> {
+    
+    static final SerializedString ID = new SerializedString("id");
+    static final SerializedString USER_ID = new SerializedString("user_id");
+    static final SerializedString TRANSACTION_ID = new SerializedString("transaction_id");
+    static final SerializedString AMOUNT = new SerializedString("amount");
+    static final SerializedString CURRENCY = new SerializedString("currency");
+    static final SerializedString MERCHANT_NAME = new SerializedString("merchant_name");
+    static final SerializedString FRAUD_TYPE = new SerializedString("fraud_type");
+    static final SerializedString RISK_LEVEL = new SerializedString("risk_level");
+    static final SerializedString CREATED_AT = new SerializedString("created_at");
+    static final SerializedString IS_VERIFIED = new SerializedString("is_verified");
+    
+    public FraudRecordSummarySerializer() {
+        super(FraudRecordSummary.class);
+    }
+    
+    @Override
+    public void serialize(FraudRecordSummary record, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(record);
+        gen.writeFieldName(ID);
+        gen.writeString(record.id() != null ? record.id().toString() : null);
+        writeString(gen, USER_ID, record.userId());
+        writeString(gen, TRANSACTION_ID, record.transactionId());
+        writeNumber(gen, AMOUNT, record.amount());
+        writeString(gen, CURRENCY, record.currency());
+        writeString(gen, MERCHANT_NAME, record.merchantName());
+        writeString(gen, FRAUD_TYPE, record.fraudType());
+        writeString(gen, RISK_LEVEL, record.riskLevel());
+        gen.writeFieldName(CREATED_AT);
+        IsoTimestamps.write(gen, record.createdAt());
+        writeBoolean(gen, IS_VERIFIED, record.isVerified());
+        gen.writeEndObject();
+    }
+    
+    static void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+    
+    static void writeNumber(JsonGenerator gen, SerializedString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+    
+    static void writeBoolean(JsonGenerator gen, SerializedString name, Boolean value) throws IOException {
+        gen.writeFieldName(name);
+        if (value != null) {
+            gen.writeBoolean(value);
+        } else {
+            gen.writeNull();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.fraud.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link LocalDateTime} values in {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} form
+ * straight into a {@link JsonGenerator}, without going through the formatter or an
+ * intermediate String.
+ */
+public final class IsoTimestamps {
+    
+    private static final int MAX_LENGTH = 29; // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+    
+    private IsoTimestamps() {
+    }
+    
+    /**
+     * Write the timestamp as a JSON string value, or null
+     */
+    public static void write(JsonGenerator gen, LocalDateTime value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            // Signed / expanded years are rare enough to leave to the formatter
+            gen.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            return;
+        }
+        char[] buf = new char[MAX_LENGTH];
+        int len = format(value, buf);
+        gen.writeString(buf, 0, len);
+    }
+    
+    /**
+     * Format into the buffer and return the number of chars written
+     */
+    static int format(LocalDateTime value, char[] buf) {
+        int pos = 0;
+        int year = value.getYear();
+        buf[pos++] = (char) ('0' + year / 1000);
+        buf[pos++] = (char) ('0' + year / 100 % 10);
+        buf[pos++] = (char) ('0' + year / 10 % 10);
+        buf[pos++] = (char) ('0' + year % 10);
+        buf[pos++] = '-';
+        pos = twoDigits(value.getMonthValue(), buf, pos);
+        buf[pos++] = '-';
+        pos = twoDigits(value.getDayOfMonth(), buf, pos);
+        buf[pos++] = 'T';
+        pos = twoDigits(value.getHour(), buf, pos);
+        buf[pos++] = ':';
+        pos = twoDigits(value.getMinute(), buf, pos);
+        buf[pos++] = ':';
+        pos = twoDigits(value.getSecond(), buf, pos);
+        
+        int nano = value.getNano();
+        if (nano != 0) {
+            // Same as appendFraction(NANO_OF_SECOND, 0, 9, true): strip trailing zeros
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buf[pos++] = '.';
+            for (int i = pos + digits - 1; i >= pos; i--) {
+                buf[i] = (char) ('0' + nano % 10);
+                nano /= 10;
+            }
+            pos += digits;
+        }
+        return pos;
+    }
+    
+    private static int twoDigits(int value, char[] buf, int pos) {
+        buf[pos] = (char) ('0' + value / 10);
+        buf[pos + 1] = (char) ('0' + value % 10);
+        return pos + 2;
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.fraud.mcp;
+
+import com.example.fraud.ai.AiUsageTracker;
+import com.example.fraud.bulk.FraudRecordBulkTransfer;
+import com.example.fraud.config.BulkTransferProperties;
+import com.example.fraud.event.FraudRecordsImportedEvent;
+import com.example.fraud.observability.McpToolInstrumentation;
+import com.example.fraud.replica.ReplicaLagMonitor;
+import com.example.fraud.repository.FraudPartition;
+import com.example.fraud.repository.FraudPartitionCatalog;
+import com.example.fraud.service.TransactionIdFilterService;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolFunction;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AdminMcpTools {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdminMcpTools.class);
+    
+    private final DataSource dataSource;
+    private final FraudPartitionCatalog partitionCatalog;
+    private final BulkTransferProperties bulkProperties;
+    private final McpToolInstrumentation toolInstrumentation;
+    private final AiUsageTracker aiUsageTracker;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionIdFilterService transactionIdFilter;
+    
+    public AdminMcpTools(DataSource dataSource, FraudPartitionCatalog partitionCatalog,
+                         BulkTransferProperties bulkProperties, McpToolInstrumentation toolInstrumentation,
+                         AiUsageTracker aiUsageTracker, ObjectProvider<ReplicaLagMonitor> replicaLagMonitor,
+                         ApplicationEventPublisher eventPublisher, TransactionIdFilterService transactionIdFilter) {
+        this.dataSource = dataSource;
+        this.partitionCatalog = partitionCatalog;
+        this.bulkProperties = bulkProperties;
+        this.toolInstrumentation = toolInstrumentation;
+        this.aiUsageTracker = aiUsageTracker;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.eventPublisher = eventPublisher;
+        this.transactionIdFilter = transactionIdFilter;
+    }
+    
+    /**
+     * Admin MCP Tool to bulk import fraud records from a columnar batch file
+     */
+    @McpTool(name = "bulk_import_fraud_records", description = "Bulk import fraud records from a .frcb file")
+    public McpToolFunction bulkImportFraudRecords() {
+        return McpToolFunction.builder()
+            .name("bulk_import_fraud_records")
+            .description("Admin: load fraud records from a columnar .frcb file in the bulk directory, bypassing per-record processing")
+            .parameters(Map.of(
+                "file", Map.of("type", "string", "description", "File name inside the configured bulk directory")
+            ))
+            .function(args -> {
+                AtomicLong written = new AtomicLong();
+                try {
+                    Path file = resolveBulkFile((String) args.get("file"));
+                    logger.info("Bulk importing fraud records from {}", file);
+                    
+                    FraudRecordBulkTransfer.TransferResult result;
+                    try (Connection connection = dataSource.getConnection()) {
+                        result = new FraudRecordBulkTransfer(bulkProperties.chunkSize())
+                            .importFrom(connection, file, written::addAndGet);
+                    }
+                    return transferResponse(result, "Bulk import completed");
+                    
+                } catch (Exception e) {
+                    logger.error("Error bulk importing fraud records: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "rows_written", written.get(),
+                        "message", "Failed to bulk import fraud records"
+                    );
+                } finally {
+                    // Imported rows bypass FraudService, so in-memory indexes rescan the table; chunks
+                    // committed before a failure stay in it and must be picked up too
+                    if (written.get() > 0) {
+                        eventPublisher.publishEvent(new FraudRecordsImportedEvent(written.get()));
+                    }
+                }
+            })
+            .build();
+    }
+    
+    /**
+     * Admin MCP Tool to bulk export fraud records to a columnar batch file
+     */
+    @McpTool(name = "bulk_export_fraud_records", description = "Bulk export all fraud records to a .frcb file")
+    public McpToolFunction bulkExportFraudRecords() {
+        return McpToolFunction.builder()
+            .name("bulk_export_fraud_records")
+            .description("Admin: write all hot and cold fraud records to a columnar .frcb file in the bulk directory")
+            .parameters(Map.of(
+                "file", Map.of("type", "string", "description", "File name inside the configured bulk directory")
+            ))
+            .function(args -> {
+                try {
+                    Path file = resolveBulkFile((String) args.get("file"));
+                    Files.createDirectories(file.getParent());
+                    logger.info("Bulk exporting fraud records to {}", file);
+                    
+                    List<Path> coldPartitions = partitionCatalog.all().stream()
+                        .map(FraudPartition::fileName)
+                        .map(partitionCatalog::resolve)
+                        .toList();
+                    
+                    FraudRecordBulkTransfer.TransferResult result;
+                    try (Connection connection = dataSource.getConnection()) {
+                        result = new FraudRecordBulkTransfer(bulkProperties.chunkSize())
+                            .exportTo(connection, file, coldPartitions);
+                    }
+                    return transferResponse(result, "Bulk export completed");
+                    
+                } catch (Exception e) {
+                    logger.error("Error bulk exporting fraud records: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to bulk export fraud records"
+                    );
+                }
+            })
+            .build();
+    }
+    
+    /**
+     * Admin MCP Tool to report per-tool latency, throughput and error metrics
+     */
+    @McpTool(name = "get_server_metrics", description = "Get per-tool latency, throughput and error metrics")
+    public McpToolFunction getServerMetrics() {
+        return McpToolFunction.builder()
+            .name("get_server_metrics")
+            .description("Admin: report call counts, error rates, latency percentiles, payload sizes and in-flight calls for every MCP tool, plus AI token usage and cost, read replica lag and the transaction ID filter")
+            .parameters(Map.of()) // No parameters needed
+            .function(args -> {
+                try {
+                    long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+                    List<Map<String, Object>> tools = toolInstrumentation.toolMeters().stream()
+                        .sorted(Comparator.comparing(McpToolInstrumentation.ToolMeters::tool))
+                        .map(meters -> toolMetrics(meters, uptimeMillis))
+                        .toList();
+                    List<Map<String, Object>> aiUsage = aiUsageTracker.usage().stream()
+                        .sorted(Comparator.comparing((AiUsageTracker.UsageMeters meters) -> meters.key().operation())
+                            .thenComparing(meters -> meters.key().model())
+                            .thenComparing(meters -> meters.key().tool()))
+                        .map(AdminMcpTools::aiUsageMetrics)
+                        .toList();
+                    
+                    return Map.of(
+                        "success", true,
+                        "uptime_seconds", TimeUnit.MILLISECONDS.toSeconds(uptimeMillis),
+                        "tools", tools,
+                        "ai_usage", aiUsage,
+                        "ai_token_budget", Map.of(
+                            "used_tokens", aiUsageTracker.budget().used(),
+                            "remaining_tokens", aiUsageTracker.budget().remaining(),
+                            "max_tokens", aiUsageTracker.budget().maxTokens()
+                        ),
+                        "replica", replicaMetrics(),
+                        "dedup_filter", dedupFilterMetrics(),
+                        "generated_at", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    );
+                    
+                } catch (Exception e) {
+                    logger.error("Error retrieving server metrics: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to retrieve server metrics"
+                    );
+                }
+            })
+            .build();
+    }
+    
+    private static Map<String, Object> toolMetrics(McpToolInstrumentation.ToolMeters meters, long uptimeMillis) {
+        HistogramSnapshot latency = meters.latency().takeSnapshot();
+        long calls = (long) meters.calls().count();
+        long errors = (long) meters.errors().count();
+        
+        Map<String, Object> latencyMs = new LinkedHashMap<>();
+        latencyMs.put("mean", latency.mean(TimeUnit.MILLISECONDS));
+        for (ValueAtPercentile percentile : latency.percentileValues()) {
+            latencyMs.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        latencyMs.put("max", latency.max(TimeUnit.MILLISECONDS));
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("tool", meters.tool());
+        result.put("calls", calls);
+        result.put("errors", errors);
+        result.put("error_rate", calls == 0 ? 0.0 : (double) errors / calls);
+        result.put("calls_per_second", uptimeMillis == 0 ? 0.0 : calls * 1000.0 / uptimeMillis);
+        result.put("in_flight", meters.inFlight().get());
+        result.put("latency_ms", latencyMs);
+        result.put("mean_request_bytes", meters.requestBytes().mean());
+        result.put("mean_response_bytes", meters.responseBytes().mean());
+        return result;
+    }
+    
+    private Map<String, Object> dedupFilterMetrics() {
+        TransactionIdFilterService.Stats stats = transactionIdFilter.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", stats.enabled());
+        result.put("ready", stats.ready());
+        result.put("transaction_ids", stats.keys());
+        result.put("stages", stats.stages());
+        result.put("size_bytes", stats.sizeBytes());
+        result.put("expected_false_positive_rate", stats.expectedFalsePositiveRate());
+        result.put("observed_false_positive_rate", stats.observedFalsePositiveRate());
+        result.put("skipped_lookups", stats.skippedLookups());
+        result.put("checked_lookups", stats.checkedLookups());
+        result.put("false_positives", stats.falsePositives());
+        return result;
+    }
+    
+    private Map<String, Object> replicaMetrics() {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", monitor != null);
+        if (monitor != null) {
+            result.put("mode", monitor.isSnapshotReplica() ? "snapshot" : "wal");
+            result.put("usable", monitor.isReplicaUsable());
+            // A WAL replica reads the primary file, so its lag is about 0 by construction
+            result.put("lag_ms", monitor.lagMillis());
+            result.put("last_check_ms_ago", System.currentTimeMillis() - monitor.lastCheckMillis());
+        }
+        return result;
+    }
+    
+    private static Map<String, Object> aiUsageMetrics(AiUsageTracker.UsageMeters meters) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("operation", meters.key().operation());
+        result.put("model", meters.key().model());
+        result.put("tool", meters.key().tool());
+        result.put("calls", meters.latency().count());
+        result.put("escalations", (long) meters.escalations().count());
+        result.put("errors", (long) meters.errors().count());
+        result.put("prompt_tokens", (long) meters.promptTokens().count());
+        result.put("cache_read_tokens", (long) meters.cacheReadTokens().count());
+        result.put("cache_write_tokens", (long) meters.cacheWriteTokens().count());
+        result.put("completion_tokens", (long) meters.completionTokens().count());
+        result.put("estimated_cost_usd", meters.cost().count());
+        result.put("mean_latency_ms", meters.latency().mean(TimeUnit.MILLISECONDS));
+        return result;
+    }
+    
+    /**
+     * Resolve a file name inside the bulk directory, rejecting paths that escape it
+     */
+    private Path resolveBulkFile(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("File name is required");
+        }
+        Path directory = Paths.get(bulkProperties.directory()).toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory)) {
+            throw new IllegalArgumentException("File must be inside the bulk directory");
+        }
+        return file;
+    }
+    
+    private static Map<String, Object> transferResponse(FraudRecordBulkTransfer.TransferResult result, String message) {
+        return Map.of(
+            "success", true,
+            "rows_read", result.rowsRead(),
+            "rows_written", result.rowsWritten(),
+            "skipped_rows", result.skippedRows(),
+            "elapsed_ms", result.elapsedMillis(),
+            "rows_per_second", result.rowsPerSecond(),
+            "message", message
+        );
+    }
+}
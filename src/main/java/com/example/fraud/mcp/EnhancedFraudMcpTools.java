@@ -1,8 +1,11 @@
 package com.example.fraud.mcp;
 
 import com.example.fraud.dto.FraudDataRequest;
+import com.example.fraud.dto.FraudRecordSummary;
 import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.observability.LogMarkers;
 import com.example.fraud.service.FraudAiService;
+import com.example.fraud.service.FraudDashboardService;
 import com.example.fraud.service.FraudService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -13,11 +16,14 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Component
 public class EnhancedFraudMcpTools {
     
@@ -25,11 +31,14 @@ public class EnhancedFraudMcpTools {
     
     private final FraudService fraudService;
     private final FraudAiService fraudAiService;
+    private final FraudDashboardService fraudDashboardService;
     private final ObjectMapper objectMapper;
     
-    public EnhancedFraudMcpTools(FraudService fraudService, FraudAiService fraudAiService, ObjectMapper objectMapper) {
+    public EnhancedFraudMcpTools(FraudService fraudService, FraudAiService fraudAiService,
+                                 FraudDashboardService fraudDashboardService, ObjectMapper objectMapper) {
         this.fraudService = fraudService;
         this.fraudAiService = fraudAiService;
+        this.fraudDashboardService = fraudDashboardService;
         this.objectMapper = objectMapper;
     }
     
@@ -57,7 +66,8 @@ public class EnhancedFraudMcpTools {
             ))
             .function(args -> {
                 try {
-                    logger.info("Creating fraud record with AI response for args: {}", args);
+                    logger.info(LogMarkers.PER_CALL, "Creating fraud record with AI response",
+                        kv("transaction_id", args.get("transaction_id")), kv("user_id", args.get("user_id")));
                     
                     // Convert args to FraudDataRequest
                     FraudDataRequest request = new FraudDataRequest();
@@ -100,17 +110,7 @@ public class EnhancedFraudMcpTools {
                         return Map.of(
                             "success", true,
                             "reference_id", fraudRecordId.toString(),
-                            "fraud_record", Map.of(
-                                "id", fraudRecord.getId().toString(),
-                                "user_id", fraudRecord.getUserId(),
-                                "transaction_id", fraudRecord.getTransactionId(),
-                                "amount", fraudRecord.getAmount(),
-                                "currency", fraudRecord.getCurrency(),
-                                "merchant_name", fraudRecord.getMerchantName(),
-                                "fraud_type", fraudRecord.getFraudType(),
-                                "risk_level", fraudRecord.getRiskLevel(),
-                                "created_at", fraudRecord.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-                            ),
+                            "fraud_record", FraudRecordSummary.from(fraudRecord),
                             "ai_response", aiResponse,
                             "message", "Fraud record created successfully with AI analysis"
                         );
@@ -148,23 +148,25 @@ public class EnhancedFraudMcpTools {
             ))
             .function(args -> {
                 try {
-                    logger.info("Analyzing fraud patterns with AI for args: {}", args);
+                    logger.info(LogMarkers.PER_CALL, "Analyzing fraud patterns with AI", kv("days", args.get("days")),
+                        kv("risk_level", args.get("risk_level")), kv("fraud_type", args.get("fraud_type")));
                     
                     // Get recent fraud records (default 30 days)
-                    List<FraudRecord> fraudRecords = fraudService.getRecentFraudRecords();
+                    int days = args.get("days") != null ? ((Number) args.get("days")).intValue() : 30;
+                    List<FraudRecordSummary> fraudRecords = fraudService.getFraudRecordSummariesForLastDays(days);
                     
                     // Apply filters if provided
                     if (args.containsKey("risk_level") && args.get("risk_level") != null) {
                         String riskLevel = (String) args.get("risk_level");
                         fraudRecords = fraudRecords.stream()
-                            .filter(record -> record.getRiskLevel().equalsIgnoreCase(riskLevel))
+                            .filter(record -> record.riskLevel().equalsIgnoreCase(riskLevel))
                             .toList();
                     }
                     
                     if (args.containsKey("fraud_type") && args.get("fraud_type") != null) {
                         String fraudType = (String) args.get("fraud_type");
                         fraudRecords = fraudRecords.stream()
-                            .filter(record -> record.getFraudType().equalsIgnoreCase(fraudType))
+                            .filter(record -> record.fraudType().equalsIgnoreCase(fraudType))
                             .toList();
                     }
                     
@@ -174,7 +176,7 @@ public class EnhancedFraudMcpTools {
                     return Map.of(
                         "success", true,
                         "total_records_analyzed", fraudRecords.size(),
-                        "analysis_period", "Last 30 days",
+                        "analysis_period", "Last " + days + " days",
                         "ai_analysis", aiAnalysis,
                         "generated_at", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
                     );
@@ -205,29 +207,29 @@ public class EnhancedFraudMcpTools {
             .function(args -> {
                 try {
                     String userId = (String) args.get("user_id");
-                    logger.info("Generating risk assessment for user: {}", userId);
+                    logger.info(LogMarkers.PER_CALL, "Generating risk assessment", kv("user_id", userId));
                     
                     // Get user's fraud records
-                    List<FraudRecord> userFraudRecords = fraudService.getFraudRecordsByUserId(userId);
+                    List<FraudRecordSummary> userFraudRecords = fraudService.getFraudRecordSummariesByUserId(userId);
                     
                     // Generate AI risk assessment
                     String riskAssessment = fraudAiService.generateRiskAssessment(userId, userFraudRecords);
                     
                     // Calculate basic statistics
                     long highRiskCount = userFraudRecords.stream()
-                        .filter(record -> "HIGH".equals(record.getRiskLevel()))
+                        .filter(record -> "HIGH".equals(record.riskLevel()))
                         .count();
                     
                     long mediumRiskCount = userFraudRecords.stream()
-                        .filter(record -> "MEDIUM".equals(record.getRiskLevel()))
+                        .filter(record -> "MEDIUM".equals(record.riskLevel()))
                         .count();
                     
                     long lowRiskCount = userFraudRecords.stream()
-                        .filter(record -> "LOW".equals(record.getRiskLevel()))
+                        .filter(record -> "LOW".equals(record.riskLevel()))
                         .count();
                     
                     double totalAmount = userFraudRecords.stream()
-                        .mapToDouble(FraudRecord::getAmount)
+                        .mapToDouble(FraudRecordSummary::amount)
                         .sum();
                     
                     return Map.of(
@@ -256,6 +258,71 @@ public class EnhancedFraudMcpTools {
             .build();
     }
     
+    /**
+     * MCP Tool to assess many users in few model calls
+     */
+    @McpTool(name = "generate_batch_risk_assessment", description = "Generate AI-powered risk assessments for many users at once")
+    public McpToolFunction generateBatchRiskAssessment() {
+        return McpToolFunction.builder()
+            .name("generate_batch_risk_assessment")
+            .description("Generate risk assessments for up to " + FraudService.MAX_BATCH_USERS + " users. Histories are "
+                + "loaded with one query and several users are assessed per AI call, so this is much cheaper than "
+                + "calling generate_user_risk_assessment per user")
+            .parameters(Map.of(
+                "user_ids", Map.of("type", "array", "items", Map.of("type", "string"), "description", "User IDs to assess")
+            ))
+            .function(args -> {
+                try {
+                    @SuppressWarnings("unchecked")
+                    List<String> userIds = (List<String>) args.get("user_ids");
+                    if (userIds == null || userIds.isEmpty()) {
+                        throw new IllegalArgumentException("user_ids is required");
+                    }
+                    logger.info(LogMarkers.PER_CALL, "Generating batch risk assessment", kv("users", userIds.size()));
+                    
+                    Map<String, List<FraudRecordSummary>> histories = fraudService.getFraudRecordSummariesByUserIds(userIds);
+                    FraudAiService.BatchRiskAssessment batch = fraudAiService.generateBatchRiskAssessments(histories);
+                    
+                    List<Map<String, Object>> assessments = batch.assessments().stream()
+                        .map(assessment -> {
+                            List<FraudRecordSummary> records = histories.get(assessment.userId());
+                            Map<String, Object> entry = new LinkedHashMap<>();
+                            entry.put("user_id", assessment.userId());
+                            entry.put("risk_level", assessment.riskLevel());
+                            entry.put("risk_assessment", assessment.assessment());
+                            entry.put("recommendations", assessment.recommendations());
+                            entry.put("source", assessment.source().name());
+                            entry.put("statistics", Map.of(
+                                "total_fraud_incidents", records.size(),
+                                "high_risk_incidents", records.stream().filter(record -> "HIGH".equals(record.riskLevel())).count(),
+                                "medium_risk_incidents", records.stream().filter(record -> "MEDIUM".equals(record.riskLevel())).count(),
+                                "low_risk_incidents", records.stream().filter(record -> "LOW".equals(record.riskLevel())).count(),
+                                "total_fraud_amount", records.stream().mapToDouble(FraudRecordSummary::amount).sum()
+                            ));
+                            return entry;
+                        })
+                        .toList();
+                    
+                    return Map.of(
+                        "success", true,
+                        "users_assessed", assessments.size(),
+                        "model_calls", batch.modelCalls(),
+                        "assessments", assessments,
+                        "generated_at", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                    );
+                    
+                } catch (Exception e) {
+                    logger.error("Error generating batch risk assessment: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to generate batch risk assessment"
+                    );
+                }
+            })
+            .build();
+    }
+    
     /**
      * MCP Tool to get fraud prevention recommendations
      */
@@ -273,7 +340,7 @@ public class EnhancedFraudMcpTools {
                     String fraudType = (String) args.get("fraud_type");
                     String riskLevel = (String) args.get("risk_level");
                     
-                    logger.info("Generating fraud prevention tips for type: {}, risk: {}", fraudType, riskLevel);
+                    logger.info(LogMarkers.PER_CALL, "Generating fraud prevention tips for type: {}, risk: {}", fraudType, riskLevel);
                     
                     // Generate AI-powered prevention tips
                     String preventionTips = fraudAiService.generateFraudPreventionTips(fraudType, riskLevel);
@@ -309,39 +376,48 @@ public class EnhancedFraudMcpTools {
             .parameters(Map.of()) // No parameters needed
             .function(args -> {
                 try {
-                    logger.info("Generating fraud dashboard with AI insights");
-                    
-                    // Get basic statistics
-                    FraudService.FraudStatistics stats = fraudService.getFraudStatistics();
-                    
-                    // Get recent fraud records for analysis
-                    List<FraudRecord> recentRecords = fraudService.getRecentFraudRecords();
+                    logger.info(LogMarkers.PER_CALL, "Generating fraud dashboard with AI insights");
                     
-                    // Get high-risk unverified records
-                    List<FraudRecord> highRiskUnverified = fraudService.getHighRiskUnverifiedRecords();
+                    // Statistics, recent records and the high-risk count run in parallel; insights follow recent records
+                    FraudDashboardService.Dashboard dashboard = fraudDashboardService.assemble();
                     
-                    // Generate AI insights
-                    String aiInsights = fraudAiService.analyzeFraudPatterns(recentRecords);
+                    Map<String, Object> dashboardData = new LinkedHashMap<>();
+                    FraudService.FraudStatistics stats = dashboard.statistics();
+                    if (stats != null) {
+                        dashboardData.put("statistics", Map.of(
+                            "total_records", stats.getTotalRecords(),
+                            "high_risk_records", stats.getHighRiskRecords(),
+                            "medium_risk_records", stats.getMediumRiskRecords(),
+                            "low_risk_records", stats.getLowRiskRecords(),
+                            "unverified_records", stats.getUnverifiedRecords(),
+                            "verified_records", stats.getTotalRecords() - stats.getUnverifiedRecords()
+                        ));
+                    }
+                    Map<String, Object> recentActivity = new LinkedHashMap<>();
+                    if (dashboard.recentRecords() != null) {
+                        recentActivity.put("last_30_days", dashboard.recentRecords());
+                    }
+                    if (dashboard.highRiskUnverified() != null) {
+                        recentActivity.put("high_risk_unverified", dashboard.highRiskUnverified());
+                    }
+                    if (!recentActivity.isEmpty()) {
+                        dashboardData.put("recent_activity", recentActivity);
+                    }
+                    if (dashboard.aiInsights() != null) {
+                        dashboardData.put("ai_insights", dashboard.aiInsights());
+                    }
                     
-                    return Map.of(
-                        "success", true,
-                        "dashboard_data", Map.of(
-                            "statistics", Map.of(
-                                "total_records", stats.getTotalRecords(),
-                                "high_risk_records", stats.getHighRiskRecords(),
-                                "medium_risk_records", stats.getMediumRiskRecords(),
-                                "low_risk_records", stats.getLowRiskRecords(),
-                                "unverified_records", stats.getUnverifiedRecords(),
-                                "verified_records", stats.getTotalRecords() - stats.getUnverifiedRecords()
-                            ),
-                            "recent_activity", Map.of(
-                                "last_30_days", recentRecords.size(),
-                                "high_risk_unverified", highRiskUnverified.size()
-                            ),
-                            "ai_insights", aiInsights
-                        ),
-                        "generated_at", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-                    );
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("success", true);
+                    result.put("dashboard_data", dashboardData);
+                    result.put("partial", dashboard.partial());
+                    if (dashboard.partial()) {
+                        // Branch name -> reason, e.g. "ai_insights" -> "timed out"
+                        result.put("unavailable", dashboard.unavailable());
+                    }
+                    result.put("elapsed_ms", dashboard.elapsedMillis());
+                    result.put("generated_at", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+                    return result;
                     
                 } catch (Exception e) {
                     logger.error("Error generating fraud dashboard: {}", e.getMessage(), e);
@@ -1,7 +1,14 @@
 package com.example.fraud.mcp;
 
 import com.example.fraud.dto.FraudDataRequest;
+import com.example.fraud.dto.FraudRecordDetail;
+import com.example.fraud.dto.FraudRecordListResponse;
+import com.example.fraud.dto.FraudRecordResponse;
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.dto.FraudSearchResponse;
 import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.observability.LogMarkers;
+import com.example.fraud.repository.FraudRecordSearch;
 import com.example.fraud.service.FraudService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -13,10 +20,13 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Component
 public class FraudMcpTools {
     
@@ -54,7 +64,8 @@ public class FraudMcpTools {
             ))
             .function(args -> {
                 try {
-                    logger.info("Creating fraud record with args: {}", args);
+                    logger.info(LogMarkers.PER_CALL, "Creating fraud record",
+                        kv("transaction_id", args.get("transaction_id")), kv("user_id", args.get("user_id")));
                     
                     // Convert args to FraudDataRequest
                     FraudDataRequest request = new FraudDataRequest();
@@ -123,27 +134,7 @@ public class FraudMcpTools {
                     Optional<FraudRecord> fraudRecord = fraudService.getFraudRecord(fraudRecordId);
                     
                     if (fraudRecord.isPresent()) {
-                        FraudRecord record = fraudRecord.get();
-                        return Map.of(
-                            "success", true,
-                            "fraud_record", Map.of(
-                                "id", record.getId().toString(),
-                                "user_id", record.getUserId(),
-                                "transaction_id", record.getTransactionId(),
-                                "amount", record.getAmount(),
-                                "currency", record.getCurrency(),
-                                "merchant_name", record.getMerchantName(),
-                                "fraud_type", record.getFraudType(),
-                                "description", record.getDescription(),
-                                "risk_level", record.getRiskLevel(),
-                                "created_at", record.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
-                                "detected_at", record.getDetectedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
-                                "ip_address", record.getIpAddress(),
-                                "location", record.getLocation(),
-                                "is_verified", record.getIsVerified(),
-                                "additional_info", record.getAdditionalInfo()
-                            )
-                        );
+                        return FraudRecordResponse.of(FraudRecordDetail.from(fraudRecord.get()));
                     } else {
                         return Map.of(
                             "success", false,
@@ -177,24 +168,9 @@ public class FraudMcpTools {
             .function(args -> {
                 try {
                     String userId = (String) args.get("user_id");
-                    List<FraudRecord> fraudRecords = fraudService.getFraudRecordsByUserId(userId);
+                    List<FraudRecordSummary> fraudRecords = fraudService.getFraudRecordSummariesByUserId(userId);
                     
-                    return Map.of(
-                        "success", true,
-                        "user_id", userId,
-                        "total_records", fraudRecords.size(),
-                        "fraud_records", fraudRecords.stream().map(record -> Map.of(
-                            "id", record.getId().toString(),
-                            "transaction_id", record.getTransactionId(),
-                            "amount", record.getAmount(),
-                            "currency", record.getCurrency(),
-                            "merchant_name", record.getMerchantName(),
-                            "fraud_type", record.getFraudType(),
-                            "risk_level", record.getRiskLevel(),
-                            "created_at", record.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
-                            "is_verified", record.getIsVerified()
-                        )).toList()
-                    );
+                    return FraudRecordListResponse.forUser(userId, fraudRecords);
                     
                 } catch (Exception e) {
                     logger.error("Error retrieving user fraud records: {}", e.getMessage(), e);
@@ -257,25 +233,9 @@ public class FraudMcpTools {
             .parameters(Map.of()) // No parameters needed
             .function(args -> {
                 try {
-                    List<FraudRecord> recentRecords = fraudService.getRecentFraudRecords();
+                    List<FraudRecordSummary> recentRecords = fraudService.getRecentFraudRecordSummaries();
                     
-                    return Map.of(
-                        "success", true,
-                        "total_records", recentRecords.size(),
-                        "period", "Last 30 days",
-                        "fraud_records", recentRecords.stream().map(record -> Map.of(
-                            "id", record.getId().toString(),
-                            "user_id", record.getUserId(),
-                            "transaction_id", record.getTransactionId(),
-                            "amount", record.getAmount(),
-                            "currency", record.getCurrency(),
-                            "merchant_name", record.getMerchantName(),
-                            "fraud_type", record.getFraudType(),
-                            "risk_level", record.getRiskLevel(),
-                            "created_at", record.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
-                            "is_verified", record.getIsVerified()
-                        )).toList()
-                    );
+                    return FraudRecordListResponse.forPeriod("Last 30 days", recentRecords);
                     
                 } catch (Exception e) {
                     logger.error("Error retrieving recent fraud records: {}", e.getMessage(), e);
@@ -288,4 +248,119 @@ public class FraudMcpTools {
             })
             .build();
     }
+    
+    /**
+     * MCP Tool to full-text search fraud records
+     */
+    @McpTool(name = "search_fraud_records", description = "Full-text search over fraud record descriptions and additional info")
+    public McpToolFunction searchFraudRecords() {
+        return McpToolFunction.builder()
+            .name("search_fraud_records")
+            .description("Search fraud record descriptions and additional info by words, phrase or prefix, ranked by relevance, "
+                + "with optional risk level, fraud type and detection date filters. Covers records still in the hot table.")
+            .parameters(Map.of(
+                "query", Map.of("type", "string", "description", "Text to search for, e.g. gift cards or wire transfer"),
+                "mode", Map.of("type", "string", "description", "WORDS (all words, default), PHRASE (exact phrase), PREFIX (words starting with each term) or FTS (raw SQLite FTS5 syntax)", "required", false),
+                "risk_level", Map.of("type", "string", "description", "Only records with this risk level: HIGH, MEDIUM or LOW", "required", false),
+                "fraud_type", Map.of("type", "string", "description", "Only records of this fraud type", "required", false),
+                "detected_from", Map.of("type", "string", "description", "Only records detected at or after this timestamp (ISO format)", "required", false),
+                "detected_to", Map.of("type", "string", "description", "Only records detected before this timestamp (ISO format)", "required", false),
+                "limit", Map.of("type", "integer", "description", "Hits per page, 1 to 100 (default: 20)", "required", false),
+                "offset", Map.of("type", "integer", "description", "Hits to skip for pagination (default: 0)", "required", false)
+            ))
+            .function(args -> {
+                try {
+                    String query = (String) args.get("query");
+                    String mode = (String) args.get("mode");
+                    String riskLevel = (String) args.get("risk_level");
+                    String detectedFrom = (String) args.get("detected_from");
+                    String detectedTo = (String) args.get("detected_to");
+                    int limit = args.get("limit") != null ? ((Number) args.get("limit")).intValue() : 20;
+                    int offset = args.get("offset") != null ? ((Number) args.get("offset")).intValue() : 0;
+                    
+                    FraudRecordSearch.Criteria criteria = new FraudRecordSearch.Criteria(
+                        query,
+                        mode != null ? FraudRecordSearch.Mode.valueOf(mode.toUpperCase(Locale.ROOT)) : FraudRecordSearch.Mode.WORDS,
+                        riskLevel != null ? riskLevel.toUpperCase(Locale.ROOT) : null,
+                        (String) args.get("fraud_type"),
+                        detectedFrom != null ? LocalDateTime.parse(detectedFrom) : null,
+                        detectedTo != null ? LocalDateTime.parse(detectedTo) : null,
+                        offset,
+                        limit
+                    );
+                    FraudRecordSearch.Page page = fraudService.searchFraudRecords(criteria);
+                    
+                    return FraudSearchResponse.of(query, offset, limit, page.hasMore(), page.hits());
+                    
+                } catch (Exception e) {
+                    logger.error("Error searching fraud records: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to search fraud records"
+                    );
+                }
+            })
+            .build();
+    }
+    
+    /**
+     * MCP Tool to set the verification status of many fraud records at once
+     */
+    @McpTool(name = "verify_fraud_records", description = "Mark a list of fraud records, or all records matching a filter, as verified or unverified")
+    public McpToolFunction verifyFraudRecords() {
+        return McpToolFunction.builder()
+            .name("verify_fraud_records")
+            .description("Set the verification status of many fraud records in one set-based update: either the given "
+                + "record IDs, or every record matching a risk level and/or detection date range. "
+                + "Records already moved to cold partitions are read-only and count as not found.")
+            .parameters(Map.of(
+                "ids", Map.of("type", "array", "items", Map.of("type", "string"), "description", "Fraud record IDs (UUIDs), up to " + FraudService.MAX_VERIFY_IDS, "required", false),
+                "risk_level", Map.of("type", "string", "description", "Filter: only records with this risk level (HIGH, MEDIUM or LOW)", "required", false),
+                "detected_from", Map.of("type", "string", "description", "Filter: only records detected at or after this timestamp (ISO format)", "required", false),
+                "detected_to", Map.of("type", "string", "description", "Filter: only records detected before this timestamp (ISO format, default: now)", "required", false),
+                "verified", Map.of("type", "boolean", "description", "Status to set (default: true)", "required", false)
+            ))
+            .function(args -> {
+                try {
+                    List<?> ids = (List<?>) args.get("ids");
+                    String riskLevel = (String) args.get("risk_level");
+                    String detectedFrom = (String) args.get("detected_from");
+                    String detectedTo = (String) args.get("detected_to");
+                    boolean verified = args.get("verified") == null || (Boolean) args.get("verified");
+                    
+                    boolean byIds = ids != null && !ids.isEmpty();
+                    if (byIds && (riskLevel != null || detectedFrom != null || detectedTo != null)) {
+                        throw new IllegalArgumentException("Pass either ids or filter parameters, not both");
+                    }
+                    
+                    FraudService.VerificationResult result = byIds
+                        ? fraudService.verifyFraudRecords(ids.stream().map(id -> UUID.fromString(id.toString())).toList(), verified)
+                        : fraudService.verifyFraudRecords(
+                            riskLevel,
+                            detectedFrom != null ? LocalDateTime.parse(detectedFrom) : null,
+                            detectedTo != null ? LocalDateTime.parse(detectedTo) : null,
+                            verified);
+                    
+                    return Map.of(
+                        "success", true,
+                        "verified", verified,
+                        "matched", result.matched(),
+                        "updated", result.updated(),
+                        "unchanged", result.unchanged(),
+                        "not_found", result.notFound(),
+                        "message", result.updated() + " fraud records marked " + (verified ? "verified" : "unverified")
+                    );
+                    
+                } catch (Exception e) {
+                    logger.error("Error verifying fraud records: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to verify fraud records"
+                    );
+                }
+            })
+            .build();
+    }
 }
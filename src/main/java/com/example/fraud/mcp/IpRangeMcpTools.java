@@ -0,0 +1,138 @@
+package com.example.fraud.mcp;
+
+import com.example.fraud.ip.IpPrefixTrie;
+import com.example.fraud.service.FraudIpIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolFunction;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+public class IpRangeMcpTools {
+    
+    private static final Logger logger = LoggerFactory.getLogger(IpRangeMcpTools.class);
+    
+    private final FraudIpIndexService fraudIpIndexService;
+    
+    public IpRangeMcpTools(FraudIpIndexService fraudIpIndexService) {
+        this.fraudIpIndexService = fraudIpIndexService;
+    }
+    
+    /**
+     * MCP Tool to query fraud records from a CIDR range
+     */
+    @McpTool(name = "query_fraud_by_ip_range", description = "Get fraud counts and records from an IP range in CIDR notation")
+    public McpToolFunction queryFraudByIpRange() {
+        return McpToolFunction.builder()
+            .name("query_fraud_by_ip_range")
+            .description("Get fraud counts for an IPv4 or IPv6 CIDR range (e.g. 203.0.113.0/24) over a window and all time, "
+                + "its busiest addresses, and the most recent records detected from it")
+            .parameters(Map.of(
+                "cidr", Map.of("type", "string", "description", "CIDR range such as 203.0.113.0/24 or 2001:db8::/32, or a single address"),
+                "days", Map.of("type", "integer", "description", "Window in days (default: 30)", "required", false),
+                "address_limit", Map.of("type", "integer", "description", "Busiest addresses to list (default: 20)", "required", false),
+                "record_limit", Map.of("type", "integer", "description", "Most recent records to return, 0 for counts only (default: 20)", "required", false)
+            ))
+            .function(args -> {
+                try {
+                    String cidr = (String) args.get("cidr");
+                    int days = args.get("days") != null ? ((Number) args.get("days")).intValue() : 30;
+                    int addressLimit = args.get("address_limit") != null ? ((Number) args.get("address_limit")).intValue() : 20;
+                    int recordLimit = args.get("record_limit") != null ? ((Number) args.get("record_limit")).intValue() : 20;
+                    
+                    FraudIpIndexService.IpRangeResult result = fraudIpIndexService.queryRange(cidr, days, recordLimit);
+                    IpPrefixTrie.Range range = result.range();
+                    
+                    Map<String, Object> response = new LinkedHashMap<>();
+                    response.put("success", true);
+                    response.put("cidr", range.prefix().toString());
+                    response.put("days", days);
+                    response.put("records_in_window", range.window());
+                    response.put("records_all_time", range.total());
+                    response.put("distinct_addresses", range.addresses());
+                    response.put("busiest_addresses", range.busiest().stream()
+                        .limit(Math.max(0, addressLimit))
+                        .map(address -> Map.of(
+                            "ip_address", address.address(),
+                            "records_in_window", address.window(),
+                            "records_all_time", address.total()
+                        ))
+                        .toList());
+                    response.put("fraud_records", result.records());
+                    response.put("index_complete", fraudIpIndexService.isLoaded());
+                    return response;
+                    
+                } catch (Exception e) {
+                    logger.error("Error querying fraud by IP range: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to query fraud by IP range"
+                    );
+                }
+            })
+            .build();
+    }
+    
+    /**
+     * MCP Tool to rank subnets by fraud records
+     */
+    @McpTool(name = "get_top_fraud_subnets", description = "Rank subnets (e.g. IPv4 /16s) by fraud records in a recent window")
+    public McpToolFunction getTopFraudSubnets() {
+        return McpToolFunction.builder()
+            .name("get_top_fraud_subnets")
+            .description("Rank subnets of a given prefix length (e.g. IPv4 /16 or /24, IPv6 /48) by the number of "
+                + "fraud records detected from them in the last N days")
+            .parameters(Map.of(
+                "family", Map.of("type", "string", "description", "IPV4 or IPV6 (default: IPV4)", "required", false),
+                "prefix_length", Map.of("type", "integer", "description", "Subnet prefix length (default: 16 for IPv4, 48 for IPv6)", "required", false),
+                "days", Map.of("type", "integer", "description", "Window in days (default: 7)", "required", false),
+                "limit", Map.of("type", "integer", "description", "Number of subnets (default: 10)", "required", false)
+            ))
+            .function(args -> {
+                try {
+                    String family = args.get("family") != null ? ((String) args.get("family")).toUpperCase(Locale.ROOT) : "IPV4";
+                    if (!family.equals("IPV4") && !family.equals("IPV6")) {
+                        throw new IllegalArgumentException("Family must be IPV4 or IPV6");
+                    }
+                    boolean ipv4 = family.equals("IPV4");
+                    int prefixLength = args.get("prefix_length") != null ? ((Number) args.get("prefix_length")).intValue() : (ipv4 ? 16 : 48);
+                    int days = args.get("days") != null ? ((Number) args.get("days")).intValue() : 7;
+                    int limit = args.get("limit") != null ? ((Number) args.get("limit")).intValue() : 10;
+                    
+                    List<IpPrefixTrie.Subnet> subnets = fraudIpIndexService.topSubnets(ipv4, prefixLength, days, limit);
+                    
+                    return Map.of(
+                        "success", true,
+                        "family", family,
+                        "prefix_length", prefixLength,
+                        "days", days,
+                        "subnets", subnets.stream()
+                            .map(subnet -> Map.of(
+                                "subnet", subnet.prefix().toString(),
+                                "records_in_window", subnet.window(),
+                                "records_all_time", subnet.total(),
+                                "distinct_addresses", subnet.addresses()
+                            ))
+                            .toList(),
+                        "index_complete", fraudIpIndexService.isLoaded()
+                    );
+                    
+                } catch (Exception e) {
+                    logger.error("Error ranking fraud subnets: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to rank fraud subnets"
+                    );
+                }
+            })
+            .build();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.fraud.mcp;
+
+import com.example.fraud.graph.LinkGraph;
+import com.example.fraud.service.FraudLinkService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolFunction;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class LinkAnalysisMcpTools {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LinkAnalysisMcpTools.class);
+    
+    private final FraudLinkService fraudLinkService;
+    
+    public LinkAnalysisMcpTools(FraudLinkService fraudLinkService) {
+        this.fraudLinkService = fraudLinkService;
+    }
+    
+    /**
+     * MCP Tool to find accounts sharing an IP address, merchant or location with a user
+     */
+    @McpTool(name = "find_linked_accounts", description = "Find accounts sharing an IP address, merchant or location with a user")
+    public McpToolFunction findLinkedAccounts() {
+        return McpToolFunction.builder()
+            .name("find_linked_accounts")
+            .description("Find users whose fraud records share an IP address, merchant or location with the given user, "
+                + "most shared attributes first, answered from the in-memory link graph")
+            .parameters(Map.of(
+                "user_id", Map.of("type", "string", "description", "User ID to start from"),
+                "via", Map.of("type", "string", "description", "Comma-separated link types: IP, MERCHANT, LOCATION (default: IP,MERCHANT)", "required", false),
+                "limit", Map.of("type", "integer", "description", "Maximum number of linked accounts (default: 50)", "required", false)
+            ))
+            .function(args -> {
+                try {
+                    String userId = (String) args.get("user_id");
+                    Set<LinkGraph.NodeType> via = parseTypes((String) args.get("via"), EnumSet.of(LinkGraph.NodeType.IP, LinkGraph.NodeType.MERCHANT));
+                    int limit = args.get("limit") != null ? ((Number) args.get("limit")).intValue() : 50;
+                    
+                    LinkGraph.LinkedAccounts linked = fraudLinkService.linkedAccounts(userId, via, limit);
+                    
+                    return Map.of(
+                        "success", true,
+                        "user_id", userId,
+                        "linked_accounts", linked.accounts().stream()
+                            .map(account -> Map.of(
+                                "user_id", account.userId(),
+                                "shared", account.sharedAttributes().stream().map(LinkAnalysisMcpTools::node).toList()
+                            ))
+                            .toList(),
+                        "skipped_hubs", linked.hubs().stream().map(LinkAnalysisMcpTools::node).toList(),
+                        "ring_size", linked.componentUsers(),
+                        "graph_complete", fraudLinkService.isLoaded()
+                    );
+                    
+                } catch (Exception e) {
+                    logger.error("Error finding linked accounts: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to find linked accounts"
+                    );
+                }
+            })
+            .build();
+    }
+    
+    /**
+     * MCP Tool to detect fraud rings as connected components of the link graph
+     */
+    @McpTool(name = "find_fraud_rings", description = "Detect groups of users connected through shared attributes")
+    public McpToolFunction findFraudRings() {
+        return McpToolFunction.builder()
+            .name("find_fraud_rings")
+            .description("Detect fraud rings: connected groups of users linked through shared attributes "
+                + "(IP addresses by default), largest first")
+            .parameters(Map.of(
+                "min_users", Map.of("type", "integer", "description", "Smallest ring to report (default: 3)", "required", false),
+                "limit", Map.of("type", "integer", "description", "Maximum number of rings (default: 20)", "required", false),
+                "member_limit", Map.of("type", "integer", "description", "Users and links listed per ring (default: 25)", "required", false)
+            ))
+            .function(args -> {
+                try {
+                    int minUsers = args.get("min_users") != null ? ((Number) args.get("min_users")).intValue() : 3;
+                    int limit = args.get("limit") != null ? ((Number) args.get("limit")).intValue() : 20;
+                    int memberLimit = args.get("member_limit") != null ? ((Number) args.get("member_limit")).intValue() : 25;
+                    
+                    List<LinkGraph.Ring> rings = fraudLinkService.rings(Math.max(2, minUsers), limit, memberLimit);
+                    
+                    return Map.of(
+                        "success", true,
+                        "total_rings", rings.size(),
+                        "rings", rings.stream()
+                            .map(ring -> Map.of(
+                                "users", ring.users(),
+                                "user_ids", ring.userIds(),
+                                "links", ring.links().stream().map(LinkAnalysisMcpTools::node).toList()
+                            ))
+                            .toList(),
+                        "graph_complete", fraudLinkService.isLoaded()
+                    );
+                    
+                } catch (Exception e) {
+                    logger.error("Error finding fraud rings: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to find fraud rings"
+                    );
+                }
+            })
+            .build();
+    }
+    
+    /**
+     * MCP Tool to get the k-hop neighborhood of a user, IP address, merchant or location
+     */
+    @McpTool(name = "get_link_neighborhood", description = "Get everything within k hops of a user, IP, merchant or location")
+    public McpToolFunction getLinkNeighborhood() {
+        return McpToolFunction.builder()
+            .name("get_link_neighborhood")
+            .description("List the users, IP addresses, merchants and locations within k hops of a node in the link graph. "
+                + "Very common attributes (hubs) are listed but not expanded")
+            .parameters(Map.of(
+                "type", Map.of("type", "string", "description", "Node type: USER, IP, MERCHANT or LOCATION"),
+                "value", Map.of("type", "string", "description", "User ID, IP address, merchant name or location"),
+                "hops", Map.of("type", "integer", "description", "Number of hops (default: 2)", "required", false)
+            ))
+            .function(args -> {
+                try {
+                    LinkGraph.NodeType type = LinkGraph.NodeType.valueOf(((String) args.get("type")).toUpperCase(Locale.ROOT));
+                    String value = (String) args.get("value");
+                    int hops = args.get("hops") != null ? ((Number) args.get("hops")).intValue() : 2;
+                    
+                    LinkGraph.Neighborhood neighborhood = fraudLinkService.neighborhood(type, value, hops);
+                    
+                    return Map.of(
+                        "success", true,
+                        "origin", Map.of("type", type.name(), "value", value),
+                        "hops", hops,
+                        "total_nodes", neighborhood.nodes().size(),
+                        "nodes", neighborhood.nodes().stream()
+                            .map(node -> {
+                                Map<String, Object> result = new LinkedHashMap<>();
+                                result.put("type", node.type().name());
+                                result.put("value", node.value());
+                                result.put("hops", node.hops());
+                                result.put("degree", node.degree());
+                                if (node.hub()) {
+                                    result.put("hub", true);
+                                }
+                                return result;
+                            })
+                            .toList(),
+                        "truncated", neighborhood.truncated(),
+                        "graph_complete", fraudLinkService.isLoaded()
+                    );
+                    
+                } catch (Exception e) {
+                    logger.error("Error retrieving link neighborhood: {}", e.getMessage(), e);
+                    return Map.of(
+                        "success", false,
+                        "error", String.valueOf(e.getMessage()),
+                        "message", "Failed to retrieve link neighborhood"
+                    );
+                }
+            })
+            .build();
+    }
+    
+    private static Map<String, String> node(LinkGraph.Node node) {
+        return Map.of("type", node.type().name(), "value", node.value());
+    }
+    
+    private static Set<LinkGraph.NodeType> parseTypes(String types, Set<LinkGraph.NodeType> defaults) {
+        if (types == null || types.isBlank()) {
+            return defaults;
+        }
+        Set<LinkGraph.NodeType> result = EnumSet.noneOf(LinkGraph.NodeType.class);
+        for (String type : types.split(",")) {
+            result.add(LinkGraph.NodeType.valueOf(type.trim().toUpperCase(Locale.ROOT)));
+        }
+        return result;
+    }
+}
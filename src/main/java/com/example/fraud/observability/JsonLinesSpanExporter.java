@@ -0,0 +1,138 @@
+package com.example.fraud.observability;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Appends finished spans to a file, one JSON object per line, with OTLP-style field names.
+ * Called from the OpenTelemetry batch processor thread, never from request threads.
+ * Once the file reaches its size limit it is renamed to file.1 (file.1 to file.2 and so on,
+ * dropping the oldest past maxHistory) and a new file is started, so disk use stays bounded.
+ */
+public class JsonLinesSpanExporter implements SpanExporter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JsonLinesSpanExporter.class);
+    
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private OutputStream out;
+    private JsonGenerator generator;
+    
+    public JsonLinesSpanExporter(Path file, long maxFileSize, int maxHistory) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        open();
+    }
+    
+    private void open() throws IOException {
+        out = new BufferedOutputStream(Files.newOutputStream(file,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+        generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+    
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                write(span);
+            }
+            generator.flush();
+            // Checked once per batch, so a file overshoots the limit by at most one batch
+            if (Files.size(file) >= maxFileSize) {
+                rotate();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            logger.warn("Could not write spans: {}", e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+    
+    private void write(SpanData span) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("traceId", span.getTraceId());
+        generator.writeStringField("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            generator.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        generator.writeStringField("name", span.getName());
+        generator.writeStringField("kind", span.getKind().name());
+        generator.writeNumberField("startTimeUnixNano", span.getStartEpochNanos());
+        generator.writeNumberField("endTimeUnixNano", span.getEndEpochNanos());
+        generator.writeNumberField("durationMs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000_000.0);
+        generator.writeStringField("status", span.getStatus().getStatusCode().name());
+        generator.writeObjectFieldStart("attributes");
+        for (Map.Entry<AttributeKey<?>, Object> attribute : span.getAttributes().asMap().entrySet()) {
+            generator.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+    
+    private void rotate() throws IOException {
+        generator.close();
+        out.close();
+        if (maxHistory > 0) {
+            Files.deleteIfExists(rotated(maxHistory));
+            for (int i = maxHistory - 1; i >= 1; i--) {
+                if (Files.exists(rotated(i))) {
+                    Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+    
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+    
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            generator.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+    
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            generator.close();
+            out.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
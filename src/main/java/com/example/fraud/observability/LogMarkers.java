@@ -0,0 +1,18 @@
+package com.example.fraud.observability;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * SLF4J markers shared by the logging configuration
+ */
+public final class LogMarkers {
+    
+    /**
+     * Logs written once per tool or service call; sampled by {@link SamplingTurboFilter}
+     */
+    public static final Marker PER_CALL = MarkerFactory.getMarker("PER_CALL");
+    
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.fraud.observability;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Name of the MCP tool being executed on the current thread, set by {@link McpToolInstrumentation}.
+ * Lets lower layers attribute work (SQL, AI tokens) to the calling tool.
+ */
+public final class McpToolContext {
+    
+    private static final ThreadLocal<String> CURRENT_TOOL = new ThreadLocal<>();
+    
+    private McpToolContext() {
+    }
+    
+    /**
+     * Current tool name, or "none" outside a tool call
+     */
+    public static String currentTool() {
+        String tool = CURRENT_TOOL.get();
+        return tool != null ? tool : "none";
+    }
+    
+    static String enter(String tool) {
+        String previous = CURRENT_TOOL.get();
+        CURRENT_TOOL.set(tool);
+        return previous;
+    }
+    
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT_TOOL.remove();
+        } else {
+            CURRENT_TOOL.set(previous);
+        }
+    }
+    
+    /**
+     * Wrap a task so it runs with the caller's tool name, e.g. when handed to another thread
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        String tool = CURRENT_TOOL.get();
+        return () -> {
+            String previous = enter(tool);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
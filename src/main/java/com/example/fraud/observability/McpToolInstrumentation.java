@@ -0,0 +1,202 @@
+package com.example.fraud.observability;
+
+import com.example.fraud.config.MetricsProperties;
+import com.example.fraud.dto.ToolResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.server.McpToolFunction;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Wraps MCP tool functions with latency, throughput, error, payload-size and in-flight metrics.
+ * Applied to the whole tool list in {@code McpConfiguration}, so tools carry no metrics code.
+ *
+ * Latency timers publish a percentile histogram (Micrometer keeps these as HdrHistogram-backed
+ * time windows), which Prometheus can aggregate across instances.
+ */
+@Component
+public class McpToolInstrumentation {
+    
+    private static final Logger logger = LoggerFactory.getLogger(McpToolInstrumentation.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final ObjectMapper objectMapper;
+    private final MetricsProperties properties;
+    private final Map<String, ToolMeters> meters = new ConcurrentHashMap<>();
+    
+    public McpToolInstrumentation(MeterRegistry meterRegistry, Tracer tracer, ObjectMapper objectMapper,
+                                  MetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+    
+    /**
+     * Instrument every tool in the list
+     */
+    public List<McpToolFunction> instrumentAll(List<McpToolFunction> tools) {
+        return tools.stream().map(this::instrument).toList();
+    }
+    
+    /**
+     * Return a tool with the same name, description and parameters whose function is measured
+     */
+    public McpToolFunction instrument(McpToolFunction tool) {
+        ToolMeters toolMeters = meters.computeIfAbsent(tool.getName(), this::register);
+        return McpToolFunction.builder()
+            .name(tool.getName())
+            .description(tool.getDescription())
+            .parameters(tool.getParameters())
+            .function(args -> invoke(toolMeters, args, () -> tool.getFunction().apply(args)))
+            .build();
+    }
+    
+    /**
+     * Meters of all instrumented tools, keyed by tool name
+     */
+    public Collection<ToolMeters> toolMeters() {
+        return meters.values();
+    }
+    
+    private Object invoke(ToolMeters toolMeters, Object args, Supplier<Object> call) {
+        boolean sampled = properties.payloadSampleRate() > 0
+            && ThreadLocalRandom.current().nextDouble() < properties.payloadSampleRate();
+        Span span = tracer.nextSpan().name("mcp.tool " + toolMeters.tool()).tag("tool", toolMeters.tool()).start();
+        if (sampled) {
+            long requestBytes = jsonSize(args);
+            toolMeters.requestBytes().record(requestBytes);
+            span.tag("request.bytes", requestBytes);
+        }
+        
+        toolMeters.inFlight().incrementAndGet();
+        String previousTool = McpToolContext.enter(toolMeters.tool());
+        long start = System.nanoTime();
+        boolean failed = true;
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            Object result = call.get();
+            failed = isFailure(result);
+            if (sampled) {
+                long responseBytes = jsonSize(result);
+                toolMeters.responseBytes().record(responseBytes);
+                span.tag("response.bytes", responseBytes);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            toolMeters.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            McpToolContext.restore(previousTool);
+            toolMeters.inFlight().decrementAndGet();
+            toolMeters.calls().increment();
+            if (failed) {
+                toolMeters.errors().increment();
+            }
+            span.tag("outcome", failed ? "error" : "success");
+            span.end();
+        }
+    }
+    
+    /**
+     * Tools report failures as results with success=false rather than by throwing
+     */
+    private static boolean isFailure(Object result) {
+        if (result instanceof ToolResponse response) {
+            return !response.success();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return Boolean.FALSE.equals(map.get("success"));
+        }
+        return false;
+    }
+    
+    private long jsonSize(Object value) {
+        CountingOutputStream counter = new CountingOutputStream();
+        try {
+            objectMapper.writeValue(counter, value);
+        } catch (IOException e) {
+            logger.debug("Could not measure payload size: {}", e.getMessage());
+        }
+        return counter.count;
+    }
+    
+    private ToolMeters register(String tool) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("mcp.tool.in_flight", inFlight, AtomicInteger::get)
+            .description("MCP tool calls currently executing")
+            .tag("tool", tool)
+            .register(meterRegistry);
+        return new ToolMeters(
+            tool,
+            Timer.builder("mcp.tool.latency")
+                .description("MCP tool call latency")
+                .tag("tool", tool)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry),
+            Counter.builder("mcp.tool.calls")
+                .description("MCP tool calls")
+                .tag("tool", tool)
+                .register(meterRegistry),
+            Counter.builder("mcp.tool.errors")
+                .description("MCP tool calls that threw or returned success=false")
+                .tag("tool", tool)
+                .register(meterRegistry),
+            DistributionSummary.builder("mcp.tool.request.size")
+                .description("Sampled MCP tool argument size as JSON")
+                .baseUnit("bytes")
+                .tag("tool", tool)
+                .register(meterRegistry),
+            DistributionSummary.builder("mcp.tool.response.size")
+                .description("Sampled MCP tool result size as JSON")
+                .baseUnit("bytes")
+                .tag("tool", tool)
+                .register(meterRegistry),
+            inFlight
+        );
+    }
+    
+    /**
+     * Meters for one tool
+     */
+    public record ToolMeters(String tool, Timer latency, Counter calls, Counter errors,
+                             DistributionSummary requestBytes, DistributionSummary responseBytes,
+                             AtomicInteger inFlight) {
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+        
+        private long count;
+        
+        @Override
+        public void write(int b) {
+            count++;
+        }
+        
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.fraud.observability;
+
+import com.example.fraud.config.MetricsProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves {@code GET /metrics} in Prometheus text format. The server talks MCP over stdio and has
+ * no servlet container, so the actuator endpoint is not reachable; this uses the JDK HTTP server.
+ * The endpoint has no authentication and binds to loopback unless fraud.metrics.prometheus-address says otherwise.
+ */
+@Component
+public class PrometheusScrapeServer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusScrapeServer.class);
+    
+    private final ObjectProvider<PrometheusMeterRegistry> registry;
+    private final MetricsProperties properties;
+    private HttpServer server;
+    
+    public PrometheusScrapeServer(ObjectProvider<PrometheusMeterRegistry> registry, MetricsProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+    
+    @PostConstruct
+    void start() {
+        PrometheusMeterRegistry prometheus = registry.getIfAvailable();
+        if (properties.prometheusPort() <= 0 || prometheus == null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(
+                new InetSocketAddress(properties.prometheusAddress(), properties.prometheusPort()), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = prometheus.scrape().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            logger.info("Prometheus metrics available on {}:{}", properties.prometheusAddress(), properties.prometheusPort());
+        } catch (IOException e) {
+            // Several MCP server processes may run side by side; only the first gets the port
+            logger.warn("Prometheus scrape endpoint disabled, could not bind {}:{}: {}",
+                properties.prometheusAddress(), properties.prometheusPort(), e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+}
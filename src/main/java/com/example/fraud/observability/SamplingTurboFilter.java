@@ -0,0 +1,50 @@
+package com.example.fraud.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code sampleEvery} log calls carrying the configured marker.
+ * Runs before the event is created, so dropped calls cost no formatting or allocation.
+ * WARN and ERROR are never sampled.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    
+    private final AtomicLong counter = new AtomicLong();
+    private String marker;
+    private long sampleEvery = 1;
+    
+    @Override
+    public FilterReply decide(Marker eventMarker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (sampleEvery <= 1 || eventMarker == null || !eventMarker.contains(marker)
+                || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!logger.isEnabledFor(level)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % sampleEvery == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+    
+    public void setMarker(String marker) {
+        this.marker = marker;
+    }
+    
+    public void setSampleEvery(long sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+    
+    @Override
+    public void start() {
+        if (marker == null) {
+            addError("No marker configured for SamplingTurboFilter");
+            return;
+        }
+        super.start();
+    }
+}
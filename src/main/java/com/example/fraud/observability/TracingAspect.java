@@ -0,0 +1,73 @@
+package com.example.fraud.observability;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Opens a span around every public service method and every repository query, tagged with
+ * the number of rows returned. Together with the tool and model-call spans this splits a
+ * slow tool call into SQL, hydration/mapping, prompt building and Bedrock time.
+ */
+@Aspect
+@Component
+public class TracingAspect {
+    
+    private final Tracer tracer;
+    
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+    
+    @Around("execution(public * com.example.fraud.service..*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, joinPoint.getSignature().getDeclaringType().getSimpleName(), "service");
+    }
+    
+    /**
+     * Inherited JpaRepository methods are declared on Spring Data interfaces, so the span is named after our interface
+     */
+    @Around("this(com.example.fraud.repository.FraudRecordRepository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "FraudRecordRepository", "repository");
+    }
+    
+    @Around("execution(public * com.example.fraud.repository.FraudRecordPartitionRouter.*(..))")
+    public Object traceColdPartitions(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "FraudRecordPartitionRouter", "repository");
+    }
+    
+    private Object trace(ProceedingJoinPoint joinPoint, String type, String layer) throws Throwable {
+        Span span = tracer.nextSpan()
+            .name(type + "." + joinPoint.getSignature().getName())
+            .tag("layer", layer)
+            .tag("tool", McpToolContext.currentTool())
+            .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            Object result = joinPoint.proceed();
+            tagRows(span, result);
+            return result;
+        } catch (Throwable t) {
+            span.error(t);
+            throw t;
+        } finally {
+            span.end();
+        }
+    }
+    
+    private static void tagRows(Span span, Object result) {
+        if (result instanceof Collection<?> collection) {
+            span.tag("rows", collection.size());
+        } else if (result instanceof Optional<?> optional) {
+            span.tag("rows", optional.isPresent() ? 1 : 0);
+        } else if (result instanceof CharSequence text) {
+            span.tag("result.chars", text.length());
+        }
+    }
+}
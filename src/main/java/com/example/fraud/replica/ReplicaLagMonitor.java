@@ -0,0 +1,165 @@
+package com.example.fraud.replica;
+
+import com.example.fraud.config.ReplicaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures replica lag with a heartbeat row: the current time is written to the primary, and the
+ * value the replica returns is compared with the time it was read. The replica is used for reads
+ * only while that lag is within {@code fraud.replica.max-lag} and the last check is recent.
+ * <p>
+ * For snapshot replicas, reads also stay on the primary after a write until a snapshot whose heartbeat
+ * is newer than that write is in place (read-your-writes). Writes are tracked for the MCP client,
+ * which over stdio is the one client of this process, so they are tracked process-wide rather than
+ * per thread: a tool call reads its own earlier calls' writes whichever thread runs it, and so do
+ * the branches a call forks onto other threads.
+ * <p>
+ * A WAL replica reads the primary file itself, so its heartbeat always comes back current and the
+ * lag measured is about 0 by construction; only the snapshot mode has a lag worth watching.
+ */
+public class ReplicaLagMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    private static final String WRITE_HEARTBEAT = "INSERT OR REPLACE INTO replica_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+    
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    // Commit time of the client's last write, for read-your-writes on snapshot replicas
+    private final AtomicLong lastClientWrite = new AtomicLong(-1);
+    
+    private volatile long replicaBeatMillis = -1;
+    private volatile long lagMillis = -1;
+    private volatile long lastCheckMillis;
+    private volatile boolean reportedBehind;
+    
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaProperties properties,
+                             TaskScheduler taskScheduler, MeterRegistry meterRegistry, Clock clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        Gauge.builder("fraud.replica.lag", this, monitor -> monitor.lagMillis < 0 ? Double.NaN : monitor.lagMillis / 1000.0)
+            .description("Replica lag measured at the last heartbeat check; always about 0 for a WAL replica of the same file")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("fraud.replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+            .description("Whether the replica is within the allowed lag; reads still wait for a snapshot newer than the last write")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Start heartbeats once migrations have created the heartbeat table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::heartbeat, properties.heartbeatInterval());
+    }
+    
+    /**
+     * Write a heartbeat to the primary and read it back from the replica
+     */
+    public void heartbeat() {
+        long now = clock.millis();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement ps = connection.prepareStatement(WRITE_HEARTBEAT)) {
+            ps.setLong(1, now);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            logger.warn("Failed to write replica heartbeat: {}", e.getMessage());
+        }
+        
+        try (Connection connection = replica.getConnection();
+             PreparedStatement ps = connection.prepareStatement(READ_HEARTBEAT);
+             ResultSet rs = ps.executeQuery()) {
+            replicaBeatMillis = rs.next() ? rs.getLong(1) : -1;
+        } catch (SQLException e) {
+            // A snapshot replica has no heartbeat table until the first snapshot is taken
+            logger.debug("Failed to read replica heartbeat: {}", e.getMessage());
+            replicaBeatMillis = -1;
+        }
+        long checkedAt = clock.millis();
+        lagMillis = replicaBeatMillis < 0 ? -1 : Math.max(0, checkedAt - replicaBeatMillis);
+        lastCheckMillis = checkedAt;
+        
+        boolean behind = lagMillis < 0 || lagMillis > properties.maxLag().toMillis();
+        if (behind && !reportedBehind) {
+            logger.warn("Read replica lag is {} ms, routing read-only transactions to the primary", lagMillis);
+        } else if (!behind && reportedBehind) {
+            logger.info("Read replica caught up ({} ms lag), routing read-only transactions to it", lagMillis);
+        }
+        reportedBehind = behind;
+    }
+    
+    /**
+     * Whether the replica is within the allowed lag, regardless of the client's writes
+     */
+    public boolean isReplicaUsable() {
+        long maxLag = properties.maxLag().toMillis();
+        if (lagMillis < 0 || lagMillis > maxLag) {
+            return false;
+        }
+        // Heartbeats have stopped, so the last measurement can no longer be trusted
+        return clock.millis() - lastCheckMillis <= maxLag;
+    }
+    
+    /**
+     * Whether read-only work may go to the replica now without missing the client's own writes
+     */
+    public boolean isReplicaUsableForClient() {
+        if (!isReplicaUsable()) {
+            return false;
+        }
+        // A WAL reader of the primary file sees every commit; a snapshot only those before its heartbeat
+        return !properties.snapshots() || replicaBeatMillis > lastClientWrite.get();
+    }
+    
+    /**
+     * Record that the client committed a write to the primary
+     */
+    public void recordPrimaryWrite() {
+        if (properties.snapshots()) {
+            lastClientWrite.accumulateAndGet(clock.millis(), Math::max);
+        }
+    }
+    
+    /**
+     * Whether the replica is a snapshot file, the only mode in which lag is more than about 0
+     */
+    public boolean isSnapshotReplica() {
+        return properties.snapshots();
+    }
+    
+    /**
+     * Lag at the last check in milliseconds, or -1 if the replica heartbeat could not be read
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+    
+    /**
+     * Time of the last heartbeat check in epoch milliseconds
+     */
+    public long lastCheckMillis() {
+        return lastCheckMillis;
+    }
+}
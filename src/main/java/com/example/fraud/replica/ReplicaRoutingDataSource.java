@@ -0,0 +1,100 @@
+package com.example.fraud.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica while it is
+ * within the allowed lag, and everything else to the primary. The read-only flag is only known once
+ * the transaction has started, so this must sit behind a LazyConnectionDataSourceProxy.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public enum Target { PRIMARY, REPLICA }
+    
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.primaryConnections = routedCounter(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = routedCounter(meterRegistry, Target.REPLICA);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaUsableForClient()) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        // Plain connections (bulk import, compaction) commit whenever they like, so their last write
+        // is only known to be done once the connection is closed
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                } finally {
+                    if (method.getName().equals("close")) {
+                        lagMonitor.recordPrimaryWrite();
+                    }
+                }
+            });
+    }
+    
+    /**
+     * Note the commit time of work that may write, so the client does not read a snapshot taken
+     * before it
+     */
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Plain connection outside a transaction: assume it writes, now and again when it is closed
+            lagMonitor.recordPrimaryWrite();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    lagMonitor.recordPrimaryWrite();
+                }
+            }
+        });
+    }
+    
+    private static Counter routedCounter(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("fraud.replica.connections")
+            .description("Connections handed out by the read/write router")
+            .tag("target", target.name().toLowerCase())
+            .register(meterRegistry);
+    }
+}
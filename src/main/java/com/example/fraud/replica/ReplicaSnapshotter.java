@@ -0,0 +1,96 @@
+package com.example.fraud.replica;
+
+import com.example.fraud.config.ReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Refreshes a snapshot replica: VACUUM INTO a temporary file, switch it to rollback journaling so
+ * read-only connections need no -shm file, move it over the replica file and retire pooled
+ * connections still reading the previous snapshot.
+ */
+public class ReplicaSnapshotter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSnapshotter.class);
+    
+    private final DataSource primary;
+    private final HikariDataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReplicaProperties properties;
+    private final TaskScheduler taskScheduler;
+    
+    public ReplicaSnapshotter(DataSource primary, HikariDataSource replica, ReplicaLagMonitor lagMonitor,
+                              ReplicaProperties properties, TaskScheduler taskScheduler) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+    }
+    
+    /**
+     * Take the first snapshot right away, then one per snapshot interval
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.snapshots()) {
+            taskScheduler.scheduleWithFixedDelay(this::scheduledSnapshot, properties.snapshotInterval());
+        }
+    }
+    
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            logger.error("Replica snapshot failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Replace the replica file with a fresh copy of the primary
+     */
+    public synchronized void snapshot() throws SQLException, IOException {
+        long start = System.nanoTime();
+        Path target = Paths.get(properties.snapshotPath()).toAbsolutePath();
+        Path staging = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.createDirectories(target.getParent());
+        Files.deleteIfExists(staging);
+        
+        // Heartbeat first, so the snapshot's heartbeat row dates the data it contains
+        lagMonitor.heartbeat();
+        try (Connection connection = primary.getConnection();
+             PreparedStatement ps = connection.prepareStatement("VACUUM INTO ?")) {
+            ps.setString(1, staging.toString());
+            ps.execute();
+        }
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + staging);
+             Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode = DELETE");
+        }
+        Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+        
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        if (pool != null) {
+            pool.softEvictConnections();
+        }
+        lagMonitor.heartbeat();
+        logger.debug("Replica snapshot written to {} in {} ms", target, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.fraud.repository;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * A compacted, read-only month of fraud records held in its own SQLite file.
+ * Counts are computed once at compaction, since cold partitions never change afterwards.
+ */
+public record FraudPartition(
+        YearMonth month,
+        String fileName,
+        LocalDateTime rangeStart,
+        LocalDateTime rangeEnd,
+        LocalDateTime minDetectedAt,
+        LocalDateTime maxDetectedAt,
+        long recordCount,
+        long highRiskCount,
+        long mediumRiskCount,
+        long lowRiskCount,
+        long unverifiedCount,
+        long highRiskUnverifiedCount,
+        LocalDateTime compactedAt) {
+    
+    /**
+     * Whether any record created in [from, to) may live in this partition
+     */
+    public boolean overlapsCreated(LocalDateTime from, LocalDateTime to) {
+        return (to == null || rangeStart.isBefore(to)) && (from == null || rangeEnd.isAfter(from));
+    }
+    
+    /**
+     * Whether any record detected in [from, to) may live in this partition
+     */
+    public boolean overlapsDetected(LocalDateTime from, LocalDateTime to) {
+        if (minDetectedAt == null || maxDetectedAt == null) {
+            return false;
+        }
+        return (to == null || minDetectedAt.isBefore(to)) && (from == null || !maxDetectedAt.isBefore(from));
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.fraud.repository;
+
+import com.example.fraud.config.PartitioningProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manifest of cold fraud record partitions, kept in the fraud_partitions table of the main database
+ * and cached in memory. Partitions are listed newest first.
+ */
+@Component
+public class FraudPartitionCatalog {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FraudPartitionCatalog.class);
+    
+    private static final String SELECT_ALL = """
+        SELECT partition_key, file_name, range_start, range_end, min_detected_at, max_detected_at,
+               record_count, high_risk_count, medium_risk_count, low_risk_count, unverified_count,
+               high_risk_unverified_count, compacted_at
+        FROM fraud_partitions
+        """;
+    
+    private static final String UPSERT = """
+        INSERT OR REPLACE INTO fraud_partitions (partition_key, file_name, range_start, range_end,
+               min_detected_at, max_detected_at, record_count, high_risk_count, medium_risk_count,
+               low_risk_count, unverified_count, high_risk_unverified_count, compacted_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitioningProperties properties;
+    
+    private volatile List<FraudPartition> partitions = List.of();
+    
+    public FraudPartitionCatalog(JdbcTemplate jdbcTemplate, PartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+    
+    /**
+     * The fraud_partitions table is created by migration V2
+     */
+    @PostConstruct
+    void initialize() {
+        backfillHighRiskUnverifiedCounts();
+        refresh();
+        logger.info("Loaded {} cold fraud record partitions", partitions.size());
+    }
+    
+    /**
+     * Reload the manifest from the database
+     */
+    public void refresh() {
+        partitions = jdbcTemplate.query(SELECT_ALL, (rs, rowNum) -> new FraudPartition(
+                YearMonth.parse(rs.getString("partition_key")),
+                rs.getString("file_name"),
+                FraudRecordRows.timestamp(rs, "range_start"),
+                FraudRecordRows.timestamp(rs, "range_end"),
+                FraudRecordRows.timestamp(rs, "min_detected_at"),
+                FraudRecordRows.timestamp(rs, "max_detected_at"),
+                rs.getLong("record_count"),
+                rs.getLong("high_risk_count"),
+                rs.getLong("medium_risk_count"),
+                rs.getLong("low_risk_count"),
+                rs.getLong("unverified_count"),
+                rs.getLong("high_risk_unverified_count"),
+                FraudRecordRows.timestamp(rs, "compacted_at")))
+            .stream()
+            .sorted(Comparator.comparing(FraudPartition::month).reversed())
+            .toList();
+    }
+    
+    /**
+     * Count high-risk unverified records in partitions compacted before migration V6 added the column
+     */
+    private void backfillHighRiskUnverifiedCounts() {
+        List<Map<String, Object>> missing = jdbcTemplate.queryForList(
+            "SELECT partition_key, file_name FROM fraud_partitions WHERE high_risk_unverified_count IS NULL");
+        if (missing.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            for (Map<String, Object> row : missing) {
+                Path file = resolve((String) row.get("file_name"));
+                if (!Files.exists(file)) {
+                    logger.warn("Cold partition file missing for {}: {}", row.get("partition_key"), file);
+                    continue;
+                }
+                long count;
+                FraudRecordPartitionRouter.attach(connection, file);
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery(
+                         "SELECT COUNT(*) FROM cold.fraud_records WHERE risk_level = 'HIGH' AND NOT is_verified")) {
+                    rs.next();
+                    count = rs.getLong(1);
+                } finally {
+                    FraudRecordPartitionRouter.detach(connection);
+                }
+                try (PreparedStatement ps = connection.prepareStatement(
+                        "UPDATE fraud_partitions SET high_risk_unverified_count = ? WHERE partition_key = ?")) {
+                    ps.setLong(1, count);
+                    ps.setString(2, (String) row.get("partition_key"));
+                    ps.executeUpdate();
+                }
+            }
+            return null;
+        });
+        logger.info("Counted high-risk unverified records of {} cold fraud record partitions", missing.size());
+    }
+    
+    /**
+     * Record a partition on the given connection, so it commits together with the hot-table delete
+     */
+    void register(Connection connection, FraudPartition partition) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(UPSERT)) {
+            ps.setString(1, partition.month().toString());
+            ps.setString(2, partition.fileName());
+            ps.setTimestamp(3, Timestamp.valueOf(partition.rangeStart()));
+            ps.setTimestamp(4, Timestamp.valueOf(partition.rangeEnd()));
+            ps.setTimestamp(5, toTimestamp(partition.minDetectedAt()));
+            ps.setTimestamp(6, toTimestamp(partition.maxDetectedAt()));
+            ps.setLong(7, partition.recordCount());
+            ps.setLong(8, partition.highRiskCount());
+            ps.setLong(9, partition.mediumRiskCount());
+            ps.setLong(10, partition.lowRiskCount());
+            ps.setLong(11, partition.unverifiedCount());
+            ps.setLong(12, partition.highRiskUnverifiedCount());
+            ps.setTimestamp(13, Timestamp.valueOf(partition.compactedAt()));
+            ps.executeUpdate();
+        }
+    }
+    
+    /**
+     * All cold partitions, newest first; empty when partitioning is disabled
+     */
+    public List<FraudPartition> all() {
+        return properties.enabled() ? partitions : List.of();
+    }
+    
+    /**
+     * Cold partitions that may hold records created in [from, to)
+     */
+    public List<FraudPartition> overlappingCreated(LocalDateTime from, LocalDateTime to) {
+        return all().stream().filter(p -> p.overlapsCreated(from, to)).toList();
+    }
+    
+    /**
+     * Cold partitions that may hold records detected in [from, to)
+     */
+    public List<FraudPartition> overlappingDetected(LocalDateTime from, LocalDateTime to) {
+        return all().stream().filter(p -> p.overlapsDetected(from, to)).toList();
+    }
+    
+    /**
+     * Partition for a month, if it has been compacted
+     */
+    public FraudPartition find(YearMonth month) {
+        return partitions.stream().filter(p -> p.month().equals(month)).findFirst().orElse(null);
+    }
+    
+    /**
+     * Location of a partition file
+     */
+    public Path resolve(String fileName) {
+        return Paths.get(properties.directory()).resolve(fileName);
+    }
+    
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.fraud.repository;
+
+import com.example.fraud.config.PartitioningProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves months that have aged out of the hot window from fraud_records into cold partition files.
+ *
+ * Each cold file is built under a temporary name, rows clustered by created_at, indexed, analyzed
+ * and vacuumed with large pages, then renamed to a file name of its own. The manifest entry that
+ * switches the month to the new file and the hot-table delete commit together, so a crash part-way
+ * leaves the previous file and the hot rows authoritative; a file replaced by a late-arrival merge
+ * is deleted only after that commit. The build runs without holding the write lock, so the delete
+ * only happens if the month's hot rows still match the new file exactly; otherwise the month is
+ * left hot and retried on the next run.
+ */
+@Component
+public class FraudPartitionCompactor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FraudPartitionCompactor.class);
+    
+    private static final String BUILD_SCHEMA = "build";
+    private static final String PREVIOUS_SCHEMA = "previous";
+    private static final String BUILT_SCHEMA = "built";
+    
+    /**
+     * Cold row c holds hot row h with every column equal, NULLs included
+     */
+    private static final String SAME_ROW = "c.id = h.id" + Arrays.stream(FraudRecordRows.COLUMNS.split(",\\s*"))
+        .filter(column -> !column.equals("id"))
+        .map(column -> " AND c." + column + " IS h." + column)
+        .collect(Collectors.joining());
+    
+    private final DataSource dataSource;
+    private final FraudPartitionCatalog catalog;
+    private final PartitioningProperties properties;
+    private final Clock clock;
+    
+    public FraudPartitionCompactor(DataSource dataSource, FraudPartitionCatalog catalog,
+                                   PartitioningProperties properties, Clock clock) {
+        this.dataSource = dataSource;
+        this.catalog = catalog;
+        this.properties = properties;
+        this.clock = clock;
+    }
+    
+    /**
+     * Scheduled compaction run
+     */
+    @Scheduled(cron = "${fraud.partitioning.compaction-cron:0 15 3 * * *}")
+    public void scheduledCompaction() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            compact();
+        } catch (Exception e) {
+            logger.error("Fraud record partition compaction failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Compact every month older than the hot window and return the months that were written
+     */
+    public synchronized List<YearMonth> compact() throws SQLException, IOException {
+        YearMonth oldestHotMonth = YearMonth.now(clock).minusMonths(Math.max(1, properties.hotMonths()) - 1);
+        LocalDateTime boundary = oldestHotMonth.atDay(1).atStartOfDay();
+        Files.createDirectories(catalog.resolve("."));
+        
+        List<YearMonth> compacted = new ArrayList<>();
+        List<Path> replaced = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            LocalDateTime oldest = oldestHotRecord(connection, boundary);
+            if (oldest == null) {
+                logger.debug("No fraud records older than {} to compact", boundary);
+                return compacted;
+            }
+            for (YearMonth month = YearMonth.from(oldest); month.isBefore(oldestHotMonth); month = month.plusMonths(1)) {
+                if (compactMonth(connection, month, replaced)) {
+                    compacted.add(month);
+                }
+            }
+        } finally {
+            catalog.refresh();
+            // Readers pick files from the refreshed manifest, so files it no longer names can go
+            for (Path file : replaced) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("Could not delete replaced cold partition file {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        logger.info("Compacted {} month(s) of fraud records into cold partitions: {}", compacted.size(), compacted);
+        return compacted;
+    }
+    
+    private boolean compactMonth(Connection connection, YearMonth month, List<Path> replaced)
+            throws SQLException, IOException {
+        LocalDateTime rangeStart = month.atDay(1).atStartOfDay();
+        LocalDateTime rangeEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+        
+        long hotRows = countHot(connection, rangeStart, rangeEnd);
+        if (hotRows == 0) {
+            return false;
+        }
+        
+        // A new name per build: the file the manifest currently names is never overwritten
+        String fileName = "fraud_records_" + month + "_" + clock.millis() + ".db";
+        Path target = catalog.resolve(fileName);
+        Path temp = catalog.resolve(fileName + ".tmp");
+        Files.deleteIfExists(temp);
+        
+        FraudPartition existing = catalog.find(month);
+        Path previous = existing != null ? catalog.resolve(existing.fileName()) : null;
+        FraudPartition partition;
+        long copiedRows;
+        
+        attach(connection, temp.toAbsolutePath().toString(), BUILD_SCHEMA);
+        try {
+            execute(connection, "PRAGMA build.page_size = 65536");
+            execute(connection, "PRAGMA build.journal_mode = OFF");
+            execute(connection, String.format(FraudRecordRows.PARTITION_TABLE_DDL, BUILD_SCHEMA));
+            
+            // Late arrivals for an already compacted month are merged with the existing file
+            if (previous != null && Files.exists(previous)) {
+                attach(connection, previous.toAbsolutePath().toUri() + "?mode=ro&immutable=1", PREVIOUS_SCHEMA);
+                try {
+                    execute(connection, "INSERT INTO build.fraud_records (" + FraudRecordRows.COLUMNS + ") " +
+                        "SELECT " + FraudRecordRows.COLUMNS + " FROM previous.fraud_records");
+                } finally {
+                    execute(connection, "DETACH DATABASE " + PREVIOUS_SCHEMA);
+                }
+            }
+            
+            copiedRows = copyHotRows(connection, rangeStart, rangeEnd);
+            
+            execute(connection, "CREATE INDEX build.idx_cold_created_at ON fraud_records (created_at)");
+            execute(connection, "CREATE INDEX build.idx_cold_detected_at ON fraud_records (detected_at)");
+            execute(connection, "CREATE INDEX build.idx_cold_user_id ON fraud_records (user_id)");
+            execute(connection, "CREATE INDEX build.idx_cold_transaction_id ON fraud_records (transaction_id)");
+            execute(connection, "ANALYZE build");
+            
+            partition = summarize(connection, month, fileName, rangeStart, rangeEnd);
+            execute(connection, "VACUUM build");
+        } finally {
+            execute(connection, "DETACH DATABASE " + BUILD_SCHEMA);
+        }
+        
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        
+        // Indexing and VACUUM ran without a lock, so hot rows of the month may have been verified,
+        // imported or deleted since the copy. The manifest write takes the write lock first; the
+        // month's hot rows are then checked against the new file and deleted only if they all match.
+        boolean switched = false;
+        attach(connection, target.toAbsolutePath().toUri() + "?mode=ro&immutable=1", BUILT_SCHEMA);
+        try {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                catalog.register(connection, partition);
+                long changedRows = countChangedSinceCopy(connection, rangeStart, rangeEnd);
+                long currentRows = countHot(connection, rangeStart, rangeEnd);
+                if (changedRows == 0 && currentRows == copiedRows) {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "DELETE FROM main.fraud_records WHERE created_at >= ? AND created_at < ?")) {
+                        ps.setTimestamp(1, Timestamp.valueOf(rangeStart));
+                        ps.setTimestamp(2, Timestamp.valueOf(rangeEnd));
+                        ps.executeUpdate();
+                    }
+                    connection.commit();
+                    switched = true;
+                } else {
+                    connection.rollback();
+                    logger.warn("Hot fraud records for {} changed during compaction ({} changed or added, {} copied, {} now); "
+                        + "the month stays hot until the next run", month, changedRows, copiedRows, currentRows);
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            execute(connection, "DETACH DATABASE " + BUILT_SCHEMA);
+            if (!switched) {
+                // The manifest still names the previous file, so the new one is unreferenced
+                Files.deleteIfExists(target);
+            }
+        }
+        if (!switched) {
+            return false;
+        }
+        if (previous != null && !previous.equals(target)) {
+            replaced.add(previous);
+        }
+        
+        logger.info("Compacted {} hot fraud records for {} into {} ({} total)",
+                   copiedRows, month, target, partition.recordCount());
+        return true;
+    }
+    
+    /**
+     * Copy the month's hot rows into the build file and return how many hot rows the month had,
+     * both read from one snapshot of the hot table
+     */
+    private static long copyHotRows(Connection connection, LocalDateTime rangeStart, LocalDateTime rangeEnd)
+            throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long rows = countHot(connection, rangeStart, rangeEnd);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT OR IGNORE INTO build.fraud_records (" + FraudRecordRows.COLUMNS + ") " +
+                    "SELECT " + FraudRecordRows.COLUMNS + " FROM main.fraud_records " +
+                    "WHERE created_at >= ? AND created_at < ? ORDER BY created_at")) {
+                ps.setTimestamp(1, Timestamp.valueOf(rangeStart));
+                ps.setTimestamp(2, Timestamp.valueOf(rangeEnd));
+                ps.executeUpdate();
+            }
+            connection.commit();
+            return rows;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
+    /**
+     * Hot rows of the month that the built file does not hold with identical values: rows inserted
+     * or updated after the copy
+     */
+    private static long countChangedSinceCopy(Connection connection, LocalDateTime rangeStart, LocalDateTime rangeEnd)
+            throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT COUNT(*) FROM main.fraud_records h WHERE h.created_at >= ? AND h.created_at < ? " +
+                "AND NOT EXISTS (SELECT 1 FROM built.fraud_records c WHERE " + SAME_ROW + ")")) {
+            ps.setTimestamp(1, Timestamp.valueOf(rangeStart));
+            ps.setTimestamp(2, Timestamp.valueOf(rangeEnd));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+    
+    private FraudPartition summarize(Connection connection, YearMonth month, String fileName,
+                                     LocalDateTime rangeStart, LocalDateTime rangeEnd) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                 SELECT COUNT(*) AS record_count,
+                        SUM(CASE WHEN risk_level = 'HIGH' THEN 1 ELSE 0 END) AS high_risk_count,
+                        SUM(CASE WHEN risk_level = 'MEDIUM' THEN 1 ELSE 0 END) AS medium_risk_count,
+                        SUM(CASE WHEN risk_level = 'LOW' THEN 1 ELSE 0 END) AS low_risk_count,
+                        SUM(CASE WHEN is_verified THEN 0 ELSE 1 END) AS unverified_count,
+                        SUM(CASE WHEN risk_level = 'HIGH' AND NOT is_verified THEN 1 ELSE 0 END) AS high_risk_unverified_count,
+                        MIN(detected_at) AS min_detected_at,
+                        MAX(detected_at) AS max_detected_at
+                 FROM build.fraud_records
+                 """)) {
+            rs.next();
+            return new FraudPartition(
+                month,
+                fileName,
+                rangeStart,
+                rangeEnd,
+                FraudRecordRows.timestamp(rs, "min_detected_at"),
+                FraudRecordRows.timestamp(rs, "max_detected_at"),
+                rs.getLong("record_count"),
+                rs.getLong("high_risk_count"),
+                rs.getLong("medium_risk_count"),
+                rs.getLong("low_risk_count"),
+                rs.getLong("unverified_count"),
+                rs.getLong("high_risk_unverified_count"),
+                LocalDateTime.now(clock)
+            );
+        }
+    }
+    
+    private static LocalDateTime oldestHotRecord(Connection connection, LocalDateTime boundary) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT MIN(created_at) AS oldest FROM main.fraud_records WHERE created_at < ?")) {
+            ps.setTimestamp(1, Timestamp.valueOf(boundary));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? FraudRecordRows.timestamp(rs, "oldest") : null;
+            }
+        }
+    }
+    
+    private static long countHot(Connection connection, LocalDateTime from, LocalDateTime to) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT COUNT(*) FROM main.fraud_records WHERE created_at >= ? AND created_at < ?")) {
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+    
+    private static void attach(Connection connection, String location, String schema) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("ATTACH DATABASE ? AS " + schema)) {
+            ps.setString(1, location);
+            ps.execute();
+        }
+    }
+    
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.example.fraud.repository;
+
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.entity.FraudRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Routes fraud record queries across the hot fraud_records table and the cold monthly partitions.
+ * The hot side goes through {@link FraudRecordRepository}; cold partitions are pruned by their
+ * created/detected ranges and attached read-only, one at a time, on a separate connection.
+ */
+@Component
+public class FraudRecordPartitionRouter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FraudRecordPartitionRouter.class);
+    
+    private static final String COLD_SCHEMA = "cold";
+    private static final int WATERMARK_LOOKUP_BATCH = 500;
+    
+    private final FraudRecordRepository fraudRecordRepository;
+    private final FraudPartitionCatalog catalog;
+    private final DataSource dataSource;
+    
+    public FraudRecordPartitionRouter(FraudRecordRepository fraudRecordRepository,
+                                      FraudPartitionCatalog catalog,
+                                      DataSource dataSource) {
+        this.fraudRecordRepository = fraudRecordRepository;
+        this.catalog = catalog;
+        this.dataSource = dataSource;
+    }
+    
+    /**
+     * Find a record by ID, falling back to the cold partitions (newest first)
+     */
+    public Optional<FraudRecord> findById(UUID id) {
+        Optional<FraudRecord> hot = fraudRecordRepository.findById(id);
+        if (hot.isPresent()) {
+            return hot;
+        }
+        byte[] key = FraudRecordRows.uuidBytes(id);
+        for (FraudPartition partition : catalog.all()) {
+            List<FraudRecord> found = queryCold(List.of(partition),
+                "SELECT " + FraudRecordRows.COLUMNS + " FROM cold.fraud_records WHERE id = ?",
+                ps -> ps.setBytes(1, key),
+                FraudRecordRows::entity);
+            if (!found.isEmpty()) {
+                return Optional.of(found.get(0));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Find the ID of the cold record for a transaction, newest partition first. Each partition
+     * file is looked up through its transaction_id index.
+     */
+    public Optional<UUID> findColdIdByTransactionId(String transactionId) {
+        for (FraudPartition partition : catalog.all()) {
+            List<UUID> found = queryCold(List.of(partition),
+                "SELECT id FROM cold.fraud_records WHERE transaction_id = ? LIMIT 1",
+                ps -> ps.setString(1, transactionId),
+                rs -> FraudRecordRows.uuid(rs, "id"));
+            if (!found.isEmpty()) {
+                return Optional.of(found.get(0));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Find summaries for a user across all tiers
+     */
+    public List<FraudRecordSummary> findSummariesByUserId(String userId) {
+        List<FraudRecordSummary> result = new ArrayList<>(fraudRecordRepository.findSummariesByUserId(userId));
+        result.addAll(queryCold(catalog.all(),
+            "SELECT " + FraudRecordRows.SUMMARY_COLUMNS + " FROM cold.fraud_records WHERE user_id = ?",
+            ps -> ps.setString(1, userId),
+            FraudRecordRows::summary));
+        return result;
+    }
+    
+    /**
+     * Find summaries of any of the given users across all tiers, with one IN query per tier
+     */
+    public List<FraudRecordSummary> findSummariesByUserIds(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        List<FraudRecordSummary> result = new ArrayList<>(fraudRecordRepository.findSummariesByUserIdIn(userIds));
+        List<String> users = List.copyOf(userIds);
+        result.addAll(queryCold(catalog.all(),
+            "SELECT " + FraudRecordRows.SUMMARY_COLUMNS + " FROM cold.fraud_records WHERE user_id IN (" +
+            String.join(", ", Collections.nCopies(users.size(), "?")) + ")",
+            ps -> {
+                for (int i = 0; i < users.size(); i++) {
+                    ps.setString(i + 1, users.get(i));
+                }
+            },
+            FraudRecordRows::summary));
+        return result;
+    }
+    
+    /**
+     * Find summaries created in [from, to), newest first
+     */
+    public List<FraudRecordSummary> findSummariesCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        List<FraudRecordSummary> result = new ArrayList<>(fraudRecordRepository.findSummariesCreatedBetween(from, to));
+        List<FraudPartition> partitions = catalog.overlappingCreated(from, to);
+        if (partitions.isEmpty()) {
+            return result;
+        }
+        result.addAll(queryCold(partitions,
+            "SELECT " + FraudRecordRows.SUMMARY_COLUMNS + " FROM cold.fraud_records " +
+            "WHERE created_at >= ? AND created_at < ? ORDER BY created_at DESC",
+            ps -> {
+                ps.setTimestamp(1, Timestamp.valueOf(from));
+                ps.setTimestamp(2, Timestamp.valueOf(to));
+            },
+            FraudRecordRows::summary));
+        result.sort(Comparator.comparing(FraudRecordSummary::createdAt).reversed());
+        return result;
+    }
+    
+    /**
+     * Find summaries detected in [from, to), newest first
+     */
+    public List<FraudRecordSummary> findSummariesDetectedBetween(LocalDateTime from, LocalDateTime to) {
+        List<FraudRecordSummary> result = new ArrayList<>(fraudRecordRepository.findSummariesDetectedBetween(from, to));
+        List<FraudPartition> partitions = catalog.overlappingDetected(from, to);
+        if (partitions.isEmpty()) {
+            return result;
+        }
+        result.addAll(queryCold(partitions,
+            "SELECT " + FraudRecordRows.SUMMARY_COLUMNS + " FROM cold.fraud_records " +
+            "WHERE detected_at >= ? AND detected_at < ?",
+            ps -> {
+                ps.setTimestamp(1, Timestamp.valueOf(from));
+                ps.setTimestamp(2, Timestamp.valueOf(to));
+            },
+            FraudRecordRows::summary));
+        result.sort(Comparator.comparing(FraudRecordSummary::createdAt).reversed());
+        return result;
+    }
+    
+    /**
+     * Find summaries from any of the given IP addresses detected in [from, to), newest first
+     */
+    public List<FraudRecordSummary> findSummariesByIpAddressesDetectedBetween(Collection<String> ipAddresses,
+                                                                              LocalDateTime from, LocalDateTime to) {
+        if (ipAddresses.isEmpty()) {
+            return List.of();
+        }
+        List<FraudRecordSummary> result = new ArrayList<>(
+            fraudRecordRepository.findSummariesByIpAddressesDetectedBetween(ipAddresses, from, to));
+        List<FraudPartition> partitions = catalog.overlappingDetected(from, to);
+        if (partitions.isEmpty()) {
+            return result;
+        }
+        List<String> addresses = List.copyOf(ipAddresses);
+        result.addAll(queryCold(partitions,
+            "SELECT " + FraudRecordRows.SUMMARY_COLUMNS + " FROM cold.fraud_records " +
+            "WHERE detected_at >= ? AND detected_at < ? AND ip_address IN (" +
+            String.join(", ", Collections.nCopies(addresses.size(), "?")) + ")",
+            ps -> {
+                ps.setTimestamp(1, Timestamp.valueOf(from));
+                ps.setTimestamp(2, Timestamp.valueOf(to));
+                for (int i = 0; i < addresses.size(); i++) {
+                    ps.setString(i + 3, addresses.get(i));
+                }
+            },
+            FraudRecordRows::summary));
+        result.sort(Comparator.comparing(FraudRecordSummary::createdAt).reversed());
+        return result;
+    }
+    
+    /**
+     * Totals across all cold partitions, taken from the manifest without touching the files
+     */
+    public ColdStatistics coldStatistics() {
+        long total = 0, high = 0, medium = 0, low = 0, unverified = 0, highUnverified = 0;
+        for (FraudPartition partition : catalog.all()) {
+            total += partition.recordCount();
+            high += partition.highRiskCount();
+            medium += partition.mediumRiskCount();
+            low += partition.lowRiskCount();
+            unverified += partition.unverifiedCount();
+            highUnverified += partition.highRiskUnverifiedCount();
+        }
+        return new ColdStatistics(total, high, medium, low, unverified, highUnverified);
+    }
+    
+    /**
+     * Stream the given columns of every record, hot table first, then each cold partition.
+     * Rows are handed over one at a time, so whole-table scans do not build a result list.
+     */
+    public void scanAll(String columns, RowHandler handler) {
+        scan(columns, true, handler);
+    }
+    
+    /**
+     * Stream the given columns of every record in the cold partitions only
+     */
+    public void scanCold(String columns, RowHandler handler) {
+        scan(columns, false, handler);
+    }
+    
+    /**
+     * Like {@link #scanAll}, but reads the hot table only up to the highest rowid it holds when the
+     * scan starts. Once every tier has been read, afterScan is given a lookup on the same connection
+     * that tells which hot records lay within that bound, so callers can tell ingests committed
+     * during the scan from the rows it already read.
+     */
+    public void scanAll(String columns, RowHandler handler, Consumer<HotWatermark> afterScan) {
+        scan(columns, true, handler, afterScan);
+    }
+    
+    private void scan(String columns, boolean includeHot, RowHandler handler) {
+        scan(columns, includeHot, handler, null);
+    }
+    
+    private void scan(String columns, boolean includeHot, RowHandler handler, Consumer<HotWatermark> afterScan) {
+        String sql = "SELECT " + columns + " FROM %s.fraud_records";
+        try (Connection connection = dataSource.getConnection()) {
+            long watermark = afterScan != null ? maxHotRowid(connection) : Long.MAX_VALUE;
+            if (includeHot) {
+                scan(connection, String.format(sql, "main")
+                    + (afterScan != null ? " WHERE rowid <= " + watermark : ""), handler);
+            }
+            for (FraudPartition partition : catalog.all()) {
+                Path file = catalog.resolve(partition.fileName());
+                if (!Files.exists(file)) {
+                    logger.warn("Cold partition file missing for {}: {}", partition.month(), file);
+                    continue;
+                }
+                attach(connection, file);
+                try {
+                    scan(connection, String.format(sql, COLD_SCHEMA), handler);
+                } finally {
+                    detach(connection);
+                }
+            }
+            if (afterScan != null) {
+                afterScan.accept(ids -> withinWatermark(connection, watermark, ids));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Failed to scan fraud records", e);
+        }
+    }
+    
+    private static long maxHotRowid(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(rowid), 0) FROM main.fraud_records")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+    
+    private static Set<UUID> withinWatermark(Connection connection, long watermark, Collection<UUID> ids) {
+        Set<UUID> found = new HashSet<>();
+        List<UUID> remaining = new ArrayList<>(ids);
+        try {
+            for (int from = 0; from < remaining.size(); from += WATERMARK_LOOKUP_BATCH) {
+                List<UUID> batch = remaining.subList(from, Math.min(from + WATERMARK_LOOKUP_BATCH, remaining.size()));
+                String sql = "SELECT id FROM main.fraud_records WHERE rowid <= ? AND id IN ("
+                    + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setLong(1, watermark);
+                    for (int i = 0; i < batch.size(); i++) {
+                        ps.setBytes(i + 2, FraudRecordRows.uuidBytes(batch.get(i)));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            found.add(FraudRecordRows.uuid(rs, "id"));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Failed to look up scanned fraud records", e);
+        }
+        return found;
+    }
+    
+    private static void scan(Connection connection, String sql, RowHandler handler) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                handler.handle(rs);
+            }
+        }
+    }
+    
+    private <T> List<T> queryCold(List<FraudPartition> partitions, String sql,
+                                  StatementBinder binder, RowMapper<T> mapper) {
+        if (partitions.isEmpty()) {
+            return List.of();
+        }
+        List<T> result = new ArrayList<>();
+        // A dedicated auto-commit connection: ATTACH is not allowed inside the caller's transaction
+        try (Connection connection = dataSource.getConnection()) {
+            for (FraudPartition partition : partitions) {
+                Path file = catalog.resolve(partition.fileName());
+                if (!Files.exists(file)) {
+                    logger.warn("Cold partition file missing for {}: {}", partition.month(), file);
+                    continue;
+                }
+                attach(connection, file);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    binder.bind(ps);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            result.add(mapper.map(rs));
+                        }
+                    }
+                } finally {
+                    detach(connection);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Failed to query cold fraud record partitions", e);
+        }
+        return result;
+    }
+    
+    static void attach(Connection connection, Path file) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("ATTACH DATABASE ? AS " + COLD_SCHEMA)) {
+            // immutable=1 lets SQLite skip locking entirely: cold partitions are never written after compaction
+            ps.setString(1, file.toAbsolutePath().toUri() + "?mode=ro&immutable=1");
+            ps.execute();
+        }
+    }
+    
+    static void detach(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DETACH DATABASE " + COLD_SCHEMA);
+        }
+    }
+    
+    @FunctionalInterface
+    interface StatementBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+    
+    /**
+     * Receives rows from {@link #scanAll} and {@link #scanCold}
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+    
+    /**
+     * The hot rows a {@link #scanAll(String, RowHandler, Consumer) bounded scan} read; only valid
+     * inside its afterScan callback
+     */
+    @FunctionalInterface
+    public interface HotWatermark {
+        /**
+         * The given record ids that were in the hot table within the scan's bound
+         */
+        Set<UUID> scanned(Collection<UUID> ids);
+    }
+    
+    /**
+     * Counts contributed by the cold tier
+     */
+    public record ColdStatistics(long totalRecords, long highRiskRecords, long mediumRiskRecords,
+                                 long lowRiskRecords, long unverifiedRecords, long highRiskUnverifiedRecords) {
+    }
+}
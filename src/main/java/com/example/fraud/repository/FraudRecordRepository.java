@@ -1,12 +1,18 @@
 package com.example.fraud.repository;
 
+import com.example.fraud.dto.FraudRecordSummary;
 import com.example.fraud.entity.FraudRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -17,6 +23,7 @@ public interface FraudRecordRepository extends JpaRepository<FraudRecord, UUID>
     /**
      * Find fraud records by user ID
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<FraudRecord> findByUserId(String userId);
     
     /**
@@ -69,16 +76,23 @@ public interface FraudRecordRepository extends JpaRepository<FraudRecord, UUID>
      */
     long countByRiskLevel(String riskLevel);
     
+    /**
+     * Count fraud records by verification status
+     */
+    long countByIsVerified(Boolean isVerified);
+    
     /**
      * Find recent fraud records (last 30 days)
      */
     @Query("SELECT f FROM FraudRecord f WHERE f.createdAt >= :thirtyDaysAgo ORDER BY f.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<FraudRecord> findRecentFraudRecords(@Param("thirtyDaysAgo") LocalDateTime thirtyDaysAgo);
     
     /**
      * Find high-risk unverified fraud records
      */
     @Query("SELECT f FROM FraudRecord f WHERE f.riskLevel = 'HIGH' AND f.isVerified = false ORDER BY f.createdAt DESC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<FraudRecord> findHighRiskUnverifiedRecords();
     
     /**
@@ -86,4 +100,99 @@ public interface FraudRecordRepository extends JpaRepository<FraudRecord, UUID>
      */
     @Query("SELECT f.fraudType, COUNT(f) as count FROM FraudRecord f GROUP BY f.fraudType ORDER BY count DESC")
     List<Object[]> findTopFraudTypes();
+    
+    /**
+     * Count fraud records with any of the given IDs
+     */
+    long countByIdIn(Collection<UUID> ids);
+    
+    /**
+     * Count fraud records matching a verification filter; a null risk level matches every level
+     */
+    @Query("SELECT COUNT(f) FROM FraudRecord f WHERE (:riskLevel IS NULL OR f.riskLevel = :riskLevel) " +
+           "AND f.detectedAt >= :from AND f.detectedAt < :to")
+    long countForVerification(@Param("riskLevel") String riskLevel,
+                              @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Set-based verification updates: one UPDATE per call, rows already in the target state are
+    // left alone so the returned count is the number of records that actually changed. The
+    // persistence context is flushed before and cleared after, so no stale entity survives.
+    
+    /**
+     * Set the verification status of the records with the given IDs
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FraudRecord f SET f.isVerified = :verified " +
+           "WHERE f.id IN :ids AND (f.isVerified IS NULL OR f.isVerified <> :verified)")
+    int updateVerificationByIds(@Param("ids") Collection<UUID> ids, @Param("verified") boolean verified);
+    
+    /**
+     * Set the verification status of the records matching a filter; a null risk level matches every level
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FraudRecord f SET f.isVerified = :verified " +
+           "WHERE (:riskLevel IS NULL OR f.riskLevel = :riskLevel) AND f.detectedAt >= :from AND f.detectedAt < :to " +
+           "AND (f.isVerified IS NULL OR f.isVerified <> :verified)")
+    int updateVerificationByFilter(@Param("riskLevel") String riskLevel,
+                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                   @Param("verified") boolean verified);
+    
+    /**
+     * Count high-risk unverified fraud records
+     */
+    @Query("SELECT COUNT(f) FROM FraudRecord f WHERE f.riskLevel = 'HIGH' AND f.isVerified = false")
+    long countHighRiskUnverifiedRecords();
+    
+    // Summary projections: constructor expressions select only the listed columns and
+    // never place entities in the persistence context, so there is nothing to dirty-check.
+    
+    /**
+     * Find fraud record summaries by user ID
+     */
+    @Query("SELECT new com.example.fraud.dto.FraudRecordSummary(f.id, f.userId, f.transactionId, f.amount, f.currency, " +
+           "f.merchantName, f.fraudType, f.riskLevel, f.createdAt, f.isVerified) " +
+           "FROM FraudRecord f WHERE f.userId = :userId")
+    List<FraudRecordSummary> findSummariesByUserId(@Param("userId") String userId);
+    
+    /**
+     * Find fraud record summaries of any of the given users
+     */
+    @Query("SELECT new com.example.fraud.dto.FraudRecordSummary(f.id, f.userId, f.transactionId, f.amount, f.currency, " +
+           "f.merchantName, f.fraudType, f.riskLevel, f.createdAt, f.isVerified) " +
+           "FROM FraudRecord f WHERE f.userId IN :userIds")
+    List<FraudRecordSummary> findSummariesByUserIdIn(@Param("userIds") Collection<String> userIds);
+    
+    /**
+     * Find high-risk unverified fraud record summaries
+     */
+    @Query("SELECT new com.example.fraud.dto.FraudRecordSummary(f.id, f.userId, f.transactionId, f.amount, f.currency, " +
+           "f.merchantName, f.fraudType, f.riskLevel, f.createdAt, f.isVerified) " +
+           "FROM FraudRecord f WHERE f.riskLevel = 'HIGH' AND f.isVerified = false ORDER BY f.createdAt DESC")
+    List<FraudRecordSummary> findHighRiskUnverifiedSummaries();
+    
+    /**
+     * Find fraud record summaries created in [from, to), newest first
+     */
+    @Query("SELECT new com.example.fraud.dto.FraudRecordSummary(f.id, f.userId, f.transactionId, f.amount, f.currency, " +
+           "f.merchantName, f.fraudType, f.riskLevel, f.createdAt, f.isVerified) " +
+           "FROM FraudRecord f WHERE f.createdAt >= :from AND f.createdAt < :to ORDER BY f.createdAt DESC")
+    List<FraudRecordSummary> findSummariesCreatedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Find fraud record summaries detected in [from, to)
+     */
+    @Query("SELECT new com.example.fraud.dto.FraudRecordSummary(f.id, f.userId, f.transactionId, f.amount, f.currency, " +
+           "f.merchantName, f.fraudType, f.riskLevel, f.createdAt, f.isVerified) " +
+           "FROM FraudRecord f WHERE f.detectedAt >= :from AND f.detectedAt < :to")
+    List<FraudRecordSummary> findSummariesDetectedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Find fraud record summaries from any of the given IP addresses, detected in [from, to)
+     */
+    @Query("SELECT new com.example.fraud.dto.FraudRecordSummary(f.id, f.userId, f.transactionId, f.amount, f.currency, " +
+           "f.merchantName, f.fraudType, f.riskLevel, f.createdAt, f.isVerified) " +
+           "FROM FraudRecord f WHERE f.ipAddress IN :ipAddresses AND f.detectedAt >= :from AND f.detectedAt < :to")
+    List<FraudRecordSummary> findSummariesByIpAddressesDetectedBetween(@Param("ipAddresses") Collection<String> ipAddresses,
+                                                                       @Param("from") LocalDateTime from,
+                                                                       @Param("to") LocalDateTime to);
 }
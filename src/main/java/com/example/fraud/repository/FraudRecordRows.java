@@ -0,0 +1,126 @@
+package com.example.fraud.repository;
+
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.entity.FraudRecord;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Plain JDBC mapping of fraud_records rows, shared by the paths that bypass JPA.
+ * Column names follow Spring Boot's default physical naming strategy.
+ */
+public final class FraudRecordRows {
+    
+    /**
+     * All columns, in the order used by the partition table and bulk paths
+     */
+    public static final String COLUMNS =
+        "id, user_id, transaction_id, amount, currency, merchant_name, fraud_type, description, risk_level, " +
+        "created_at, detected_at, ip_address, location, is_verified, additional_info";
+    
+    /**
+     * Columns of {@link FraudRecordSummary}
+     */
+    public static final String SUMMARY_COLUMNS =
+        "id, user_id, transaction_id, amount, currency, merchant_name, fraud_type, risk_level, created_at, is_verified";
+    
+    /**
+     * Table definition for cold partition files; %s is the schema name the file is attached as
+     */
+    static final String PARTITION_TABLE_DDL = """
+        CREATE TABLE %s.fraud_records (
+            id BLOB PRIMARY KEY,
+            user_id VARCHAR(255) NOT NULL,
+            transaction_id VARCHAR(255) NOT NULL,
+            amount FLOAT NOT NULL,
+            currency VARCHAR(255) NOT NULL,
+            merchant_name VARCHAR(255) NOT NULL,
+            fraud_type VARCHAR(255) NOT NULL,
+            description VARCHAR(1000),
+            risk_level VARCHAR(255) NOT NULL,
+            created_at TIMESTAMP NOT NULL,
+            detected_at TIMESTAMP NOT NULL,
+            ip_address VARCHAR(255),
+            location VARCHAR(255),
+            is_verified BOOLEAN,
+            additional_info VARCHAR(2000)
+        )
+        """;
+    
+    private FraudRecordRows() {
+    }
+    
+    /**
+     * Map a row selected with {@link #SUMMARY_COLUMNS}
+     */
+    public static FraudRecordSummary summary(ResultSet rs) throws SQLException {
+        return new FraudRecordSummary(
+            uuid(rs, "id"),
+            rs.getString("user_id"),
+            rs.getString("transaction_id"),
+            rs.getDouble("amount"),
+            rs.getString("currency"),
+            rs.getString("merchant_name"),
+            rs.getString("fraud_type"),
+            rs.getString("risk_level"),
+            timestamp(rs, "created_at"),
+            rs.getBoolean("is_verified")
+        );
+    }
+    
+    /**
+     * Map a row selected with {@link #COLUMNS} to a detached entity
+     */
+    public static FraudRecord entity(ResultSet rs) throws SQLException {
+        FraudRecord record = new FraudRecord(
+            rs.getString("user_id"),
+            rs.getString("transaction_id"),
+            rs.getDouble("amount"),
+            rs.getString("currency"),
+            rs.getString("merchant_name"),
+            rs.getString("fraud_type"),
+            rs.getString("description"),
+            rs.getString("risk_level"),
+            timestamp(rs, "detected_at")
+        );
+        record.setId(uuid(rs, "id"));
+        record.setCreatedAt(timestamp(rs, "created_at"));
+        record.setIpAddress(rs.getString("ip_address"));
+        record.setLocation(rs.getString("location"));
+        record.setIsVerified(rs.getBoolean("is_verified"));
+        record.setAdditionalInfo(rs.getString("additional_info"));
+        return record;
+    }
+    
+    /**
+     * Read a UUID column stored either as binary(16) or as text
+     */
+    public static UUID uuid(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof byte[] bytes && bytes.length == 16) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        return value != null ? UUID.fromString(value.toString()) : null;
+    }
+    
+    /**
+     * Encode a UUID the way Hibernate stores it on databases without a native UUID type
+     */
+    public static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits())
+            .array();
+    }
+    
+    public static LocalDateTime timestamp(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
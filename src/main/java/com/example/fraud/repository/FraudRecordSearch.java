@@ -0,0 +1,127 @@
+package com.example.fraud.repository;
+
+import com.example.fraud.dto.FraudSearchHit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text search over the hot fraud_records table through the fraud_records_fts index (migration V4).
+ * Cold partitions are not indexed.
+ */
+@Repository
+public class FraudRecordSearch {
+    
+    public static final int MAX_LIMIT = 100;
+    
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private static final String SELECT = "SELECT f.id, f.user_id, f.transaction_id, f.amount, f.currency, f.merchant_name, " +
+        "f.fraud_type, f.risk_level, f.created_at, f.is_verified, " +
+        "fraud_records_fts.rank AS bm25, " +
+        "snippet(fraud_records_fts, -1, '[', ']', '...', 12) AS snippet " +
+        "FROM fraud_records_fts JOIN fraud_records f ON f.rowid = fraud_records_fts.rowid " +
+        "WHERE fraud_records_fts MATCH ?";
+    
+    /**
+     * How the query text is turned into an FTS5 expression
+     */
+    public enum Mode {
+        /** Every word must occur, in any order */
+        WORDS,
+        /** The words must occur next to each other, in order */
+        PHRASE,
+        /** Every word must occur as the start of a word ("wire tra" matches "wire transfer") */
+        PREFIX,
+        /** Raw FTS5 query syntax: AND/OR/NOT, NEAR(), "phrases", prefix*, column filters */
+        FTS
+    }
+    
+    /**
+     * Search request; null filters are not applied
+     */
+    public record Criteria(String query, Mode mode, String riskLevel, String fraudType,
+                           LocalDateTime detectedFrom, LocalDateTime detectedTo, int offset, int limit) {
+    }
+    
+    /**
+     * One page of hits and whether more follow
+     */
+    public record Page(List<FraudSearchHit> hits, boolean hasMore) {
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public FraudRecordSearch(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Best matches first; one extra row is fetched to tell whether another page exists
+     */
+    public Page search(Criteria criteria) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>();
+        args.add(matchExpression(criteria.query(), criteria.mode()));
+        if (criteria.riskLevel() != null) {
+            sql.append(" AND f.risk_level = ?");
+            args.add(criteria.riskLevel());
+        }
+        if (criteria.fraudType() != null) {
+            sql.append(" AND f.fraud_type = ?");
+            args.add(criteria.fraudType());
+        }
+        if (criteria.detectedFrom() != null) {
+            sql.append(" AND f.detected_at >= ?");
+            args.add(Timestamp.valueOf(criteria.detectedFrom()));
+        }
+        if (criteria.detectedTo() != null) {
+            sql.append(" AND f.detected_at < ?");
+            args.add(Timestamp.valueOf(criteria.detectedTo()));
+        }
+        // Ordering by the FTS5 rank column (BM25 by default) lets FTS5 sort inside the index scan
+        sql.append(" ORDER BY fraud_records_fts.rank LIMIT ? OFFSET ?");
+        args.add(criteria.limit() + 1);
+        args.add(criteria.offset());
+        
+        List<FraudSearchHit> hits = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new FraudSearchHit(
+            FraudRecordRows.summary(rs),
+            // BM25 is lower for better matches; flip it so callers see higher = more relevant
+            -rs.getDouble("bm25"),
+            rs.getString("snippet")
+        ), args.toArray());
+        
+        boolean hasMore = hits.size() > criteria.limit();
+        return new Page(hasMore ? hits.subList(0, criteria.limit()) : hits, hasMore);
+    }
+    
+    /**
+     * Build the MATCH expression. Except in FTS mode every term is quoted, so punctuation and
+     * words such as AND or NOT in the user's text are searched for rather than parsed.
+     */
+    static String matchExpression(String query, Mode mode) {
+        if (mode == Mode.FTS) {
+            return query;
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : TERM_SEPARATOR.split(query.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query has no words: " + query);
+        }
+        return switch (mode) {
+            case PHRASE -> "\"" + String.join(" ", terms) + "\"";
+            case PREFIX -> String.join(" ", terms.stream().map(term -> "\"" + term + "\"*").toList());
+            default -> String.join(" ", terms.stream().map(term -> "\"" + term + "\"").toList());
+        };
+    }
+}
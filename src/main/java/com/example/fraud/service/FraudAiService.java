@@ -1,9 +1,22 @@
 package com.example.fraud.service;
 
+import com.example.fraud.ai.AiBudgetExceededException;
+import com.example.fraud.ai.AiModelRouter;
+import com.example.fraud.ai.PromptBuffers;
+import com.example.fraud.ai.PromptTemplate;
+import com.example.fraud.ai.AiUsageTracker;
+import com.example.fraud.ai.CacheableSystemMessage;
+import com.example.fraud.ai.TieredChatModels;
+import com.example.fraud.config.AiBatchProperties;
+import com.example.fraud.config.AiPromptCacheProperties;
+import com.example.fraud.dto.FraudRecordSummary;
 import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.observability.LogMarkers;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.ai.bedrock.claude.BedrockClaudeChatModel;
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
@@ -11,21 +24,186 @@ import org.springframework.ai.chat.model.ChatResponse;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.stereotype.Service;
 
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Service
 public class FraudAiService {
     
     private static final Logger logger = LoggerFactory.getLogger(FraudAiService.class);
     
-    private final BedrockClaudeChatModel chatModel;
+    // Prompts are compiled once: see PromptTemplate. System prompts never vary, so they form the
+    // cacheable prefix; only the user message changes.
+    
+    private static final String FRAUD_RECORD_SYSTEM_PROMPT = """
+        You are a fraud detection expert assistant. Your role is to provide clear, professional,
+        and helpful responses about fraud incidents. When a fraud record is created, you should:
+        
+        1. Acknowledge the fraud incident has been recorded
+        2. Provide the reference ID for tracking
+        3. Explain the risk level and what it means
+        4. Suggest next steps or recommendations
+        5. Be empathetic and professional in tone
+        
+        Keep responses concise but informative, around 2-3 paragraphs.
+        """;
+    
+    private static final PromptTemplate<FraudRecordInput> FRAUD_RECORD_PROMPT = PromptTemplate.<FraudRecordInput>builder("""
+            A new fraud record has been created with the following details:
+            
+            Reference ID: {reference_id}
+            User ID: {user_id}
+            Transaction ID: {transaction_id}
+            Amount: {amount} {currency}
+            Merchant: {merchant}
+            Fraud Type: {fraud_type}
+            Risk Level: {risk_level}
+            Description: {description}
+            Detection Time: {detected_at}
+            
+            Please provide a natural language response to inform the user about this fraud incident.
+            """)
+        .uuid("reference_id", FraudRecordInput::referenceId)
+        .text("user_id", input -> input.record().getUserId())
+        .text("transaction_id", input -> input.record().getTransactionId())
+        .decimal("amount", input -> input.record().getAmount())
+        .text("currency", input -> input.record().getCurrency())
+        .text("merchant", input -> input.record().getMerchantName())
+        .text("fraud_type", input -> input.record().getFraudType())
+        .text("risk_level", input -> input.record().getRiskLevel())
+        .text("description", input -> input.record().getDescription())
+        .dateTime("detected_at", input -> input.record().getDetectedAt())
+        .build();
+    
+    private static final String PATTERN_ANALYSIS_SYSTEM_PROMPT = """
+        You are a fraud analyst expert. Analyze the provided fraud data and provide insights including:
+        
+        1. Common fraud patterns and trends
+        2. Risk assessment and distribution
+        3. Merchant or transaction patterns
+        4. Recommendations for fraud prevention
+        5. Any concerning trends or anomalies
+        
+        Be analytical and provide actionable insights.
+        """;
+    
+    private static final String PATTERN_ANALYSIS_HEADER = "Fraud Records Analysis:\n\n";
+    
+    private static final PromptTemplate<FraudRecordSummary> PATTERN_RECORD = PromptTemplate.<FraudRecordSummary>builder("""
+            Record ID: {id}
+            User: {user_id} | Transaction: {transaction_id}
+            Amount: {amount} {currency} | Merchant: {merchant}
+            Type: {fraud_type} | Risk: {risk_level}
+            Date: {created_at}
+            ---
+            """)
+        .uuid("id", FraudRecordSummary::id)
+        .text("user_id", FraudRecordSummary::userId)
+        .text("transaction_id", FraudRecordSummary::transactionId)
+        .decimal("amount", FraudRecordSummary::amount)
+        .text("currency", FraudRecordSummary::currency)
+        .text("merchant", FraudRecordSummary::merchantName)
+        .text("fraud_type", FraudRecordSummary::fraudType)
+        .text("risk_level", FraudRecordSummary::riskLevel)
+        .dateTime("created_at", FraudRecordSummary::createdAt)
+        .build();
+    
+    private static final String RISK_ASSESSMENT_SYSTEM_PROMPT = """
+        You are a risk assessment specialist. Based on the user's fraud history, provide:
+        
+        1. Overall risk profile assessment
+        2. Risk factors and concerns
+        3. Recommendations for account security
+        4. Monitoring suggestions
+        5. Preventive measures
+        
+        Be professional and provide actionable advice.
+        """;
+    
+    private static final PromptTemplate<FraudRecordSummary> RISK_HISTORY_LINE = PromptTemplate.<FraudRecordSummary>builder(
+            "- {fraud_type}: {amount} {currency} at {merchant} (Risk: {risk_level})\n")
+        .text("fraud_type", FraudRecordSummary::fraudType)
+        .decimal("amount", FraudRecordSummary::amount)
+        .text("currency", FraudRecordSummary::currency)
+        .text("merchant", FraudRecordSummary::merchantName)
+        .text("risk_level", FraudRecordSummary::riskLevel)
+        .build();
+    
+    private static final String PREVENTION_TIPS_SYSTEM_PROMPT = """
+        You are a fraud prevention expert. Provide specific, actionable fraud prevention tips based on:
+        
+        1. The specific fraud type
+        2. The risk level
+        3. Best practices for prevention
+        4. Warning signs to watch for
+        5. Immediate actions to take
+        
+        Make recommendations practical and easy to understand.
+        """;
+    
+    private static final PromptTemplate<PreventionTipsInput> PREVENTION_TIPS_PROMPT = PromptTemplate.<PreventionTipsInput>builder("""
+            Please provide fraud prevention recommendations for:
+            
+            Fraud Type: {fraud_type}
+            Risk Level: {risk_level}
+            
+            Focus on practical steps the user can take to prevent this type of fraud in the future.
+            """)
+        .text("fraud_type", PreventionTipsInput::fraudType)
+        .text("risk_level", PreventionTipsInput::riskLevel)
+        .build();
+    
+    private static final PromptTemplate<FraudRecordSummary> BATCH_RECORD_LINE = PromptTemplate.<FraudRecordSummary>builder(
+            "- {date} {fraud_type} {amount} {currency} at {merchant} ({risk_level})\n")
+        .field("date", (out, record) -> {
+            if (record.createdAt() == null) {
+                out.append("unknown");
+            } else {
+                PromptTemplate.appendIsoDate(out, record.createdAt().toLocalDate());
+            }
+        })
+        .text("fraud_type", FraudRecordSummary::fraudType)
+        .decimal("amount", FraudRecordSummary::amount)
+        .text("currency", FraudRecordSummary::currency)
+        .text("merchant", FraudRecordSummary::merchantName)
+        .text("risk_level", FraudRecordSummary::riskLevel)
+        .build();
+    
+    private static final String BATCH_RISK_SYSTEM_PROMPT = """
+        You are a risk assessment specialist reviewing the fraud history of several users at once.
+        For every user listed, assess their overall risk profile independently of the other users.
+        
+        Answer with a single JSON object and nothing else, in exactly this shape:
+        {"assessments": [{"user_id": "<user_id as given>", "risk_level": "HIGH|MEDIUM|LOW",
+          "assessment": "<at most 50 words>", "recommendations": ["<at most 3 short items>"]}]}
+        
+        Include one entry per listed user, in the order given.
+        """;
     
-    public FraudAiService(BedrockClaudeChatModel chatModel) {
-        this.chatModel = chatModel;
+    private final TieredChatModels chatModels;
+    private final AiUsageTracker usageTracker;
+    private final AiModelRouter modelRouter;
+    private final AiBatchProperties batchProperties;
+    private final AiPromptCacheProperties promptCacheProperties;
+    private final ObjectMapper objectMapper;
+    
+    public FraudAiService(TieredChatModels chatModels, AiUsageTracker usageTracker, AiModelRouter modelRouter,
+                          AiBatchProperties batchProperties, AiPromptCacheProperties promptCacheProperties,
+                          ObjectMapper objectMapper) {
+        this.chatModels = chatModels;
+        this.usageTracker = usageTracker;
+        this.modelRouter = modelRouter;
+        this.batchProperties = batchProperties;
+        this.promptCacheProperties = promptCacheProperties;
+        this.objectMapper = objectMapper;
     }
     
     /**
@@ -33,62 +211,25 @@ public class FraudAiService {
      */
     public String generateFraudRecordResponse(UUID referenceId, FraudRecord fraudRecord) {
         try {
-            logger.info("Generating AI response for fraud record: {}", referenceId);
-            
-            String systemPrompt = """
-                You are a fraud detection expert assistant. Your role is to provide clear, professional, 
-                and helpful responses about fraud incidents. When a fraud record is created, you should:
-                
-                1. Acknowledge the fraud incident has been recorded
-                2. Provide the reference ID for tracking
-                3. Explain the risk level and what it means
-                4. Suggest next steps or recommendations
-                5. Be empathetic and professional in tone
-                
-                Keep responses concise but informative, around 2-3 paragraphs.
-                """;
-            
-            String userPrompt = String.format("""
-                A new fraud record has been created with the following details:
-                
-                Reference ID: %s
-                User ID: %s
-                Transaction ID: %s
-                Amount: %.2f %s
-                Merchant: %s
-                Fraud Type: %s
-                Risk Level: %s
-                Description: %s
-                Detection Time: %s
-                
-                Please provide a natural language response to inform the user about this fraud incident.
-                """,
-                referenceId.toString(),
-                fraudRecord.getUserId(),
-                fraudRecord.getTransactionId(),
-                fraudRecord.getAmount(),
-                fraudRecord.getCurrency(),
-                fraudRecord.getMerchantName(),
-                fraudRecord.getFraudType(),
-                fraudRecord.getRiskLevel(),
-                fraudRecord.getDescription(),
-                fraudRecord.getDetectedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-            );
+            logger.info(LogMarkers.PER_CALL, "Generating AI response for fraud record: {}", referenceId);
+            
+            String userPrompt = FRAUD_RECORD_PROMPT.render(new FraudRecordInput(referenceId, fraudRecord));
             
             List<Message> messages = List.of(
-                new SystemMessage(systemPrompt),
+                systemMessage(FRAUD_RECORD_SYSTEM_PROMPT),
                 new UserMessage(userPrompt)
             );
             
             Prompt prompt = new Prompt(messages);
-            ChatResponse response = chatModel.call(prompt);
+            ChatResponse response = call("fraud_record_response", prompt, fraudRecord.getRiskLevel());
             
             String aiResponse = response.getResult().getOutput().getContent();
-            logger.info("AI response generated successfully");
+            logger.info(LogMarkers.PER_CALL, "AI response generated successfully");
             
             return aiResponse;
             
         } catch (Exception e) {
+            AiBudgetExceededException.rethrowIfRejected(e);
             logger.error("Error generating AI response: {}", e.getMessage(), e);
             return generateFallbackResponse(referenceId, fraudRecord);
         }
@@ -97,64 +238,36 @@ public class FraudAiService {
     /**
      * Generate AI analysis and recommendations for fraud patterns
      */
-    public String analyzeFraudPatterns(List<FraudRecord> fraudRecords) {
+    public String analyzeFraudPatterns(List<FraudRecordSummary> fraudRecords) {
         try {
-            logger.info("Analyzing fraud patterns for {} records", fraudRecords.size());
+            logger.info(LogMarkers.PER_CALL, "Analyzing fraud patterns for {} records", fraudRecords.size());
             
             if (fraudRecords.isEmpty()) {
                 return "No fraud records available for analysis.";
             }
             
-            String systemPrompt = """
-                You are a fraud analyst expert. Analyze the provided fraud data and provide insights including:
-                
-                1. Common fraud patterns and trends
-                2. Risk assessment and distribution
-                3. Merchant or transaction patterns
-                4. Recommendations for fraud prevention
-                5. Any concerning trends or anomalies
-                
-                Be analytical and provide actionable insights.
-                """;
-            
-            StringBuilder fraudDataBuilder = new StringBuilder();
-            fraudDataBuilder.append("Fraud Records Analysis:\n\n");
-            
-            for (FraudRecord record : fraudRecords) {
-                fraudDataBuilder.append(String.format("""
-                    Record ID: %s
-                    User: %s | Transaction: %s
-                    Amount: %.2f %s | Merchant: %s
-                    Type: %s | Risk: %s
-                    Date: %s
-                    ---
-                    """,
-                    record.getId().toString(),
-                    record.getUserId(),
-                    record.getTransactionId(),
-                    record.getAmount(),
-                    record.getCurrency(),
-                    record.getMerchantName(),
-                    record.getFraudType(),
-                    record.getRiskLevel(),
-                    record.getCreatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
-                ));
+            StringBuilder fraudData = PromptBuffers.acquire(
+                PATTERN_ANALYSIS_HEADER.length() + fraudRecords.size() * (PATTERN_RECORD.literalLength() + 160));
+            fraudData.append(PATTERN_ANALYSIS_HEADER);
+            for (FraudRecordSummary record : fraudRecords) {
+                PATTERN_RECORD.render(record, fraudData);
             }
             
             List<Message> messages = List.of(
-                new SystemMessage(systemPrompt),
-                new UserMessage(fraudDataBuilder.toString())
+                systemMessage(PATTERN_ANALYSIS_SYSTEM_PROMPT),
+                new UserMessage(PromptBuffers.finish(fraudData))
             );
             
             Prompt prompt = new Prompt(messages);
-            ChatResponse response = chatModel.call(prompt);
+            ChatResponse response = call("analyze_fraud_patterns", prompt, null);
             
             String analysis = response.getResult().getOutput().getContent();
-            logger.info("Fraud pattern analysis generated successfully");
+            logger.info(LogMarkers.PER_CALL, "Fraud pattern analysis generated successfully");
             
             return analysis;
             
         } catch (Exception e) {
+            AiBudgetExceededException.rethrowIfRejected(e);
             logger.error("Error analyzing fraud patterns: {}", e.getMessage(), e);
             return "Unable to analyze fraud patterns at this time. Please try again later.";
         }
@@ -163,107 +276,258 @@ public class FraudAiService {
     /**
      * Generate fraud risk assessment
      */
-    public String generateRiskAssessment(String userId, List<FraudRecord> userFraudRecords) {
+    public String generateRiskAssessment(String userId, List<FraudRecordSummary> userFraudRecords) {
         try {
-            logger.info("Generating risk assessment for user: {}", userId);
-            
-            String systemPrompt = """
-                You are a risk assessment specialist. Based on the user's fraud history, provide:
-                
-                1. Overall risk profile assessment
-                2. Risk factors and concerns
-                3. Recommendations for account security
-                4. Monitoring suggestions
-                5. Preventive measures
-                
-                Be professional and provide actionable advice.
-                """;
-            
-            StringBuilder userDataBuilder = new StringBuilder();
-            userDataBuilder.append(String.format("Risk Assessment for User: %s\n\n", userId));
-            userDataBuilder.append(String.format("Total Fraud Incidents: %d\n\n", userFraudRecords.size()));
+            logger.info(LogMarkers.PER_CALL, "Generating risk assessment", kv("user_id", userId));
             
+            StringBuilder userData = PromptBuffers.acquire(
+                128 + userFraudRecords.size() * (RISK_HISTORY_LINE.literalLength() + 64));
+            userData.append("Risk Assessment for User: ").append(userId).append("\n\n")
+                .append("Total Fraud Incidents: ").append(userFraudRecords.size()).append("\n\n");
             if (!userFraudRecords.isEmpty()) {
-                userDataBuilder.append("Fraud History:\n");
-                for (FraudRecord record : userFraudRecords) {
-                    userDataBuilder.append(String.format("""
-                        - %s: %.2f %s at %s (Risk: %s)
-                        """,
-                        record.getFraudType(),
-                        record.getAmount(),
-                        record.getCurrency(),
-                        record.getMerchantName(),
-                        record.getRiskLevel()
-                    ));
+                userData.append("Fraud History:\n");
+                for (FraudRecordSummary record : userFraudRecords) {
+                    RISK_HISTORY_LINE.render(record, userData);
                 }
             }
             
             List<Message> messages = List.of(
-                new SystemMessage(systemPrompt),
-                new UserMessage(userDataBuilder.toString())
+                systemMessage(RISK_ASSESSMENT_SYSTEM_PROMPT),
+                new UserMessage(PromptBuffers.finish(userData))
             );
             
             Prompt prompt = new Prompt(messages);
-            ChatResponse response = chatModel.call(prompt);
+            ChatResponse response = call("risk_assessment", prompt, highestRiskLevel(userFraudRecords));
             
             String assessment = response.getResult().getOutput().getContent();
-            logger.info("Risk assessment generated successfully");
+            logger.info(LogMarkers.PER_CALL, "Risk assessment generated successfully");
             
             return assessment;
             
         } catch (Exception e) {
+            AiBudgetExceededException.rethrowIfRejected(e);
             logger.error("Error generating risk assessment: {}", e.getMessage(), e);
             return "Unable to generate risk assessment at this time. Please try again later.";
         }
     }
     
+    /**
+     * Assess many users with as few model calls as possible. Users with fraud history are packed
+     * into prompts of at most maxUsersPerCall users and maxPromptTokens estimated tokens, and each
+     * call answers with a JSON array that is split back into per-user results. Users without
+     * history are not sent to the model; users missing from an answer, or in a chunk whose call
+     * failed, get a rule-based assessment.
+     */
+    public BatchRiskAssessment generateBatchRiskAssessments(Map<String, List<FraudRecordSummary>> histories) {
+        logger.info(LogMarkers.PER_CALL, "Generating batch risk assessment for {} users", histories.size());
+        
+        Map<String, UserRiskAssessment> results = new LinkedHashMap<>();
+        List<String> chunk = new ArrayList<>();
+        StringBuilder chunkData = new StringBuilder();
+        int modelCalls = 0;
+        for (Map.Entry<String, List<FraudRecordSummary>> history : histories.entrySet()) {
+            if (history.getValue().isEmpty()) {
+                results.put(history.getKey(), new UserRiskAssessment(history.getKey(), "NONE",
+                    "No fraud incidents on record.", List.of(), AssessmentSource.NO_HISTORY));
+                continue;
+            }
+            String block = userHistoryBlock(history.getKey(), history.getValue());
+            if (!chunk.isEmpty() && (chunk.size() >= batchProperties.maxUsersPerCall()
+                    || estimateTokens(BATCH_RISK_SYSTEM_PROMPT) + estimateTokens(chunkData) + estimateTokens(block)
+                        > batchProperties.maxPromptTokens())) {
+                assessChunk(chunk, chunkData, histories, results);
+                modelCalls++;
+                chunk.clear();
+                chunkData.setLength(0);
+            }
+            chunk.add(history.getKey());
+            chunkData.append(block);
+        }
+        if (!chunk.isEmpty()) {
+            assessChunk(chunk, chunkData, histories, results);
+            modelCalls++;
+        }
+        
+        // Back to request order
+        List<UserRiskAssessment> assessments = new ArrayList<>(histories.size());
+        for (String userId : histories.keySet()) {
+            assessments.add(results.get(userId));
+        }
+        logger.info(LogMarkers.PER_CALL, "Batch risk assessment generated with {} model calls", modelCalls);
+        return new BatchRiskAssessment(assessments, modelCalls);
+    }
+    
+    private void assessChunk(List<String> userIds, CharSequence userData,
+                             Map<String, List<FraudRecordSummary>> histories, Map<String, UserRiskAssessment> results) {
+        try {
+            List<Message> messages = List.of(
+                systemMessage(BATCH_RISK_SYSTEM_PROMPT),
+                new UserMessage("Users to assess: " + userIds.size() + "\n\n" + userData)
+            );
+            ChatResponse response = call("batch_risk_assessment", new Prompt(messages),
+                highestRiskLevel(userIds.stream().flatMap(userId -> histories.get(userId).stream()).toList()));
+            JsonNode answer = parseJsonObject(response.getResult().getOutput().getContent());
+            for (JsonNode node : answer.path("assessments")) {
+                String userId = node.path("user_id").asText();
+                if (!userIds.contains(userId) || results.containsKey(userId)) {
+                    continue;
+                }
+                List<String> recommendations = new ArrayList<>();
+                for (JsonNode recommendation : node.path("recommendations")) {
+                    recommendations.add(recommendation.asText());
+                }
+                results.put(userId, new UserRiskAssessment(userId,
+                    answeredRiskLevel(userId, node.path("risk_level").asText("")),
+                    node.path("assessment").asText(""), recommendations, AssessmentSource.AI));
+            }
+            int missing = (int) userIds.stream().filter(userId -> !results.containsKey(userId)).count();
+            if (missing > 0) {
+                logger.warn("Batch risk assessment answer left out {} of {} users", missing, userIds.size());
+            }
+        } catch (Exception e) {
+            AiBudgetExceededException.rethrowIfRejected(e);
+            logger.error("Error generating batch risk assessment for {} users: {}", userIds.size(), e.getMessage(), e);
+        }
+        for (String userId : userIds) {
+            results.computeIfAbsent(userId, id -> fallbackRiskAssessment(id, histories.get(id)));
+        }
+    }
+    
+    /**
+     * The risk level the model gave a user, or UNKNOWN when it is not HIGH, MEDIUM or LOW
+     */
+    private String answeredRiskLevel(String userId, String answered) {
+        String riskLevel = answered.strip().toUpperCase(Locale.ROOT);
+        return switch (riskLevel) {
+            case "HIGH", "MEDIUM", "LOW" -> riskLevel;
+            default -> {
+                logger.warn("Batch risk assessment answered risk level '{}' for user {}; recording UNKNOWN",
+                    answered, userId);
+                yield "UNKNOWN";
+            }
+        };
+    }
+    
+    /**
+     * One user's section of a batch prompt: totals over the whole history, then the latest records
+     */
+    private String userHistoryBlock(String userId, List<FraudRecordSummary> records) {
+        long high = 0, medium = 0, low = 0, unverified = 0;
+        double totalAmount = 0;
+        Map<String, Integer> byType = new TreeMap<>();
+        for (FraudRecordSummary record : records) {
+            switch (String.valueOf(record.riskLevel())) {
+                case "HIGH" -> high++;
+                case "MEDIUM" -> medium++;
+                case "LOW" -> low++;
+                default -> { }
+            }
+            if (!Boolean.TRUE.equals(record.isVerified())) {
+                unverified++;
+            }
+            totalAmount += record.amount() != null ? record.amount() : 0;
+            byType.merge(String.valueOf(record.fraudType()), 1, Integer::sum);
+        }
+        
+        StringBuilder block = new StringBuilder(128 + batchProperties.maxRecordsPerUser() * (BATCH_RECORD_LINE.literalLength() + 64));
+        block.append("user_id: ").append(userId).append('\n')
+            .append("incidents: ").append(records.size())
+            .append(" (HIGH ").append(high).append(", MEDIUM ").append(medium).append(", LOW ").append(low)
+            .append("), unverified ").append(unverified).append(", total amount ");
+        PromptTemplate.appendDecimal(block, totalAmount);
+        block.append("\nfraud types: ");
+        byType.forEach((type, count) -> block.append(type).append(' ').append(count).append(", "));
+        block.setLength(block.length() - 2);
+        block.append("\nlatest:\n");
+        records.stream()
+            .sorted(Comparator.comparing(FraudRecordSummary::createdAt, Comparator.nullsLast(Comparator.reverseOrder())))
+            .limit(batchProperties.maxRecordsPerUser())
+            .forEach(record -> BATCH_RECORD_LINE.render(record, block));
+        return block.append("---\n").toString();
+    }
+    
+    /**
+     * The JSON object in a model answer, ignoring any prose or code fence around it
+     */
+    private JsonNode parseJsonObject(String content) throws JsonProcessingException {
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        if (start < 0 || end < start) {
+            throw new IllegalStateException("Model answer contains no JSON object");
+        }
+        return objectMapper.readTree(content.substring(start, end + 1));
+    }
+    
+    /**
+     * Assessment from the highest risk level on record, used when the model gave none
+     */
+    private UserRiskAssessment fallbackRiskAssessment(String userId, List<FraudRecordSummary> records) {
+        String riskLevel = highestRiskLevel(records);
+        return new UserRiskAssessment(userId, riskLevel,
+            String.format("%d fraud incidents on record; highest risk level %s. %s",
+                records.size(), riskLevel, getRiskLevelMessage(riskLevel)),
+            List.of(), AssessmentSource.FALLBACK);
+    }
+    
+    /**
+     * Rough token count at four characters per token, good enough for packing prompts
+     */
+    private static int estimateTokens(CharSequence text) {
+        return (text.length() + 3) / 4;
+    }
+    
     /**
      * Generate fraud prevention recommendations
      */
     public String generateFraudPreventionTips(String fraudType, String riskLevel) {
         try {
-            logger.info("Generating fraud prevention tips for type: {}, risk: {}", fraudType, riskLevel);
-            
-            String systemPrompt = """
-                You are a fraud prevention expert. Provide specific, actionable fraud prevention tips based on:
-                
-                1. The specific fraud type
-                2. The risk level
-                3. Best practices for prevention
-                4. Warning signs to watch for
-                5. Immediate actions to take
-                
-                Make recommendations practical and easy to understand.
-                """;
-            
-            String userPrompt = String.format("""
-                Please provide fraud prevention recommendations for:
-                
-                Fraud Type: %s
-                Risk Level: %s
-                
-                Focus on practical steps the user can take to prevent this type of fraud in the future.
-                """, fraudType, riskLevel);
+            logger.info(LogMarkers.PER_CALL, "Generating fraud prevention tips for type: {}, risk: {}", fraudType, riskLevel);
             
             List<Message> messages = List.of(
-                new SystemMessage(systemPrompt),
-                new UserMessage(userPrompt)
+                systemMessage(PREVENTION_TIPS_SYSTEM_PROMPT),
+                new UserMessage(PREVENTION_TIPS_PROMPT.render(new PreventionTipsInput(fraudType, riskLevel)))
             );
             
             Prompt prompt = new Prompt(messages);
-            ChatResponse response = chatModel.call(prompt);
+            ChatResponse response = call("prevention_tips", prompt, riskLevel);
             
             String tips = response.getResult().getOutput().getContent();
-            logger.info("Fraud prevention tips generated successfully");
+            logger.info(LogMarkers.PER_CALL, "Fraud prevention tips generated successfully");
             
             return tips;
             
         } catch (Exception e) {
+            AiBudgetExceededException.rethrowIfRejected(e);
             logger.error("Error generating fraud prevention tips: {}", e.getMessage(), e);
             return "Unable to generate fraud prevention tips at this time. Please try again later.";
         }
     }
     
+    /**
+     * Call the model on the operation's route, recording token usage and enforcing the token budget
+     *
+     * @param riskLevel risk level the prompt is about, which may escalate the route, or null
+     */
+    private ChatResponse call(String operation, Prompt prompt, String riskLevel) {
+        AiModelRouter.ModelSelection selection = modelRouter.route(operation, prompt, riskLevel);
+        return usageTracker.call(selection, chatModels.forSelection(selection));
+    }
+    
+    /**
+     * The system prompt, marked as a cacheable prefix when prompt caching is enabled
+     */
+    private SystemMessage systemMessage(String systemPrompt) {
+        return promptCacheProperties.enabled() ? new CacheableSystemMessage(systemPrompt) : new SystemMessage(systemPrompt);
+    }
+    
+    /**
+     * HIGH or MEDIUM if any record has that risk level, otherwise LOW
+     */
+    private static String highestRiskLevel(List<FraudRecordSummary> records) {
+        return records.stream().anyMatch(record -> "HIGH".equals(record.riskLevel())) ? "HIGH"
+            : records.stream().anyMatch(record -> "MEDIUM".equals(record.riskLevel())) ? "MEDIUM" : "LOW";
+    }
+    
     /**
      * Generate a fallback response when AI is unavailable
      */
@@ -306,4 +570,34 @@ public class FraudAiService {
             default -> "Please monitor your accounts and take appropriate security measures.";
         };
     }
+    
+    private record FraudRecordInput(UUID referenceId, FraudRecord record) {
+    }
+    
+    private record PreventionTipsInput(String fraudType, String riskLevel) {
+    }
+    
+    public enum AssessmentSource {
+        AI,
+        FALLBACK,
+        NO_HISTORY
+    }
+    
+    /**
+     * One user's result from a batch assessment
+     *
+     * @param riskLevel         HIGH, MEDIUM or LOW, NONE for users without fraud records, or UNKNOWN when
+     *                          the model answered anything else
+     * @param source            whether the model, the rule-based fallback, or the empty history produced it
+     */
+    public record UserRiskAssessment(String userId, String riskLevel, String assessment,
+                                     List<String> recommendations, AssessmentSource source) {
+    }
+    
+    /**
+     * @param assessments   one per requested user, in request order
+     * @param modelCalls    model calls made for the whole batch
+     */
+    public record BatchRiskAssessment(List<UserRiskAssessment> assessments, int modelCalls) {
+    }
 }
@@ -0,0 +1,136 @@
+package com.example.fraud.service;
+
+import com.example.fraud.ai.AiBudgetExceededException;
+import com.example.fraud.config.DashboardProperties;
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.observability.McpToolContext;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Assembles the fraud dashboard from independent branches run on virtual threads:
+ *
+ * <pre>
+ * statistics ----------------------------+
+ * high-risk unverified count ------------+--> dashboard
+ * recent records ----> AI insights ------+
+ * </pre>
+ *
+ * Wall time is the slowest branch rather than the sum. Each branch has a deadline; a branch that
+ * misses it or fails is cancelled and reported as unavailable, and the other parts are still returned.
+ */
+@Service
+public class FraudDashboardService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FraudDashboardService.class);
+    
+    private final FraudService fraudService;
+    private final FraudAiService fraudAiService;
+    private final DashboardProperties properties;
+    private final Tracer tracer;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    public FraudDashboardService(FraudService fraudService, FraudAiService fraudAiService,
+                                 DashboardProperties properties, Tracer tracer) {
+        this.fraudService = fraudService;
+        this.fraudAiService = fraudAiService;
+        this.properties = properties;
+        this.tracer = tracer;
+    }
+    
+    /**
+     * Run all branches and wait for each until its deadline
+     */
+    public Dashboard assemble() {
+        long start = System.nanoTime();
+        long queryDeadline = start + properties.queryTimeout().toNanos();
+        long insightsDeadline = start + properties.insightsTimeout().toNanos();
+        
+        Future<FraudService.FraudStatistics> statistics = fork(fraudService::getFraudStatistics);
+        Future<Long> highRiskUnverified = fork(fraudService::countHighRiskUnverifiedRecords);
+        Future<List<FraudRecordSummary>> recentRecords = fork(fraudService::getRecentFraudRecordSummaries);
+        // Fails with the recent records branch, including when that branch is cancelled at its deadline
+        Future<String> aiInsights = fork(() -> fraudAiService.analyzeFraudPatterns(recentRecords.get()));
+        
+        Map<String, String> unavailable = new LinkedHashMap<>();
+        FraudService.FraudStatistics statisticsResult = join("statistics", statistics, queryDeadline, unavailable);
+        Long highRiskUnverifiedResult = join("high_risk_unverified", highRiskUnverified, queryDeadline, unavailable);
+        List<FraudRecordSummary> recentResult = join("recent_activity", recentRecords, queryDeadline, unavailable);
+        String insightsResult = join("ai_insights", aiInsights, insightsDeadline, unavailable);
+        
+        return new Dashboard(statisticsResult, recentResult == null ? null : recentResult.size(),
+            highRiskUnverifiedResult, insightsResult, unavailable,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+    
+    /**
+     * Start a branch with the caller's tool name and trace span
+     */
+    private <T> Future<T> fork(Callable<T> task) {
+        Span parent = tracer.currentSpan();
+        Callable<T> traced = () -> {
+            try (Tracer.SpanInScope scope = tracer.withSpan(parent)) {
+                return task.call();
+            }
+        };
+        return executor.submit(McpToolContext.propagate(traced));
+    }
+    
+    /**
+     * Wait for a branch until the deadline; on timeout or failure cancel it, note why and return null
+     */
+    private static <T> T join(String branch, Future<T> future, long deadlineNanos, Map<String, String> unavailable) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            unavailable.put(branch, "timed out");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                AiBudgetExceededException.rethrowIfRejected(exception);
+            }
+            String reason = cause instanceof CancellationException ? "dependency cancelled" : String.valueOf(cause.getMessage());
+            unavailable.put(branch, reason);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            unavailable.put(branch, "interrupted");
+        }
+        logger.warn("Dashboard branch {} unavailable: {}", branch, unavailable.get(branch));
+        return null;
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * Dashboard parts; a part is null when its branch is listed in {@code unavailable}
+     */
+    public record Dashboard(FraudService.FraudStatistics statistics, Integer recentRecords,
+                            Long highRiskUnverified, String aiInsights,
+                            Map<String, String> unavailable, long elapsedMillis) {
+        
+        public boolean partial() {
+            return !unavailable.isEmpty();
+        }
+    }
+}
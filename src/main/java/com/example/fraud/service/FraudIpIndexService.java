@@ -0,0 +1,236 @@
+package com.example.fraud.service;
+
+import com.example.fraud.config.IpIndexProperties;
+import com.example.fraud.dto.FraudRecordSummary;
+import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.event.FraudRecordCreatedEvent;
+import com.example.fraud.event.FraudRecordsImportedEvent;
+import com.example.fraud.ip.IpAddress;
+import com.example.fraud.ip.IpPrefix;
+import com.example.fraud.ip.IpPrefixTrie;
+import com.example.fraud.repository.FraudRecordPartitionRouter;
+import com.example.fraud.repository.FraudRecordRows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the {@link IpPrefixTrie} in step with fraud_records the same way {@link FraudLinkService}
+ * keeps the link graph: a background scan after startup and after bulk imports, plus one update per
+ * committed ingest. Records whose ip_address is not an IP literal are left out of the index.
+ */
+@Service
+public class FraudIpIndexService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FraudIpIndexService.class);
+    
+    private final FraudRecordPartitionRouter partitionRouter;
+    private final IpIndexProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicLong scans = new AtomicLong();
+    
+    // One scan at a time, so an overlapping one cannot take the other's held-back ingests
+    private final ReentrantLock scanLock = new ReentrantLock();
+    private final Object swapLock = new Object();
+    
+    private volatile IpPrefixTrie trie;
+    private volatile boolean loaded;
+    // Ingests committed while a scan runs, guarded by swapLock
+    private List<FraudRecord> pending;
+    
+    public FraudIpIndexService(FraudRecordPartitionRouter partitionRouter, IpIndexProperties properties,
+                               PlatformTransactionManager transactionManager) {
+        this.partitionRouter = partitionRouter;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.trie = new IpPrefixTrie(properties.retentionDays());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        scanInBackground();
+    }
+    
+    @EventListener
+    public void onImport(FraudRecordsImportedEvent event) {
+        scanInBackground();
+    }
+    
+    @TransactionalEventListener
+    public void onCreated(FraudRecordCreatedEvent event) {
+        if (properties.enabled()) {
+            FraudRecord record = event.record();
+            synchronized (swapLock) {
+                add(trie, record.getIpAddress(), record.getDetectedAt());
+                if (pending != null) {
+                    pending.add(record);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Whether the initial scan has finished; until then counts cover only part of the records
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    /**
+     * Counts for a CIDR block over the last days days and all time, its busiest addresses, and
+     * up to recordLimit of the records detected from them in the window, newest first
+     */
+    @Transactional(readOnly = true)
+    public IpRangeResult queryRange(String cidr, int days, int recordLimit) {
+        IpPrefix prefix = IpPrefix.parse(cidr);
+        validateDays(days);
+        IpPrefixTrie.Range range = trie.range(prefix, fromDay(days), properties.maxAddresses());
+        
+        Set<String> spellings = new LinkedHashSet<>();
+        range.busiest().forEach(address -> spellings.addAll(address.spellings()));
+        LocalDateTime from = LocalDate.now().minusDays(days - 1).atStartOfDay();
+        List<FraudRecordSummary> records = recordLimit <= 0 || spellings.isEmpty()
+            ? List.of()
+            : partitionRouter.findSummariesByIpAddressesDetectedBetween(spellings, from, LocalDateTime.now())
+                .stream()
+                .sorted(Comparator.comparing(FraudRecordSummary::createdAt).reversed())
+                .limit(recordLimit)
+                .toList();
+        return new IpRangeResult(range, records);
+    }
+    
+    /**
+     * Busiest blocks of familyLength bits (e.g. 16 for IPv4 /16s) over the last days days
+     */
+    public List<IpPrefixTrie.Subnet> topSubnets(boolean ipv4, int familyLength, int days, int limit) {
+        validateDays(days);
+        int maxLength = ipv4 ? IpAddress.BITS - IpAddress.IPV4_OFFSET : IpAddress.BITS;
+        if (familyLength < 1 || familyLength > maxLength) {
+            throw new IllegalArgumentException("Prefix length must be between 1 and " + maxLength);
+        }
+        return ipv4
+            ? trie.topSubnets(IpPrefix.IPV4, null, familyLength + IpAddress.IPV4_OFFSET, fromDay(days), limit)
+            : trie.topSubnets(new IpPrefix(new IpAddress(0L, 0L), 0), IpPrefix.IPV4, familyLength, fromDay(days), limit);
+    }
+    
+    public IpPrefixTrie.Stats stats() {
+        return trie.stats();
+    }
+    
+    private void validateDays(int days) {
+        if (days < 1 || days > properties.retentionDays()) {
+            throw new IllegalArgumentException("Days must be between 1 and " + properties.retentionDays());
+        }
+    }
+    
+    private static long fromDay(int days) {
+        return LocalDate.now().toEpochDay() - days + 1;
+    }
+    
+    private static boolean add(IpPrefixTrie trie, String ipAddress, LocalDateTime detectedAt) {
+        IpAddress address = IpAddress.tryParse(ipAddress);
+        if (address == null || detectedAt == null) {
+            return false;
+        }
+        trie.add(address, ipAddress, detectedAt.toLocalDate().toEpochDay(), LocalDate.now().toEpochDay());
+        return true;
+    }
+    
+    private void scanInBackground() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Thread.ofVirtual().name("ip-index-scan-" + scans.incrementAndGet()).start(this::scan);
+    }
+    
+    private void scan() {
+        scanLock.lock();
+        try {
+            scanOnce();
+        } finally {
+            scanLock.unlock();
+        }
+    }
+    
+    private void scanOnce() {
+        long start = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        // Counts are not idempotent like graph links, so each scan fills a fresh trie and swaps it in.
+        // The scan reads the hot table up to its rowid at the start; ingests committed meanwhile are held
+        // back and only those past that bound are added, so none is counted twice.
+        IpPrefixTrie fresh = new IpPrefixTrie(properties.retentionDays());
+        synchronized (swapLock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status ->
+                partitionRouter.scanAll("ip_address, detected_at", rs -> {
+                    if (!add(fresh, rs.getString("ip_address"), FraudRecordRows.timestamp(rs, "detected_at"))) {
+                        skipped.incrementAndGet();
+                    }
+                    rows.incrementAndGet();
+                }, watermark -> {
+                    // Settle most held-back ingests first, then the rest while no new one can slip past the swap
+                    addUnscanned(fresh, watermark, drainPending());
+                    synchronized (swapLock) {
+                        addUnscanned(fresh, watermark, drainPending());
+                        trie = fresh;
+                        pending = null;
+                    }
+                }));
+            loaded = true;
+            IpPrefixTrie.Stats stats = fresh.stats();
+            logger.info("IP prefix index built from {} records in {} ms: {} addresses, {} nodes, {} records without an IP",
+                rows.get(), (System.nanoTime() - start) / 1_000_000, stats.addresses(), stats.nodes(), skipped.get());
+        } catch (Exception e) {
+            logger.error("IP prefix index scan failed after {} records: {}", rows.get(), e.getMessage(), e);
+        } finally {
+            synchronized (swapLock) {
+                pending = null;
+            }
+        }
+    }
+    
+    private List<FraudRecord> drainPending() {
+        synchronized (swapLock) {
+            List<FraudRecord> drained = pending;
+            pending = new ArrayList<>();
+            return drained;
+        }
+    }
+    
+    private static void addUnscanned(IpPrefixTrie fresh, FraudRecordPartitionRouter.HotWatermark watermark,
+                                     List<FraudRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Set<UUID> scanned = watermark.scanned(records.stream().map(FraudRecord::getId).toList());
+        for (FraudRecord record : records) {
+            if (!scanned.contains(record.getId())) {
+                add(fresh, record.getIpAddress(), record.getDetectedAt());
+            }
+        }
+    }
+    
+    public record IpRangeResult(IpPrefixTrie.Range range, List<FraudRecordSummary> records) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.fraud.service;
+
+import com.example.fraud.config.LinkGraphProperties;
+import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.event.FraudRecordCreatedEvent;
+import com.example.fraud.event.FraudRecordsImportedEvent;
+import com.example.fraud.graph.LinkGraph;
+import com.example.fraud.repository.FraudRecordPartitionRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the {@link LinkGraph} in step with fraud_records: a full scan of hot and cold records in the
+ * background after startup (and after bulk imports), plus one update per committed ingest. Adding
+ * a record twice is harmless, so ingests racing the scan need no coordination.
+ */
+@Service
+public class FraudLinkService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FraudLinkService.class);
+    
+    private final FraudRecordPartitionRouter partitionRouter;
+    private final LinkGraphProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final LinkGraph graph;
+    private final AtomicLong scans = new AtomicLong();
+    
+    private volatile boolean loaded;
+    
+    public FraudLinkService(FraudRecordPartitionRouter partitionRouter, LinkGraphProperties properties,
+                            PlatformTransactionManager transactionManager) {
+        this.partitionRouter = partitionRouter;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.graph = new LinkGraph(properties.ringLinkTypes().isEmpty()
+            ? EnumSet.noneOf(LinkGraph.NodeType.class)
+            : EnumSet.copyOf(properties.ringLinkTypes()));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        scanInBackground();
+    }
+    
+    @EventListener
+    public void onImport(FraudRecordsImportedEvent event) {
+        scanInBackground();
+    }
+    
+    @TransactionalEventListener
+    public void onCreated(FraudRecordCreatedEvent event) {
+        if (properties.enabled()) {
+            FraudRecord record = event.record();
+            graph.addRecord(record.getUserId(), record.getIpAddress(), record.getMerchantName(), record.getLocation());
+        }
+    }
+    
+    /**
+     * Whether the initial scan has finished; until then answers cover only part of the records
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+    
+    public LinkGraph.LinkedAccounts linkedAccounts(String userId, Set<LinkGraph.NodeType> via, int limit) {
+        return graph.linkedAccounts(userId, via, properties.hubDegree(), limit);
+    }
+    
+    public List<LinkGraph.Ring> rings(int minUsers, int limit, int memberLimit) {
+        return graph.rings(minUsers, limit, memberLimit);
+    }
+    
+    public LinkGraph.Neighborhood neighborhood(LinkGraph.NodeType type, String value, int hops) {
+        if (hops < 1 || hops > properties.maxHops()) {
+            throw new IllegalArgumentException("Hops must be between 1 and " + properties.maxHops());
+        }
+        return graph.neighborhood(type, value, hops, properties.hubDegree(), properties.maxNodes());
+    }
+    
+    public LinkGraph.Stats stats() {
+        return graph.stats();
+    }
+    
+    private void scanInBackground() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Thread.ofVirtual().name("link-graph-scan-" + scans.incrementAndGet()).start(this::scan);
+    }
+    
+    private void scan() {
+        long start = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        try {
+            // Read-only, so the scan runs on the replica when one is configured
+            readOnlyTransaction.executeWithoutResult(status ->
+                partitionRouter.scanAll("user_id, ip_address, merchant_name, location", rs -> {
+                    graph.addRecord(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4));
+                    rows.incrementAndGet();
+                }));
+            loaded = true;
+            LinkGraph.Stats stats = graph.stats();
+            logger.info("Link graph built from {} records in {} ms: {} nodes by type, {} links",
+                rows.get(), (System.nanoTime() - start) / 1_000_000, stats.nodes(), stats.links());
+        } catch (Exception e) {
+            logger.error("Link graph scan failed after {} records: {}", rows.get(), e.getMessage(), e);
+        }
+    }
+}
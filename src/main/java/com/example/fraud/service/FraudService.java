@@ -1,45 +1,94 @@
 package com.example.fraud.service;
 
 import com.example.fraud.dto.FraudDataRequest;
+import com.example.fraud.dto.FraudRecordSummary;
 import com.example.fraud.entity.FraudRecord;
+import com.example.fraud.event.FraudRecordCreatedEvent;
+import com.example.fraud.observability.LogMarkers;
+import com.example.fraud.repository.FraudRecordPartitionRouter;
 import com.example.fraud.repository.FraudRecordRepository;
+import com.example.fraud.repository.FraudRecordSearch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
 @Service
 @Transactional
 public class FraudService {
     
     private static final Logger logger = LoggerFactory.getLogger(FraudService.class);
     
+    /**
+     * IDs per UPDATE statement, well below SQLite's bound parameter limit
+     */
+    private static final int VERIFY_CHUNK_SIZE = 500;
+    
+    /**
+     * Most IDs accepted by one bulk verification call
+     */
+    public static final int MAX_VERIFY_IDS = 10_000;
+    
+    /**
+     * Most users whose histories are loaded by one batch call, so the IN list stays one statement
+     */
+    public static final int MAX_BATCH_USERS = 500;
+    
     private final FraudRecordRepository fraudRecordRepository;
+    private final FraudRecordPartitionRouter partitionRouter;
+    private final FraudRecordSearch fraudRecordSearch;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionIdFilterService transactionIdFilter;
+    private final TransactionTemplate writeTransaction;
     
-    public FraudService(FraudRecordRepository fraudRecordRepository) {
+    public FraudService(FraudRecordRepository fraudRecordRepository, FraudRecordPartitionRouter partitionRouter,
+                        FraudRecordSearch fraudRecordSearch, ApplicationEventPublisher eventPublisher,
+                        TransactionIdFilterService transactionIdFilter, PlatformTransactionManager transactionManager) {
         this.fraudRecordRepository = fraudRecordRepository;
+        this.partitionRouter = partitionRouter;
+        this.fraudRecordSearch = fraudRecordSearch;
+        this.eventPublisher = eventPublisher;
+        this.transactionIdFilter = transactionIdFilter;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
     
     /**
-     * Create a new fraud record from request data
+     * Create a new fraud record from request data. The insert runs in its own transaction so that a
+     * duplicate rejected by the unique index at commit can still be answered with the existing ID.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UUID createFraudRecord(FraudDataRequest request) {
-        logger.info("Creating fraud record for user: {}, transaction: {}", 
-                   request.getUserId(), request.getTransactionId());
+        logger.info(LogMarkers.PER_CALL, "Creating fraud record for transaction: {}",
+                   request.getTransactionId(), kv("user_id", request.getUserId()));
         
         // Validate required fields
         validateFraudRequest(request);
         
-        // Check if transaction already exists
-        Optional<FraudRecord> existingRecord = fraudRecordRepository.findByTransactionId(request.getTransactionId());
-        if (existingRecord.isPresent()) {
-            logger.warn("Fraud record already exists for transaction: {}", request.getTransactionId());
-            return existingRecord.get().getId();
+        // Check if transaction already exists, unless the filter knows the ID is new
+        if (transactionIdFilter.mightExist(request.getTransactionId())) {
+            Optional<UUID> existingId = findExistingRecordId(request.getTransactionId());
+            if (existingId.isPresent()) {
+                return existingId.get();
+            }
+            transactionIdFilter.recordFalsePositive();
         }
         
         // Create new fraud record
@@ -61,19 +110,42 @@ public class FraudService {
         fraudRecord.setAdditionalInfo(request.getAdditionalInfo());
         
         // Save to database
-        FraudRecord savedRecord = fraudRecordRepository.save(fraudRecord);
+        FraudRecord savedRecord;
+        try {
+            savedRecord = writeTransaction.execute(status -> {
+                FraudRecord saved = fraudRecordRepository.save(fraudRecord);
+                // In-memory indexes pick the record up once the transaction commits
+                eventPublisher.publishEvent(new FraudRecordCreatedEvent(saved));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent create of the same transaction won the race to the unique index
+            return findExistingRecordId(request.getTransactionId()).orElseThrow(() -> e);
+        }
         
-        logger.info("Fraud record created successfully with ID: {}", savedRecord.getId());
+        logger.info(LogMarkers.PER_CALL, "Fraud record created successfully with ID: {}", savedRecord.getId());
         return savedRecord.getId();
     }
     
+    private Optional<UUID> findExistingRecordId(String transactionId) {
+        // Read on the primary: a lagging replica could miss a record that was just created
+        Optional<UUID> existingId = writeTransaction.execute(status ->
+            fraudRecordRepository.findByTransactionId(transactionId).map(FraudRecord::getId));
+        if (existingId.isEmpty()) {
+            // Compacted months keep their transaction IDs in the cold partitions
+            existingId = partitionRouter.findColdIdByTransactionId(transactionId);
+        }
+        existingId.ifPresent(id -> logger.warn("Fraud record already exists for transaction: {}", transactionId));
+        return existingId;
+    }
+    
     /**
      * Get fraud record by ID
      */
     @Transactional(readOnly = true)
     public Optional<FraudRecord> getFraudRecord(UUID id) {
         logger.debug("Retrieving fraud record with ID: {}", id);
-        return fraudRecordRepository.findById(id);
+        return partitionRouter.findById(id);
     }
     
     /**
@@ -81,7 +153,7 @@ public class FraudService {
      */
     @Transactional(readOnly = true)
     public List<FraudRecord> getFraudRecordsByUserId(String userId) {
-        logger.debug("Retrieving fraud records for user: {}", userId);
+        logger.debug("Retrieving fraud records for user", kv("user_id", userId));
         return fraudRecordRepository.findByUserId(userId);
     }
     
@@ -122,22 +194,165 @@ public class FraudService {
         return fraudRecordRepository.findHighRiskUnverifiedRecords();
     }
     
+    /**
+     * Count high-risk unverified fraud records, across hot and cold storage
+     */
+    @Transactional(readOnly = true)
+    public long countHighRiskUnverifiedRecords() {
+        logger.debug("Counting high-risk unverified fraud records");
+        // Cold partitions are immutable, so their count comes precomputed from the manifest
+        return fraudRecordRepository.countHighRiskUnverifiedRecords()
+            + partitionRouter.coldStatistics().highRiskUnverifiedRecords();
+    }
+    
+    /**
+     * Get fraud record summaries by user ID, without loading full entities
+     */
+    @Transactional(readOnly = true)
+    public List<FraudRecordSummary> getFraudRecordSummariesByUserId(String userId) {
+        logger.debug("Retrieving fraud record summaries for user", kv("user_id", userId));
+        return partitionRouter.findSummariesByUserId(userId);
+    }
+    
+    /**
+     * Get the fraud record summaries of each of the given users with a single IN query per tier.
+     * Users come back in request order; those without records map to an empty list.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<FraudRecordSummary>> getFraudRecordSummariesByUserIds(Collection<String> userIds) {
+        Set<String> distinctUsers = new LinkedHashSet<>(userIds);
+        if (distinctUsers.isEmpty()) {
+            throw new IllegalArgumentException("At least one user ID is required");
+        }
+        if (distinctUsers.size() > MAX_BATCH_USERS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_USERS + " users can be loaded per call");
+        }
+        logger.debug("Retrieving fraud record summaries for {} users", distinctUsers.size());
+        Map<String, List<FraudRecordSummary>> histories = new LinkedHashMap<>();
+        for (String userId : distinctUsers) {
+            histories.put(userId, new ArrayList<>());
+        }
+        for (FraudRecordSummary summary : partitionRouter.findSummariesByUserIds(distinctUsers)) {
+            histories.get(summary.userId()).add(summary);
+        }
+        return histories;
+    }
+    
+    /**
+     * Get recent fraud record summaries (last 30 days), without loading full entities
+     */
+    @Transactional(readOnly = true)
+    public List<FraudRecordSummary> getRecentFraudRecordSummaries() {
+        return getFraudRecordSummariesForLastDays(30);
+    }
+    
+    /**
+     * Get fraud record summaries created in the last N days, across hot and cold storage
+     */
+    @Transactional(readOnly = true)
+    public List<FraudRecordSummary> getFraudRecordSummariesForLastDays(int days) {
+        LocalDateTime now = LocalDateTime.now();
+        logger.debug("Retrieving fraud record summaries from the last {} days", days);
+        return partitionRouter.findSummariesCreatedBetween(now.minusDays(days), now.plusSeconds(1));
+    }
+    
+    /**
+     * Get fraud record summaries detected within a date range, across hot and cold storage
+     */
+    @Transactional(readOnly = true)
+    public List<FraudRecordSummary> getFraudRecordSummariesDetectedBetween(LocalDateTime from, LocalDateTime to) {
+        logger.debug("Retrieving fraud record summaries detected between {} and {}", from, to);
+        return partitionRouter.findSummariesDetectedBetween(from, to);
+    }
+    
+    /**
+     * Get high-risk unverified fraud record summaries, without loading full entities
+     */
+    @Transactional(readOnly = true)
+    public List<FraudRecordSummary> getHighRiskUnverifiedSummaries() {
+        logger.debug("Retrieving high-risk unverified fraud record summaries");
+        return fraudRecordRepository.findHighRiskUnverifiedSummaries();
+    }
+    
+    /**
+     * Full-text search over descriptions and additional info of hot records, best matches first
+     */
+    @Transactional(readOnly = true)
+    public FraudRecordSearch.Page searchFraudRecords(FraudRecordSearch.Criteria criteria) {
+        logger.debug("Searching fraud records for '{}'", criteria.query());
+        if (criteria.query() == null || criteria.query().isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (criteria.limit() < 1 || criteria.limit() > FraudRecordSearch.MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + FraudRecordSearch.MAX_LIMIT);
+        }
+        if (criteria.offset() < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        return fraudRecordSearch.search(criteria);
+    }
+    
     /**
      * Update fraud record verification status
      */
     public void updateVerificationStatus(UUID id, boolean isVerified) {
         logger.info("Updating verification status for fraud record: {} to {}", id, isVerified);
         
-        Optional<FraudRecord> recordOptional = fraudRecordRepository.findById(id);
-        if (recordOptional.isPresent()) {
-            FraudRecord record = recordOptional.get();
-            record.setIsVerified(isVerified);
-            fraudRecordRepository.save(record);
-            logger.info("Verification status updated successfully");
-        } else {
+        VerificationResult result = verifyFraudRecords(List.of(id), isVerified);
+        if (result.notFound() > 0) {
             logger.warn("Fraud record not found with ID: {}", id);
             throw new RuntimeException("Fraud record not found with ID: " + id);
         }
+        logger.info("Verification status updated successfully");
+    }
+    
+    /**
+     * Set the verification status of the given records with one set-based UPDATE per chunk of IDs.
+     * Only hot records can change; IDs in cold partitions (which are immutable) count as not found.
+     */
+    public VerificationResult verifyFraudRecords(Collection<UUID> ids, boolean isVerified) {
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one fraud record ID is required");
+        }
+        if (distinctIds.size() > MAX_VERIFY_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_VERIFY_IDS + " IDs can be verified per call");
+        }
+        logger.info("Setting verification status of {} fraud records to {}", distinctIds.size(), isVerified);
+        
+        long matched = 0;
+        long updated = 0;
+        for (int from = 0; from < distinctIds.size(); from += VERIFY_CHUNK_SIZE) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + VERIFY_CHUNK_SIZE, distinctIds.size()));
+            matched += fraudRecordRepository.countByIdIn(chunk);
+            updated += fraudRecordRepository.updateVerificationByIds(chunk, isVerified);
+        }
+        return new VerificationResult(matched, updated, matched - updated, distinctIds.size() - matched);
+    }
+    
+    /**
+     * Set the verification status of every hot record detected in [from, to), optionally only at one
+     * risk level, with a single UPDATE. Open ends of the range default to the beginning of time and now.
+     */
+    public VerificationResult verifyFraudRecords(String riskLevel, LocalDateTime from, LocalDateTime to, boolean isVerified) {
+        if (riskLevel == null && from == null && to == null) {
+            throw new IllegalArgumentException("A risk level or a detection date range is required");
+        }
+        String level = riskLevel != null ? riskLevel.toUpperCase() : null;
+        if (level != null && !level.equals("HIGH") && !level.equals("MEDIUM") && !level.equals("LOW")) {
+            throw new IllegalArgumentException("Risk level must be HIGH, MEDIUM, or LOW");
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Detection range start must be before its end");
+        }
+        logger.info("Setting verification status to {} for {} records detected in [{}, {})",
+                   isVerified, level != null ? level : "all", start, end);
+        
+        long matched = fraudRecordRepository.countForVerification(level, start, end);
+        long updated = fraudRecordRepository.updateVerificationByFilter(level, start, end, isVerified);
+        return new VerificationResult(matched, updated, matched - updated, 0);
     }
     
     /**
@@ -147,11 +362,13 @@ public class FraudService {
     public FraudStatistics getFraudStatistics() {
         logger.debug("Calculating fraud statistics");
         
-        long totalRecords = fraudRecordRepository.count();
-        long highRiskRecords = fraudRecordRepository.countByRiskLevel("HIGH");
-        long mediumRiskRecords = fraudRecordRepository.countByRiskLevel("MEDIUM");
-        long lowRiskRecords = fraudRecordRepository.countByRiskLevel("LOW");
-        long unverifiedRecords = fraudRecordRepository.findByIsVerified(false).size();
+        // Cold partitions are immutable, so their counts come precomputed from the manifest
+        FraudRecordPartitionRouter.ColdStatistics cold = partitionRouter.coldStatistics();
+        long totalRecords = fraudRecordRepository.count() + cold.totalRecords();
+        long highRiskRecords = fraudRecordRepository.countByRiskLevel("HIGH") + cold.highRiskRecords();
+        long mediumRiskRecords = fraudRecordRepository.countByRiskLevel("MEDIUM") + cold.mediumRiskRecords();
+        long lowRiskRecords = fraudRecordRepository.countByRiskLevel("LOW") + cold.lowRiskRecords();
+        long unverifiedRecords = fraudRecordRepository.countByIsVerified(false) + cold.unverifiedRecords();
         
         return new FraudStatistics(totalRecords, highRiskRecords, mediumRiskRecords, 
                                  lowRiskRecords, unverifiedRecords);
@@ -191,6 +408,17 @@ public class FraudService {
         request.setRiskLevel(riskLevel);
     }
     
+    /**
+     * Outcome of a bulk verification
+     *
+     * @param matched   hot records selected by the IDs or filter
+     * @param updated   records whose status changed
+     * @param unchanged matched records already in the requested state
+     * @param notFound  requested IDs with no hot record (unknown, or already moved to a cold partition)
+     */
+    public record VerificationResult(long matched, long updated, long unchanged, long notFound) {
+    }
+    
     /**
      * Inner class for fraud statistics
      */
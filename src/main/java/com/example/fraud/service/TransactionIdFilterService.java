@@ -0,0 +1,268 @@
+package com.example.fraud.service;
+
+import com.example.fraud.config.DedupProperties;
+import com.example.fraud.dedup.ScalableBloomFilter;
+import com.example.fraud.event.FraudRecordCreatedEvent;
+import com.example.fraud.event.FraudRecordsImportedEvent;
+import com.example.fraud.repository.FraudRecordPartitionRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Lets createFraudRecord skip its duplicate SELECT for transaction IDs that are definitely new.
+ * The {@link ScalableBloomFilter} over transaction IDs is saved to a file together with the highest
+ * fraud_records rowid it covers; at startup the file is loaded and caught up with newer rows, or the
+ * filter is rebuilt from the table and the cold partitions when the file is missing or no longer matches.
+ * Until that finishes every ID is reported as a possible hit, so the SELECT always runs.
+ */
+@Service
+public class TransactionIdFilterService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionIdFilterService.class);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final FraudRecordPartitionRouter partitionRouter;
+    private final DedupProperties properties;
+    private final Counter skippedLookups;
+    private final Counter checkedLookups;
+    private final Counter falsePositives;
+    private final Object syncLock = new Object();
+    
+    private volatile ScalableBloomFilter filter;
+    private volatile boolean ready;
+    // Highest rowid read from fraud_records; guarded by syncLock
+    private long watermark;
+    
+    public TransactionIdFilterService(JdbcTemplate jdbcTemplate, FraudRecordPartitionRouter partitionRouter,
+                                      DedupProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionRouter = partitionRouter;
+        this.properties = properties;
+        this.filter = newFilter();
+        this.skippedLookups = lookupCounter(meterRegistry, "skipped");
+        this.checkedLookups = lookupCounter(meterRegistry, "checked");
+        this.falsePositives = Counter.builder("fraud.dedup.false_positives")
+            .description("Possible hits where the duplicate SELECT found no record")
+            .register(meterRegistry);
+        Gauge.builder("fraud.dedup.false_positive_rate", this, TransactionIdFilterService::observedFalsePositiveRate)
+            .description("False positives over lookups for transaction IDs that turned out to be new")
+            .register(meterRegistry);
+        Gauge.builder("fraud.dedup.expected_false_positive_rate", this, service -> service.filter.expectedFalsePositiveRate())
+            .description("False-positive rate predicted from the filter's fill")
+            .register(meterRegistry);
+        Gauge.builder("fraud.dedup.keys", this, service -> service.filter.count())
+            .description("Transaction IDs in the filter")
+            .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.enabled()) {
+            Thread.ofVirtual().name("dedup-filter-load").start(this::load);
+        }
+    }
+    
+    @EventListener
+    public void onImport(FraudRecordsImportedEvent event) {
+        if (properties.enabled() && ready) {
+            Thread.ofVirtual().name("dedup-filter-catch-up").start(() -> {
+                synchronized (syncLock) {
+                    catchUp(filter);
+                }
+            });
+        }
+    }
+    
+    @TransactionalEventListener
+    public void onCreated(FraudRecordCreatedEvent event) {
+        if (properties.enabled()) {
+            filter.add(event.record().getTransactionId());
+        }
+    }
+    
+    /**
+     * False when transactionId is definitely not in fraud_records, so the duplicate SELECT can be skipped
+     */
+    public boolean mightExist(String transactionId) {
+        if (!properties.enabled() || !ready) {
+            return true;
+        }
+        if (filter.mightContain(transactionId)) {
+            checkedLookups.increment();
+            return true;
+        }
+        skippedLookups.increment();
+        return false;
+    }
+    
+    /**
+     * Report that the SELECT after a possible hit found nothing
+     */
+    public void recordFalsePositive() {
+        if (properties.enabled() && ready) {
+            falsePositives.increment();
+        }
+    }
+    
+    public Stats stats() {
+        ScalableBloomFilter current = filter;
+        return new Stats(properties.enabled(), ready, current.count(), current.stageCount(), current.sizeInBytes(),
+            current.expectedFalsePositiveRate(), observedFalsePositiveRate(),
+            (long) skippedLookups.count(), (long) checkedLookups.count(), (long) falsePositives.count());
+    }
+    
+    @Scheduled(fixedDelayString = "${fraud.dedup.snapshot-interval:10m}", initialDelayString = "${fraud.dedup.snapshot-interval:10m}")
+    public void scheduledSave() {
+        if (properties.enabled() && ready) {
+            save();
+        }
+    }
+    
+    @PreDestroy
+    public void saveOnShutdown() {
+        scheduledSave();
+    }
+    
+    private double observedFalsePositiveRate() {
+        double negatives = skippedLookups.count() + falsePositives.count();
+        return negatives == 0 ? 0.0 : falsePositives.count() / negatives;
+    }
+    
+    private void load() {
+        long start = System.nanoTime();
+        synchronized (syncLock) {
+            try {
+                ScalableBloomFilter loaded = readSnapshot();
+                if (loaded == null) {
+                    loaded = newFilter();
+                    watermark = 0;
+                    // Rows already compacted out of the hot table are no longer reached by catch-up
+                    ScalableBloomFilter rebuilt = loaded;
+                    partitionRouter.scanCold("transaction_id", rs -> rebuilt.add(rs.getString(1)));
+                }
+                long before = loaded.count();
+                long rows = catchUp(loaded);
+                filter = loaded;
+                // Ingests that committed while the old filter was still current
+                rows += catchUp(loaded);
+                ready = true;
+                logger.info("Transaction ID filter ready in {} ms: {} IDs ({} added from {} rows), expected false-positive rate {}",
+                    (System.nanoTime() - start) / 1_000_000, loaded.count(), loaded.count() - before, rows,
+                    String.format("%.5f", loaded.expectedFalsePositiveRate()));
+            } catch (Exception e) {
+                logger.error("Transaction ID filter failed to load, duplicate checks always query: {}", e.getMessage(), e);
+            }
+        }
+        save();
+    }
+    
+    /**
+     * Add transaction IDs of rows past the watermark; must hold syncLock
+     */
+    private long catchUp(ScalableBloomFilter target) {
+        long[] rows = {0};
+        jdbcTemplate.query("SELECT rowid, transaction_id FROM fraud_records WHERE rowid > ? ORDER BY rowid",
+            rs -> {
+                target.add(rs.getString(2));
+                watermark = rs.getLong(1);
+                rows[0]++;
+            },
+            watermark);
+        return rows[0];
+    }
+    
+    /**
+     * The saved filter, with watermark set from it, or null if there is none or it does not match the table
+     */
+    private ScalableBloomFilter readSnapshot() {
+        Path path = Paths.get(properties.snapshotPath());
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            long savedWatermark = in.readLong();
+            String savedTransactionId = in.readUTF();
+            ScalableBloomFilter saved = ScalableBloomFilter.readFrom(in);
+            if (!saved.hasSizing(properties.expectedTransactions(), properties.falsePositiveRate())) {
+                logger.info("Transaction ID filter sizing changed, rebuilding from the database");
+                return null;
+            }
+            // The row at the watermark must still be the one it was: otherwise the file belongs to another database
+            List<String> current = jdbcTemplate.queryForList(
+                "SELECT transaction_id FROM fraud_records WHERE rowid = ?", String.class, savedWatermark);
+            if (savedWatermark > 0 && (current.isEmpty() || !current.get(0).equals(savedTransactionId))) {
+                logger.info("Transaction ID filter snapshot does not match fraud_records, rebuilding from the database");
+                return null;
+            }
+            watermark = savedWatermark;
+            return saved;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable transaction ID filter snapshot {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+    
+    private void save() {
+        synchronized (syncLock) {
+            if (!ready) {
+                return;
+            }
+            Path path = Paths.get(properties.snapshotPath()).toAbsolutePath();
+            try {
+                // Catch up first, so every row up to the saved watermark is in the saved filter
+                catchUp(filter);
+                String transactionId = watermark > 0
+                    ? jdbcTemplate.queryForObject("SELECT transaction_id FROM fraud_records WHERE rowid = ?", String.class, watermark)
+                    : "";
+                Files.createDirectories(path.getParent());
+                Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeLong(watermark);
+                    out.writeUTF(transactionId);
+                    filter.writeTo(out);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                logger.debug("Saved transaction ID filter to {} at rowid {}", path, watermark);
+            } catch (Exception e) {
+                logger.warn("Failed to save transaction ID filter to {}: {}", path, e.getMessage());
+            }
+        }
+    }
+    
+    private ScalableBloomFilter newFilter() {
+        return new ScalableBloomFilter(properties.expectedTransactions(), properties.falsePositiveRate());
+    }
+    
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("fraud.dedup.lookups")
+            .description("Duplicate checks in createFraudRecord; skipped ones saved a SELECT")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    public record Stats(boolean enabled, boolean ready, long keys, int stages, long sizeBytes,
+                        double expectedFalsePositiveRate, double observedFalsePositiveRate,
+                        long skippedLookups, long checkedLookups, long falsePositives) {
+    }
+}
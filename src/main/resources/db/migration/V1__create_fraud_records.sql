@@ -0,0 +1,32 @@
+-- Hot fraud record table. IF NOT EXISTS adopts databases created before migrations
+-- (baseline-on-migrate with baseline version 0 still applies this script to them).
+CREATE TABLE IF NOT EXISTS fraud_records (
+    id BLOB PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    transaction_id VARCHAR(255) NOT NULL,
+    amount FLOAT NOT NULL,
+    currency VARCHAR(255) NOT NULL,
+    merchant_name VARCHAR(255) NOT NULL,
+    fraud_type VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    risk_level VARCHAR(255) NOT NULL CHECK (risk_level IN ('HIGH', 'MEDIUM', 'LOW')),
+    created_at TIMESTAMP NOT NULL,
+    detected_at TIMESTAMP NOT NULL,
+    ip_address VARCHAR(255),
+    location VARCHAR(255),
+    is_verified BOOLEAN,
+    additional_info VARCHAR(2000)
+);
+
+-- One record per transaction; FraudService already rejects duplicates, this enforces it
+CREATE UNIQUE INDEX IF NOT EXISTS ux_fraud_records_transaction_id ON fraud_records (transaction_id);
+
+-- findByUserId / user summaries, newest first
+CREATE INDEX IF NOT EXISTS idx_fraud_records_user_created ON fraud_records (user_id, created_at);
+
+-- Recent-records windows and the compactor's age cut-off
+CREATE INDEX IF NOT EXISTS idx_fraud_records_created_at ON fraud_records (created_at);
+CREATE INDEX IF NOT EXISTS idx_fraud_records_detected_at ON fraud_records (detected_at);
+
+-- High-risk unverified queue and per-risk statistics
+CREATE INDEX IF NOT EXISTS idx_fraud_records_risk_verified ON fraud_records (risk_level, is_verified);
@@ -0,0 +1,16 @@
+-- Manifest of cold monthly partition files (see FraudPartitionCatalog). The partition files
+-- themselves are separate SQLite databases built by FraudPartitionCompactor.
+CREATE TABLE IF NOT EXISTS fraud_partitions (
+    partition_key VARCHAR(7) PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL,
+    range_start TIMESTAMP NOT NULL,
+    range_end TIMESTAMP NOT NULL,
+    min_detected_at TIMESTAMP,
+    max_detected_at TIMESTAMP,
+    record_count BIGINT NOT NULL,
+    high_risk_count BIGINT NOT NULL,
+    medium_risk_count BIGINT NOT NULL,
+    low_risk_count BIGINT NOT NULL,
+    unverified_count BIGINT NOT NULL,
+    compacted_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Single-row heartbeat written to the primary by ReplicaLagMonitor. The value seen on the
+-- replica, compared with the time it was read, is the replica's lag.
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    beat_at BIGINT NOT NULL
+);
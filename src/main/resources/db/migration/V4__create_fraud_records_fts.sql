@@ -0,0 +1,33 @@
+-- Full-text index over description and additional_info for search_fraud_records.
+-- External content: the text lives only in fraud_records, the index is keyed by its rowid and
+-- kept in sync by the triggers below. Porter stemming lets "cards" match "card"; the prefix
+-- indexes make two- and three-letter prefix queries cheap.
+CREATE VIRTUAL TABLE IF NOT EXISTS fraud_records_fts USING fts5(
+    description,
+    additional_info,
+    content = 'fraud_records',
+    tokenize = 'porter unicode61 remove_diacritics 2',
+    prefix = '2 3'
+);
+
+CREATE TRIGGER IF NOT EXISTS fraud_records_fts_insert AFTER INSERT ON fraud_records BEGIN
+    INSERT INTO fraud_records_fts (rowid, description, additional_info)
+    VALUES (new.rowid, new.description, new.additional_info);
+END;
+
+CREATE TRIGGER IF NOT EXISTS fraud_records_fts_delete AFTER DELETE ON fraud_records BEGIN
+    INSERT INTO fraud_records_fts (fraud_records_fts, rowid, description, additional_info)
+    VALUES ('delete', old.rowid, old.description, old.additional_info);
+END;
+
+-- Hibernate rewrites every column on update, so only reindex when the text actually changed
+CREATE TRIGGER IF NOT EXISTS fraud_records_fts_update AFTER UPDATE OF description, additional_info ON fraud_records
+WHEN old.description IS NOT new.description OR old.additional_info IS NOT new.additional_info BEGIN
+    INSERT INTO fraud_records_fts (fraud_records_fts, rowid, description, additional_info)
+    VALUES ('delete', old.rowid, old.description, old.additional_info);
+    INSERT INTO fraud_records_fts (rowid, description, additional_info)
+    VALUES (new.rowid, new.description, new.additional_info);
+END;
+
+-- Index the rows that existed before this migration
+INSERT INTO fraud_records_fts (fraud_records_fts) VALUES ('rebuild');
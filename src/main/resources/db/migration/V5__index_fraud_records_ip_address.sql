@@ -0,0 +1,2 @@
+-- Record lookups for the addresses the IP prefix index finds inside a CIDR block
+CREATE INDEX IF NOT EXISTS idx_fraud_records_ip_detected ON fraud_records (ip_address, detected_at);
@@ -0,0 +1,3 @@
+-- High-risk unverified records per cold partition, so that count needs no partition file.
+-- Partitions compacted before this column existed are filled in by FraudPartitionCatalog at startup.
+ALTER TABLE fraud_partitions ADD COLUMN high_risk_unverified_count BIGINT;
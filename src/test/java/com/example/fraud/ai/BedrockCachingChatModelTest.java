@@ -0,0 +1,66 @@
+package com.example.fraud.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptionsBuilder;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BedrockCachingChatModelTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @Test
+    void cacheableSystemMessageEndsTheCachedPrefix() {
+        Prompt prompt = new Prompt(List.of(new CacheableSystemMessage("Operation instructions"),
+            new UserMessage("Give prevention tips for card fraud")));
+        
+        JsonNode body = BedrockCachingChatModel.requestBody(objectMapper, prompt, 300);
+        
+        assertThat(body.path("anthropic_version").asText()).isEqualTo(BedrockCachingChatModel.ANTHROPIC_VERSION);
+        assertThat(body.path("max_tokens").asInt()).isEqualTo(300);
+        assertThat(body.path("system")).hasSize(1);
+        assertThat(body.path("system").get(0).path("text").asText()).isEqualTo("Operation instructions");
+        assertThat(body.path("system").get(0).path("cache_control").path("type").asText()).isEqualTo("ephemeral");
+        assertThat(body.path("messages")).hasSize(1);
+        assertThat(body.path("messages").get(0).path("role").asText()).isEqualTo("user");
+        assertThat(body.path("messages").get(0).path("content").get(0).path("text").asText())
+            .isEqualTo("Give prevention tips for card fraud");
+    }
+    
+    @Test
+    void plainSystemMessageIsNotCachedAndOptionsAreSent() {
+        Prompt prompt = new Prompt(List.of(new SystemMessage("Operation instructions"), new UserMessage("Question")),
+            ChatOptionsBuilder.builder().withMaxTokens(600).withTemperature(0.4).build());
+        
+        JsonNode body = BedrockCachingChatModel.requestBody(objectMapper, prompt, 300);
+        
+        assertThat(body.path("system").get(0).has("cache_control")).isFalse();
+        assertThat(body.path("max_tokens").asInt()).isEqualTo(600);
+        assertThat(body.path("temperature").asDouble()).isEqualTo(0.4);
+    }
+    
+    @Test
+    void cacheTokensAreReportedApartFromPromptTokens() throws Exception {
+        JsonNode json = objectMapper.readTree("""
+            {"id": "msg_1", "model": "claude", "content": [{"type": "text", "text": "Tips"}],
+             "usage": {"input_tokens": 40, "output_tokens": 120,
+                       "cache_read_input_tokens": 1500, "cache_creation_input_tokens": 0}}
+            """);
+        
+        ChatResponse response = BedrockCachingChatModel.chatResponse(json);
+        
+        assertThat(response.getResult().getOutput().getContent()).isEqualTo("Tips");
+        assertThat(response.getMetadata().getUsage().getPromptTokens()).isEqualTo(40);
+        assertThat(response.getMetadata().getUsage().getGenerationTokens()).isEqualTo(120);
+        assertThat((Long) response.getMetadata().get(CacheableSystemMessage.CACHE_READ_TOKENS)).isEqualTo(1500);
+        assertThat((Long) response.getMetadata().get(CacheableSystemMessage.CACHE_WRITE_TOKENS)).isZero();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.fraud.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PromptTemplateTest {
+    
+    @Test
+    void decimalsMatchStringFormatOnBoundaryValues() {
+        double[] values = {
+            0, -0.0, 0.005, 0.015, 0.125, 1.005, 2.675, 1.115, 0.995, 0.994999, 123456.785,
+            -0.004, -0.005, -1.005, -0.995, 1e-9, -1e-9,
+            1e12 + 0.005, 999999999999.995, 9.99999999999999e14, 1e15 - 0.01, 1e15, 4503599627370495.5, -1e17,
+            Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        for (double value : values) {
+            assertSameAsFormat(value);
+        }
+    }
+    
+    @Test
+    void decimalsMatchStringFormatOnRandomAmounts() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double magnitude = Math.pow(10, random.nextInt(16));
+            assertSameAsFormat((random.nextDouble() - 0.5) * magnitude);
+            // Amounts with three decimals, half of them exact half cents
+            long thousandths = (long) (random.nextDouble() * magnitude) * 10 + (random.nextBoolean() ? 5 : random.nextInt(10));
+            double amount = thousandths / 1000.0;
+            assertSameAsFormat(amount);
+            assertSameAsFormat(-amount);
+            assertSameAsFormat(Math.nextUp(amount));
+            assertSameAsFormat(Math.nextDown(amount));
+        }
+    }
+    
+    @Test
+    void decimalWritesNullForMissingValues() {
+        StringBuilder out = new StringBuilder();
+        PromptTemplate.appendDecimal(out, null);
+        assertThat(out).hasToString("null");
+    }
+    
+    @Test
+    void datesAndTimesMatchIsoFormatter() {
+        LocalDateTime[] dateTimes = {
+            LocalDateTime.of(2024, 1, 5, 0, 0),
+            LocalDateTime.of(2024, 12, 31, 23, 59, 59),
+            LocalDateTime.of(2024, 2, 29, 9, 5, 7, 100_000_000),
+            LocalDateTime.of(2024, 2, 29, 9, 5, 7, 120_000),
+            LocalDateTime.of(2024, 2, 29, 9, 5, 7, 1),
+            LocalDateTime.of(999, 3, 4, 5, 6, 7),
+            LocalDateTime.of(10_000, 1, 1, 0, 0),
+            LocalDateTime.of(-1, 6, 15, 12, 30)
+        };
+        for (LocalDateTime dateTime : dateTimes) {
+            StringBuilder out = new StringBuilder();
+            PromptTemplate.appendIsoDateTime(out, dateTime);
+            assertThat(out).hasToString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+            
+            LocalDate date = dateTime.toLocalDate();
+            out.setLength(0);
+            PromptTemplate.appendIsoDate(out, date);
+            assertThat(out).hasToString(DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+        }
+    }
+    
+    @Test
+    void uuidsMatchToString() {
+        Random random = new Random(7);
+        UUID[] ids = {new UUID(0, 0), new UUID(-1, -1), UUID.randomUUID(), new UUID(random.nextLong(), random.nextLong())};
+        for (UUID id : ids) {
+            StringBuilder out = new StringBuilder();
+            PromptTemplate.appendUuid(out, id);
+            assertThat(out).hasToString(id.toString());
+        }
+    }
+    
+    @Test
+    void rendersFieldsBetweenLiteralsAndEscapedBraces() {
+        PromptTemplate<Double> template = PromptTemplate.<Double>builder("{{amount}}: {amount} USD")
+            .decimal("amount", value -> value)
+            .build();
+        
+        assertThat(template.render(1.005)).isEqualTo("{amount}: 1.01 USD");
+        assertThat(template.render(-2.5)).isEqualTo("{amount}: -2.50 USD");
+    }
+    
+    @Test
+    void buildRejectsPlaceholdersWithoutWritersAndUnusedWriters() {
+        assertThatThrownBy(() -> PromptTemplate.<String>builder("{missing}").build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("missing");
+        assertThatThrownBy(() -> PromptTemplate.<String>builder("no fields").text("unused", value -> value).build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("unused");
+    }
+    
+    private static void assertSameAsFormat(double value) {
+        StringBuilder out = new StringBuilder();
+        PromptTemplate.appendDecimal(out, value);
+        assertThat(out).as("formatting %s", value).hasToString(String.format(Locale.ROOT, "%.2f", value));
+    }
+}
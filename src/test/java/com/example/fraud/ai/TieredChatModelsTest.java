@@ -0,0 +1,127 @@
+package com.example.fraud.ai;
+
+import com.example.fraud.config.AiPromptCacheProperties;
+import com.example.fraud.config.AiRoutingProperties;
+import com.example.fraud.config.AiUsageProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TieredChatModelsTest {
+    
+    private static final String SMALL_ID = "anthropic.claude-3-haiku-20240307-v1:0";
+    private static final String LARGE_ID = "anthropic.claude-3-5-sonnet-20241022-v2:0";
+    
+    private final Map<String, RecordingChatModel> built = new ConcurrentHashMap<>();
+    private final RecordingChatModel defaultModel = new RecordingChatModel();
+    private final TieredChatModels chatModels = new TieredChatModels(defaultModel,
+        modelId -> built.computeIfAbsent(modelId, id -> new RecordingChatModel()));
+    private final AiUsageProperties usageProperties = new AiUsageProperties(3.00, 15.00,
+        new AiUsageProperties.Budget(false, Duration.ofHours(1), 2_000_000, AiUsageProperties.ExhaustedAction.FALLBACK));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AiUsageTracker usageTracker = new AiUsageTracker(meterRegistry, Tracer.NOOP, usageProperties,
+        Clock.systemUTC());
+    
+    @Test
+    void callRunsOnTheModelBuiltForItsTier() {
+        AiModelRouter router = router(true);
+        
+        call(router, "prevention_tips", "LOW");
+        
+        assertThat(built).containsOnlyKeys(SMALL_ID);
+        assertThat(built.get(SMALL_ID).prompts).hasSize(1);
+        assertThat(defaultModel.prompts).isEmpty();
+    }
+    
+    @Test
+    void escalatedCallRunsOnTheLargeTiersModel() {
+        AiModelRouter router = router(true);
+        
+        call(router, "prevention_tips", "HIGH");
+        
+        assertThat(built).containsOnlyKeys(LARGE_ID);
+        assertThat(built.get(LARGE_ID).prompts).hasSize(1);
+        assertThat(built.get(LARGE_ID).prompts.get(0).getOptions().getMaxTokens()).isEqualTo(600);
+    }
+    
+    @Test
+    void eachTierBuildsItsModelOnce() {
+        AiModelRouter router = router(true);
+        
+        call(router, "prevention_tips", "LOW");
+        call(router, "prevention_tips", "LOW");
+        call(router, "prevention_tips", "HIGH");
+        
+        assertThat(built).containsOnlyKeys(SMALL_ID, LARGE_ID);
+        assertThat(built.get(SMALL_ID).prompts).hasSize(2);
+        assertThat(built.get(LARGE_ID).prompts).hasSize(1);
+    }
+    
+    @Test
+    void unroutedCallsRunOnTheDefaultModel() {
+        call(router(false), "prevention_tips", "HIGH");
+        call(router(true), "unknown_operation", null);
+        
+        assertThat(built).isEmpty();
+        assertThat(defaultModel.prompts).hasSize(2);
+    }
+    
+    @Test
+    void costIsPricedForTheModelThatAnswered() {
+        call(router(true), "prevention_tips", "LOW");
+        
+        double promptTokens = meterRegistry.get("ai.tokens").tags("model", "small", "type", "prompt").counter().count();
+        double completionTokens = meterRegistry.get("ai.tokens").tags("model", "small", "type", "completion").counter().count();
+        double cost = meterRegistry.get("ai.cost").tags("model", "small").counter().count();
+        
+        assertThat(built).containsOnlyKeys(SMALL_ID);
+        assertThat(promptTokens).isPositive();
+        assertThat(cost).isCloseTo((promptTokens * 0.25 + completionTokens * 1.25) / 1_000_000, within(1e-12));
+    }
+    
+    private ChatResponse call(AiModelRouter router, String operation, String riskLevel) {
+        Prompt prompt = new Prompt(List.of(new UserMessage("Give prevention tips for card fraud")));
+        AiModelRouter.ModelSelection selection = router.route(operation, prompt, riskLevel);
+        return usageTracker.call(selection, chatModels.forSelection(selection));
+    }
+    
+    private AiModelRouter router(boolean enabled) {
+        AiRoutingProperties properties = new AiRoutingProperties(enabled,
+            Map.of("small", new AiRoutingProperties.Model(SMALL_ID, 0.25, 1.25),
+                "large", new AiRoutingProperties.Model(LARGE_ID, 3.00, 15.00)),
+            Map.of("prevention-tips", new AiRoutingProperties.Route("small", 600, 0.4, "large", 0, Set.of("HIGH"))));
+        return new AiModelRouter(properties, usageProperties, new AiPromptCacheProperties(false, 0.1, 1.25));
+    }
+    
+    /**
+     * A stub that keeps every prompt it is sent, standing in for one tier's model
+     */
+    private static class RecordingChatModel extends StubChatModel {
+        
+        final List<Prompt> prompts = new CopyOnWriteArrayList<>();
+        
+        RecordingChatModel() {
+            super(Duration.ZERO, Long.MAX_VALUE, Duration.ZERO);
+        }
+        
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            prompts.add(prompt);
+            return super.call(prompt);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.fraud.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FraudRecordBatchReaderTest {
+    
+    @Test
+    void readsChunksLargerThanTheReadersChunkAndBuffers() throws IOException {
+        // 5,000 rows with distinct descriptions inflate to well over the reader's initial 1 MB buffer
+        FraudRecordChunk large = chunk(5_000, 0);
+        FraudRecordChunk small = chunk(3, 5_000);
+        byte[] file = write(large, small);
+        
+        FraudRecordChunk read = new FraudRecordChunk(100);
+        try (FraudRecordBatchReader reader = new FraudRecordBatchReader(new ByteArrayInputStream(file))) {
+            assertThat(reader.next(read)).isTrue();
+            assertSameRows(read, large);
+            assertThat(reader.next(read)).isTrue();
+            assertSameRows(read, small);
+            assertThat(reader.next(read)).isFalse();
+        }
+        assertThat(read.capacity).isEqualTo(5_000);
+    }
+    
+    @Test
+    void truncatedFileFailsWithAClearMessage() throws IOException {
+        byte[] file = write(chunk(50, 0));
+        byte[] truncated = Arrays.copyOf(file, file.length - 20);
+        
+        try (FraudRecordBatchReader reader = new FraudRecordBatchReader(new ByteArrayInputStream(truncated))) {
+            assertThatThrownBy(() -> reader.next(new FraudRecordChunk(50)))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Truncated file");
+        }
+    }
+    
+    @Test
+    void missingEndMarkerFailsWithAClearMessage() throws IOException {
+        byte[] file = write(chunk(5, 0));
+        byte[] truncated = Arrays.copyOf(file, file.length - 4);
+        
+        try (FraudRecordBatchReader reader = new FraudRecordBatchReader(new ByteArrayInputStream(truncated))) {
+            FraudRecordChunk read = new FraudRecordChunk(5);
+            assertThat(reader.next(read)).isTrue();
+            assertThatThrownBy(() -> reader.next(read))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Truncated file");
+        }
+    }
+    
+    @Test
+    void rowCountBeyondTheChunkBytesIsRejectedBeforeAllocating() throws IOException {
+        byte[] file = rawChunkFile(Integer.MAX_VALUE, new byte[64]);
+        
+        try (FraudRecordBatchReader reader = new FraudRecordBatchReader(new ByteArrayInputStream(file))) {
+            assertThatThrownBy(() -> reader.next(new FraudRecordChunk(10)))
+                .isInstanceOf(IOException.class)
+                .hasMessageStartingWith("Corrupt chunk header");
+        }
+    }
+    
+    @Test
+    void stringLengthBeyondTheChunkBytesIsRejected() throws IOException {
+        // One row: its ID, then a user_id dictionary of one entry claiming 1,000 bytes
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        raw.write(new byte[16]);
+        raw.write(1);
+        raw.write(0xE8);
+        raw.write(0x07);
+        raw.write(new byte[40]);
+        byte[] file = rawChunkFile(1, raw.toByteArray());
+        
+        try (FraudRecordBatchReader reader = new FraudRecordBatchReader(new ByteArrayInputStream(file))) {
+            assertThatThrownBy(() -> reader.next(new FraudRecordChunk(1)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("length 1000")
+                .hasMessageContaining("bytes left");
+        }
+    }
+    
+    private static FraudRecordChunk chunk(int rows, int offset) {
+        FraudRecordChunk chunk = new FraudRecordChunk(rows);
+        for (int i = 0; i < rows; i++) {
+            int n = offset + i;
+            chunk.idMostSigBits[i] = n * 31L;
+            chunk.idLeastSigBits[i] = -n;
+            chunk.strings[FraudRecordChunk.USER_ID][i] = "user_" + (n % 97);
+            chunk.strings[FraudRecordChunk.TRANSACTION_ID][i] = "txn_" + n;
+            chunk.strings[FraudRecordChunk.CURRENCY][i] = n % 2 == 0 ? "USD" : "EUR";
+            chunk.strings[FraudRecordChunk.MERCHANT_NAME][i] = "Merchant " + (n % 13);
+            chunk.strings[FraudRecordChunk.FRAUD_TYPE][i] = "credit_card_fraud";
+            chunk.strings[FraudRecordChunk.DESCRIPTION][i] = ("Suspicious activity on transaction " + n + " ").repeat(6);
+            chunk.strings[FraudRecordChunk.RISK_LEVEL][i] = n % 3 == 0 ? "HIGH" : "LOW";
+            chunk.strings[FraudRecordChunk.IP_ADDRESS][i] = n % 5 == 0 ? null : "10.0." + (n % 256) + ".1";
+            chunk.strings[FraudRecordChunk.LOCATION][i] = null;
+            chunk.strings[FraudRecordChunk.ADDITIONAL_INFO][i] = n % 7 == 0 ? "{\"channel\":\"web\"}" : null;
+            chunk.amount[i] = n * 1.25;
+            chunk.createdAt[i] = 1_700_000_000_000_000L + n * 1_000_003L;
+            chunk.detectedAt[i] = 1_700_000_000_000_000L - n * 7L;
+            chunk.verified[i] = n % 4 == 0;
+        }
+        chunk.size = rows;
+        return chunk;
+    }
+    
+    private static byte[] write(FraudRecordChunk... chunks) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FraudRecordBatchWriter writer = new FraudRecordBatchWriter(out)) {
+            for (FraudRecordChunk chunk : chunks) {
+                writer.write(chunk);
+            }
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * A file with one chunk whose column bytes are given as is, followed by the end marker
+     */
+    private static byte[] rawChunkFile(int rows, byte[] raw) throws IOException {
+        Deflater deflater = new Deflater();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] compressed = new byte[raw.length + 64];
+        int compressedLength = deflater.deflate(compressed);
+        deflater.end();
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(FraudRecordBatchWriter.MAGIC);
+        out.writeInt(FraudRecordBatchWriter.VERSION);
+        out.writeInt(rows);
+        out.writeInt(raw.length);
+        out.writeInt(compressedLength);
+        out.write(compressed, 0, compressedLength);
+        out.writeInt(0);
+        return bytes.toByteArray();
+    }
+    
+    private static void assertSameRows(FraudRecordChunk actual, FraudRecordChunk expected) {
+        assertThat(actual.size).isEqualTo(expected.size);
+        int rows = expected.size;
+        assertThat(Arrays.copyOf(actual.idMostSigBits, rows)).containsExactly(Arrays.copyOf(expected.idMostSigBits, rows));
+        assertThat(Arrays.copyOf(actual.idLeastSigBits, rows)).containsExactly(Arrays.copyOf(expected.idLeastSigBits, rows));
+        for (int column = 0; column < FraudRecordChunk.STRING_COLUMNS; column++) {
+            assertThat(Arrays.copyOf(actual.strings[column], rows)).containsExactly(Arrays.copyOf(expected.strings[column], rows));
+        }
+        assertThat(Arrays.copyOf(actual.amount, rows)).containsExactly(Arrays.copyOf(expected.amount, rows));
+        assertThat(Arrays.copyOf(actual.createdAt, rows)).containsExactly(Arrays.copyOf(expected.createdAt, rows));
+        assertThat(Arrays.copyOf(actual.detectedAt, rows)).containsExactly(Arrays.copyOf(expected.detectedAt, rows));
+        assertThat(Arrays.copyOf(actual.verified, rows)).containsExactly(Arrays.copyOf(expected.verified, rows));
+    }
+}